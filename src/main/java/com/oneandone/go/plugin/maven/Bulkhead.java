@@ -0,0 +1,168 @@
+package com.oneandone.go.plugin.maven;
+
+import com.oneandone.go.plugin.maven.client.IoExecutor;
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import com.thoughtworks.go.plugin.api.response.DefaultGoPluginApiResponse;
+import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs the polls of the plugin on a bounded pool of plugin threads, so that slow repositories cannot occupy
+ * the material update threads of the GoCD server.
+ * <br>
+ * A poll is rejected if all threads are busy and the queue is full, and abandoned if it does not complete within
+ * its timeout. In both cases the last successful response to the same request is returned if there is one,
+ * otherwise an error response.
+ */
+class Bulkhead {
+
+    /** The logging instance for this class. */
+    private static final Logger LOGGER = Logger.getLoggerFor(Bulkhead.class);
+
+    /** The default maximum number of concurrent polls. */
+    static final int DEFAULT_MAX_CONCURRENT_POLLS = 16;
+
+    /** The default maximum number of polls waiting for a thread. */
+    static final int DEFAULT_MAX_QUEUED_POLLS = 64;
+
+    /** The maximum number of remembered responses. */
+    private static final int MAX_CACHED_RESPONSES = 256;
+
+    /** The executor running the polls. */
+    private final ThreadPoolExecutor executor;
+
+    /** The last successful responses by request. */
+    private final Map<String, GoPluginApiResponse> lastResponses = Collections.synchronizedMap(new LinkedHashMap<String, GoPluginApiResponse>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, GoPluginApiResponse> eldest) {
+            return size() > MAX_CACHED_RESPONSES;
+        }
+    });
+
+    /** The number of rejected polls. */
+    private final AtomicLong rejections = new AtomicLong();
+
+    /** The number of abandoned polls. */
+    private final AtomicLong timeouts = new AtomicLong();
+
+    /**
+     * Constructs a bulkhead with the specified limits.
+     *
+     * @param maxConcurrentPolls the maximum number of concurrent polls
+     * @param maxQueuedPolls the maximum number of polls waiting for a thread
+     */
+    Bulkhead(final int maxConcurrentPolls, final int maxQueuedPolls) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentPolls, maxConcurrentPolls, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(maxQueuedPolls), runnable -> {
+            final Thread thread = new Thread(runnable, "go-maven-poller-poll-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs the specified poll on a plugin thread and waits for its response.
+     *
+     * @param key identifies the request, polls with the same key may be answered with the same response
+     * @param poll the poll
+     * @param timeout the maximum time to wait for the response, including the time spent in the queue
+     * @return the response of the poll, the last successful response with the same key if the poll was rejected
+     *      or timed out, or an error response if there is none
+     */
+    GoPluginApiResponse call(final String key, final Supplier<GoPluginApiResponse> poll, final Duration timeout) {
+        final Future<GoPluginApiResponse> future;
+        try {
+            // the poll threads are plugin threads already, requests of the poll are not moved again
+            future = executor.submit(IoExecutor.onIoThread(poll::get));
+        } catch (final RejectedExecutionException e) {
+            rejections.incrementAndGet();
+            LOGGER.warn("poll rejected, " + this);
+            return lastResponseOr(key, "plugin is busy, " + executor.getQueue().size() + " polls are waiting");
+        }
+
+        try {
+            final GoPluginApiResponse response = future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (response != null && response.responseCode() == DefaultGoPluginApiResponse.SUCCESS_RESPONSE_CODE) {
+                lastResponses.put(key, response);
+            }
+            return response;
+        } catch (final TimeoutException e) {
+            timeouts.incrementAndGet();
+            LOGGER.warn("poll did not complete within " + timeout.getSeconds() + " seconds, " + this);
+            return lastResponseOr(key, "poll did not complete within " + timeout.getSeconds() + " seconds");
+        } catch (final ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new GoMavenPollerException(e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GoMavenPollerException(e);
+        } finally {
+            future.cancel(true);
+        }
+    }
+
+    /** Returns the last successful response to the specified request or an error response with the specified message. */
+    private GoPluginApiResponse lastResponseOr(final String key, final String message) {
+        final GoPluginApiResponse lastResponse = lastResponses.get(key);
+        if (lastResponse != null) {
+            LOGGER.info("returning last response to the request");
+            return lastResponse;
+        }
+        return DefaultGoPluginApiResponse.error(message);
+    }
+
+    /**
+     * Returns the number of polls waiting for a thread.
+     *
+     * @return the number of polls waiting for a thread
+     */
+    int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of running polls.
+     *
+     * @return the number of running polls
+     */
+    int getActivePolls() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Returns the number of polls rejected because the bulkhead was saturated.
+     *
+     * @return the number of rejected polls
+     */
+    long getRejections() {
+        return rejections.get();
+    }
+
+    /**
+     * Returns the number of polls abandoned because they did not complete within their timeout.
+     *
+     * @return the number of abandoned polls
+     */
+    long getTimeouts() {
+        return timeouts.get();
+    }
+
+    @Override
+    public String toString() {
+        return "bulkhead[active=" + getActivePolls() + ", queued=" + getQueueDepth() + ", rejections=" + getRejections() + ", timeouts=" + getTimeouts() + "]";
+    }
+}
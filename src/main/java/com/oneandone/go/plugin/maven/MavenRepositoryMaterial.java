@@ -1,7 +1,9 @@
 package com.oneandone.go.plugin.maven;
 
+import com.oneandone.go.plugin.maven.client.RepositoryWarmUp;
 import com.oneandone.go.plugin.maven.config.ConfigurationProperties;
 import com.oneandone.go.plugin.maven.config.ConfigurationProvider;
+import com.oneandone.go.plugin.maven.config.MavenRepoConfig;
 import com.oneandone.go.plugin.maven.message.*;
 import com.thoughtworks.go.plugin.api.GoApplicationAccessor;
 import com.thoughtworks.go.plugin.api.GoPlugin;
@@ -12,6 +14,7 @@ import com.thoughtworks.go.plugin.api.request.GoPluginApiRequest;
 import com.thoughtworks.go.plugin.api.response.DefaultGoPluginApiResponse;
 import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -90,6 +93,9 @@ public class MavenRepositoryMaterial implements GoPlugin {
     /** The go application accessor. */
     private GoApplicationAccessor goApplicationAccessor;
 
+    /** The bulkhead running the requests accessing repositories. */
+    private final Bulkhead bulkhead = new Bulkhead(Bulkhead.DEFAULT_MAX_CONCURRENT_POLLS, Bulkhead.DEFAULT_MAX_QUEUED_POLLS);
+
     /** Constructs this plugin and initializes the message handlers. */
     public MavenRepositoryMaterial() {
         configurationProvider = new ConfigurationProvider();
@@ -100,15 +106,16 @@ public class MavenRepositoryMaterial implements GoPlugin {
         handlerMap.put(REQUEST_PACKAGE_CONFIGURATION, packageConfigurationMessageHandler());
         handlerMap.put(REQUEST_VALIDATE_REPOSITORY_CONFIGURATION, validateRepositoryConfigurationMessageHandler());
         handlerMap.put(REQUEST_VALIDATE_PACKAGE_CONFIGURATION, validatePackageConfigurationMessageHandler());
-        handlerMap.put(REQUEST_CHECK_REPOSITORY_CONNECTION, checkRepositoryConnectionMessageHandler());
-        handlerMap.put(REQUEST_CHECK_PACKAGE_CONNECTION, checkPackageConnectionMessageHandler());
-        handlerMap.put(REQUEST_LATEST_PACKAGE_REVISION, latestRevisionMessageHandler());
-        handlerMap.put(REQUEST_LATEST_PACKAGE_REVISION_SINCE, latestRevisionSinceMessageHandler());
+        handlerMap.put(REQUEST_CHECK_REPOSITORY_CONNECTION, bulkheaded(checkRepositoryConnectionMessageHandler()));
+        handlerMap.put(REQUEST_CHECK_PACKAGE_CONNECTION, bulkheaded(checkPackageConnectionMessageHandler()));
+        handlerMap.put(REQUEST_LATEST_PACKAGE_REVISION, bulkheaded(latestRevisionMessageHandler()));
+        handlerMap.put(REQUEST_LATEST_PACKAGE_REVISION_SINCE, bulkheaded(latestRevisionSinceMessageHandler()));
     }
 
     @Override
     public void initializeGoApplicationAccessor(GoApplicationAccessor goApplicationAccessor) {
         this.goApplicationAccessor = goApplicationAccessor;
+        RepositoryWarmUp.warmUpCodePaths();
     }
 
     @Override
@@ -157,6 +164,24 @@ public class MavenRepositoryMaterial implements GoPlugin {
         return requestBody;
     }
 
+    /**
+     * Returns a message handler running the specified handler in the {@link #bulkhead}, waiting at most for the poll
+     * timeout of the repository.
+     *
+     * @param handler the handler accessing the repository
+     * @return the message handler
+     */
+    private MessageHandler bulkheaded(final MessageHandler handler) {
+        return request -> {
+            final ConfigurationMessage message = fromJsonString(request.requestBody(), ConfigurationMessage.class);
+            final PackageMaterialProperties repositoryConfiguration = message.getRepositoryConfiguration() != null
+                    ? message.getRepositoryConfiguration()
+                    : new PackageMaterialProperties();
+            final Duration timeout = new MavenRepoConfig(repositoryConfiguration).getPollTimeout();
+            return bulkhead.call(request.requestName() + '\n' + request.requestBody(), () -> handler.handle(request), timeout);
+        };
+    }
+
     private MessageHandler getConfigurationMessageHandler() {
         return request -> success(toJsonString(new Object()));
     }
@@ -181,6 +206,8 @@ public class MavenRepositoryMaterial implements GoPlugin {
 
     /**
      * Returns a message handler for request of type {@link #REQUEST_VALIDATE_REPOSITORY_CONFIGURATION}.
+     * <br>
+     * Connections to a valid repository are established in the background, so that the first poll can reuse them.
      *
      * @return the message handler
      */
@@ -191,6 +218,8 @@ public class MavenRepositoryMaterial implements GoPlugin {
             if (validationResultMessage.failure()) {
                 return success(toJsonString(validationResultMessage.getValidationErrors()));
             }
+            RepositoryWarmUp.warmUpCodePaths();
+            RepositoryWarmUp.warmUpConnections(new MavenRepoConfig(message.getRepositoryConfiguration()));
             return success("");
         };
     }
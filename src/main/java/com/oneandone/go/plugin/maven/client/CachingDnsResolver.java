@@ -0,0 +1,187 @@
+package com.oneandone.go.plugin.maven.client;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * DNS resolver caching the addresses of every host for {@link #TTL}.
+ * <br>
+ * Addresses that are used after {@link #REFRESH_AFTER} are resolved again in the background, so hosts that are
+ * requested regularly never wait for the system resolver. If the background resolution fails, the cached
+ * addresses are used until they expire.
+ * <br>
+ * The cache statistics are logged every {@link #STATS_INTERVAL} while the resolver is used.
+ */
+class CachingDnsResolver implements DnsResolver {
+
+    /** The logging instance for this class. */
+    private static final Logger LOGGER = Logger.getLoggerFor(CachingDnsResolver.class);
+
+    /** The resolver shared by all HTTP clients of the plugin. */
+    static final CachingDnsResolver INSTANCE = new CachingDnsResolver(SystemDefaultDnsResolver.INSTANCE, IoExecutor.INSTANCE, System::nanoTime);
+
+    /** The duration the addresses of a host are cached. */
+    static final Duration TTL = Duration.ofMinutes(5);
+
+    /** The age after which the addresses of a host are refreshed in the background. */
+    static final Duration REFRESH_AFTER = Duration.ofMinutes(4);
+
+    /** The interval the cache statistics are logged at. */
+    static final Duration STATS_INTERVAL = Duration.ofMinutes(15);
+
+    /** The resolver actually resolving the addresses. */
+    private final DnsResolver delegate;
+
+    /** The executor refreshing addresses in the background. */
+    private final Executor refreshExecutor;
+
+    /** The source of the current time in nanoseconds. */
+    private final LongSupplier nanoClock;
+
+    /** The cached addresses by host name. */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** The number of resolutions answered from the cache. */
+    private final AtomicLong hits = new AtomicLong();
+
+    /** The number of resolutions delegated to the resolver. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /** The number of background refreshes. */
+    private final AtomicLong refreshes = new AtomicLong();
+
+    /** The time the cache statistics were last logged at in nanoseconds. */
+    private final AtomicLong statsLoggedAt;
+
+    /**
+     * Constructs a caching resolver.
+     *
+     * @param delegate the resolver actually resolving the addresses
+     * @param refreshExecutor the executor refreshing addresses in the background
+     * @param nanoClock the source of the current time in nanoseconds
+     */
+    CachingDnsResolver(final DnsResolver delegate, final Executor refreshExecutor, final LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.refreshExecutor = refreshExecutor;
+        this.nanoClock = nanoClock;
+        this.statsLoggedAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    @Override
+    public InetAddress[] resolve(final String host) throws UnknownHostException {
+        final long now = nanoClock.getAsLong();
+        logStats(now);
+        final Entry entry = entries.get(host);
+        if (entry == null || now - entry.resolvedAt >= TTL.toNanos()) {
+            misses.incrementAndGet();
+            final InetAddress[] addresses = delegate.resolve(host);
+            entries.put(host, new Entry(addresses, now));
+            LOGGER.debug("resolved " + host + " (" + this + ")");
+            return addresses.clone();
+        }
+
+        hits.incrementAndGet();
+        if (now - entry.resolvedAt >= REFRESH_AFTER.toNanos() && entry.refreshing.compareAndSet(false, true)) {
+            try {
+                refreshExecutor.execute(() -> refresh(host, entry));
+            } catch (final RuntimeException e) {
+                LOGGER.warn("could not schedule refresh of addresses of " + host + ": " + e);
+                entry.refreshing.set(false);
+            }
+        }
+        return entry.addresses.clone();
+    }
+
+    /**
+     * Resolves the addresses of the specified host again.
+     *
+     * @param host the host name
+     * @param entry the cached addresses to replace
+     */
+    private void refresh(final String host, final Entry entry) {
+        try {
+            final InetAddress[] addresses = delegate.resolve(host);
+            refreshes.incrementAndGet();
+            entries.replace(host, entry, new Entry(addresses, nanoClock.getAsLong()));
+        } catch (final UnknownHostException | RuntimeException e) {
+            LOGGER.warn("could not refresh addresses of " + host + ", keeping the cached addresses: " + e);
+        } finally {
+            // a replaced entry is not used anymore, a kept entry may be refreshed again
+            entry.refreshing.set(false);
+        }
+    }
+
+    /** Logs the cache statistics if they were not logged within {@link #STATS_INTERVAL}. */
+    private void logStats(final long now) {
+        final long loggedAt = statsLoggedAt.get();
+        if (now - loggedAt >= STATS_INTERVAL.toNanos() && statsLoggedAt.compareAndSet(loggedAt, now)) {
+            LOGGER.info(toString());
+        }
+    }
+
+    @Override
+    public String resolveCanonicalHostname(final String host) throws UnknownHostException {
+        return delegate.resolveCanonicalHostname(host);
+    }
+
+    /**
+     * Returns the number of resolutions answered from the cache.
+     *
+     * @return the number of resolutions answered from the cache
+     */
+    long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of resolutions delegated to the resolver because the host was not cached or expired.
+     *
+     * @return the number of resolutions delegated to the resolver
+     */
+    long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of background refreshes.
+     *
+     * @return the number of background refreshes
+     */
+    long getRefreshes() {
+        return refreshes.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DNS cache hits: " + hits.get() + ", misses: " + misses.get() + ", refreshes: " + refreshes.get();
+    }
+
+    /** The cached addresses of a host. */
+    private static final class Entry {
+
+        /** The addresses. */
+        private final InetAddress[] addresses;
+
+        /** The time the addresses were resolved at in nanoseconds. */
+        private final long resolvedAt;
+
+        /** Flag indicating whether a background refresh is pending. */
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(final InetAddress[] addresses, final long resolvedAt) {
+            this.addresses = addresses;
+            this.resolvedAt = resolvedAt;
+        }
+    }
+}
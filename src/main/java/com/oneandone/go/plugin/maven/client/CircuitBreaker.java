@@ -0,0 +1,173 @@
+package com.oneandone.go.plugin.maven.client;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker guarding the requests to a single repository.
+ * <br>
+ * The breaker is {@link State#CLOSED closed} as long as the share of failed requests among the last
+ * {@link #WINDOW_SIZE} requests stays below the configured failure ratio. Once the ratio is reached, the
+ * breaker {@link State#OPEN opens} and requests fail fast. After the cool-down the breaker is
+ * {@link State#HALF_OPEN half-open} and lets a single probe request through, which either closes the breaker
+ * again or keeps it open for another cool-down.
+ */
+class CircuitBreaker {
+
+    /** The states of a circuit breaker. */
+    enum State {
+        /** Requests are passed through. */
+        CLOSED,
+        /** Requests fail fast. */
+        OPEN,
+        /** A single probe request is passed through. */
+        HALF_OPEN
+    }
+
+    /** The number of most recent requests the failure ratio is computed of. */
+    static final int WINDOW_SIZE = 20;
+
+    /** The minimum number of requests in the window before the breaker may open. */
+    static final int MINIMUM_REQUESTS = 10;
+
+    /** The source of the current time in nanoseconds. */
+    private final LongSupplier nanoClock;
+
+    /** The outcomes of the most recent requests as ring buffer, {@code true} for a failure. */
+    private final boolean[] outcomes = new boolean[WINDOW_SIZE];
+
+    /** The number of outcomes in the window. */
+    private int recorded;
+
+    /** The index of the next outcome in the window. */
+    private int next;
+
+    /** The number of failures in the window. */
+    private int failures;
+
+    /**
+     * The current state.
+     *
+     * @return the current state
+     */
+    @Getter private State state = State.CLOSED;
+
+    /** The time the breaker was opened at in nanoseconds. */
+    private long openedAt;
+
+    /** Flag indicating whether the probe request of the half-open breaker is in flight. */
+    private boolean probeInFlight;
+
+    /** Constructs a closed circuit breaker. */
+    CircuitBreaker() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Constructs a closed circuit breaker using the specified clock.
+     *
+     * @param nanoClock the source of the current time in nanoseconds
+     */
+    CircuitBreaker(final LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns {@code true} if a request would currently be passed through, otherwise {@code false}.
+     *
+     * @param coolDown the duration an open breaker fails fast
+     * @return {@code true} if a request would currently be passed through, otherwise {@code false}
+     */
+    synchronized boolean isCallPermitted(final Duration coolDown) {
+        switch (state) {
+            case OPEN:
+                return nanoClock.getAsLong() - openedAt >= coolDown.toNanos();
+            case HALF_OPEN:
+                return !probeInFlight;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Acquires the permission to make a request. The request's outcome has to be reported by either
+     * {@link #onSuccess()}, {@link #onFailure(int)} or {@link #onAbandoned()}.
+     *
+     * @param coolDown the duration an open breaker fails fast
+     * @return {@code true} if the request may be made, otherwise {@code false}
+     */
+    synchronized boolean tryAcquire(final Duration coolDown) {
+        if (!isCallPermitted(coolDown)) {
+            return false;
+        }
+        if (state != State.CLOSED) {
+            state = State.HALF_OPEN;
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    /** Records a successful request. */
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            probeInFlight = false;
+            recorded = 0;
+            next = 0;
+            failures = 0;
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Records a failed request.
+     *
+     * @param failureRatio the percentage of failed requests opening the breaker
+     */
+    synchronized void onFailure(final int failureRatio) {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= MINIMUM_REQUESTS && failures * 100 >= failureRatio * recorded) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Records a request that was permitted but not completed, for example because it was cancelled. It counts
+     * neither as success nor as failure, a half-open breaker lets the next probe request through.
+     */
+    synchronized void onAbandoned() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    /** Records the outcome of a request in the window. */
+    private void record(final boolean failure) {
+        if (recorded == WINDOW_SIZE) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % WINDOW_SIZE;
+    }
+
+    /** Opens the breaker. */
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        probeInFlight = false;
+    }
+}
@@ -0,0 +1,135 @@
+package com.oneandone.go.plugin.maven.client;
+
+import com.oneandone.go.plugin.maven.GoMavenPollerException;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the requests to a single repository host.
+ * <br>
+ * The number of requests in flight is bounded, and optionally the request rate is bounded by a token bucket
+ * holding at most one second worth of requests. Callers wait until a request is allowed, but not beyond the
+ * deadline of their poll. Waiting uses a {@link ReentrantLock}, so a virtual thread waiting for the limit does not pin
+ * its carrier thread.
+ * <br>
+ * The limits are passed by every caller, so repositories on the same host should be configured with the same limits.
+ */
+class HostLimiter {
+
+    /** The limiters by host and port. */
+    private static final Map<String, HostLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    /** The host and port of the limiter. */
+    private final String host;
+
+    /** The lock guarding the counters of the limiter. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when a request is released. */
+    private final Condition released = lock.newCondition();
+
+    /** The number of requests in flight. */
+    private int inFlight;
+
+    /** The tokens available in the bucket. */
+    private double tokens = Double.MAX_VALUE;
+
+    /** The time the bucket was refilled at in nanoseconds. */
+    private long refilledAt = System.nanoTime();
+
+    /**
+     * Constructs a limiter.
+     *
+     * @param host the host and port of the limiter
+     */
+    private HostLimiter(final String host) {
+        this.host = host;
+    }
+
+    /**
+     * Returns the limiter of the host of the specified URI.
+     *
+     * @param uri the URI
+     * @return the limiter of the host
+     */
+    static HostLimiter of(final URI uri) {
+        final int port = uri.getPort() >= 0 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return LIMITERS.computeIfAbsent(uri.getHost() + ":" + port, HostLimiter::new);
+    }
+
+    /**
+     * Waits until a request to the host is allowed. Every successful call has to be followed by a call to {@link #release()}.
+     *
+     * @param maxConcurrentRequests the maximum number of requests in flight
+     * @param rateLimit the maximum number of requests per second or {@code 0} if the rate is unlimited
+     * @param deadline the deadline of the poll
+     * @throws GoMavenPollerException if the request was not allowed before the deadline
+     */
+    void acquire(final int maxConcurrentRequests, final double rateLimit, final PollDeadline deadline) {
+        lock.lock();
+        try {
+            awaitAndAcquire(maxConcurrentRequests, rateLimit, deadline);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Waits until a request is allowed and acquires it, the caller holds the {@link #lock}. */
+    private void awaitAndAcquire(final int maxConcurrentRequests, final double rateLimit, final PollDeadline deadline) {
+        while (true) {
+            final long waitNanos;
+            if (inFlight >= maxConcurrentRequests) {
+                waitNanos = Long.MAX_VALUE;
+            } else if (rateLimit > 0 && refill(rateLimit) < 1) {
+                waitNanos = (long) Math.ceil((1 - tokens) / rateLimit * TimeUnit.SECONDS.toNanos(1));
+            } else {
+                inFlight++;
+                if (rateLimit > 0) {
+                    tokens -= 1;
+                }
+                return;
+            }
+
+            final long remainingNanos = deadline.remaining().toNanos();
+            if (remainingNanos <= 0) {
+                throw new GoMavenPollerException("request limit of host " + host + " not available within the poll deadline");
+            }
+            try {
+                released.awaitNanos(Math.min(waitNanos, remainingNanos));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GoMavenPollerException("interrupted while waiting for the request limit of host " + host, e);
+            }
+        }
+    }
+
+    /** Releases a request acquired by {@link #acquire(int, double, PollDeadline)}. */
+    void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the tokens accumulated since the last refill to the bucket.
+     *
+     * @param rateLimit the maximum number of requests per second
+     * @return the tokens available in the bucket
+     */
+    private double refill(final double rateLimit) {
+        final long now = System.nanoTime();
+        final double capacity = Math.max(1, rateLimit);
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * rateLimit / TimeUnit.SECONDS.toNanos(1));
+        refilledAt = now;
+        return tokens;
+    }
+}
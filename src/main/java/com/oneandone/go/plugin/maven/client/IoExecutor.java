@@ -0,0 +1,124 @@
+package com.oneandone.go.plugin.maven.client;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor running the blocking repository I/O of the plugin.
+ * <br>
+ * On Java 21 and later every task gets its own virtual thread. On older JVMs a bounded pool of daemon platform
+ * threads is used, further tasks wait in the queue of the pool.
+ */
+public final class IoExecutor {
+
+    /** The logging instance for this class. */
+    private static final Logger LOGGER = Logger.getLoggerFor(IoExecutor.class);
+
+    /** The maximum number of platform threads if virtual threads are not available. */
+    static final int MAX_PLATFORM_THREADS = 64;
+
+    /** The executor shared by the whole plugin. */
+    static final ExecutorService INSTANCE = create();
+
+    /** Flag set on the threads running tasks wrapped by {@link #onIoThread(Callable)}. */
+    private static final ThreadLocal<Boolean> IO_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private IoExecutor() {
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor if supported by the JVM, otherwise a bounded platform thread pool.
+     *
+     * @return the new executor
+     */
+    static ExecutorService create() {
+        try {
+            final ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            LOGGER.info("running repository requests on virtual threads");
+            return executor;
+        } catch (final ReflectiveOperationException e) {
+            LOGGER.info("virtual threads not available, running repository requests on at most " + MAX_PLATFORM_THREADS + " platform threads");
+            return createPlatformPool(MAX_PLATFORM_THREADS);
+        }
+    }
+
+    /**
+     * Creates a pool of at most the specified number of daemon platform threads, idle threads are stopped.
+     *
+     * @param maxThreads the maximum number of threads
+     * @return the new executor
+     */
+    static ExecutorService createPlatformPool(final int maxThreads) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "go-maven-poller-io-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Returns {@code true} if the current thread is running a task wrapped by {@link #onIoThread(Callable)},
+     * otherwise {@code false}. Requests made by such a task run directly instead of being submitted again.
+     *
+     * @return {@code true} if the current thread is running an I/O task, otherwise {@code false}
+     */
+    public static boolean isIoThread() {
+        return IO_THREAD.get();
+    }
+
+    /**
+     * Wraps the specified task to be submitted to the shared executor or another executor owned by the plugin,
+     * marking the running thread as an I/O thread.
+     *
+     * @param task the task
+     * @param <T> the type of the task result
+     * @return the wrapped task
+     */
+    public static <T> Callable<T> onIoThread(final Callable<T> task) {
+        return () -> {
+            IO_THREAD.set(true);
+            try {
+                return task.call();
+            } finally {
+                IO_THREAD.remove();
+            }
+        };
+    }
+
+    /**
+     * Runs the specified task on the shared executor and waits for its result. The task is cancelled if it does not
+     * complete within the timeout or if the waiting thread is interrupted.
+     *
+     * @param task the task
+     * @param timeout the maximum time to wait for the result
+     * @param <T> the type of the task result
+     * @return the task result
+     * @throws Exception the exception thrown by the task
+     * @throws TimeoutException if the task did not complete within the timeout
+     * @throws InterruptedException if the waiting thread was interrupted
+     */
+    static <T> T call(final Callable<T> task, final Duration timeout) throws Exception {
+        final Future<T> future = INSTANCE.submit(onIoThread(task));
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+            future.cancel(true);
+        }
+    }
+}
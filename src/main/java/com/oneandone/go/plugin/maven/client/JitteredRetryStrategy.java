@@ -0,0 +1,113 @@
+package com.oneandone.go.plugin.maven.client;
+
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry strategy waiting with decorrelated jitter between retries.
+ * <br>
+ * Each interval is drawn at random between {@link #BASE_INTERVAL} and three times the previous interval,
+ * limited by {@link #MAX_INTERVAL}, so retries of many materials against the same repository do not
+ * synchronize. A {@code Retry-After} header sent with {@code 429} or {@code 503} takes precedence.
+ * <br>
+ * Retries are only made if they are within the {@link RetryBudget} of the repository and if the poll
+ * deadline is not exceeded by waiting for the retry. The deadline is taken from the context attribute
+ * {@link #DEADLINE_ATTRIBUTE}, so the strategy can be shared by the polls of a repository.
+ */
+class JitteredRetryStrategy extends DefaultHttpRequestRetryStrategy {
+
+    /** The maximum number of retries per request. */
+    private static final int MAX_RETRIES = 3;
+
+    /** The minimum interval between retries in milliseconds. */
+    static final long BASE_INTERVAL = 500;
+
+    /** The maximum interval between retries in milliseconds. */
+    static final long MAX_INTERVAL = 10_000;
+
+    /** The context attribute holding the {@link PollDeadline} of the request. */
+    static final String DEADLINE_ATTRIBUTE = PollDeadline.class.getName();
+
+    /** The context attribute holding the interval until the next retry. */
+    private static final String INTERVAL_ATTRIBUTE = JitteredRetryStrategy.class.getName() + ".interval";
+
+    /** The retry budget of the repository. */
+    private final RetryBudget budget;
+
+    /**
+     * Constructs the retry strategy.
+     *
+     * @param budget the retry budget of the repository
+     */
+    JitteredRetryStrategy(final RetryBudget budget) {
+        super(MAX_RETRIES, TimeValue.ofMilliseconds(BASE_INTERVAL));
+        this.budget = budget;
+    }
+
+    @Override
+    public boolean retryRequest(final HttpRequest request, final IOException exception, final int execCount, final HttpContext context) {
+        return super.retryRequest(request, exception, execCount, context) && scheduleRetry(nextInterval(context), context);
+    }
+
+    @Override
+    public boolean retryRequest(final HttpResponse response, final int execCount, final HttpContext context) {
+        if (!super.retryRequest(response, execCount, context)) {
+            return false;
+        }
+        final long interval = response.containsHeader(HttpHeaders.RETRY_AFTER)
+                ? super.getRetryInterval(response, execCount, context).toMilliseconds()
+                : nextInterval(context);
+        return scheduleRetry(interval, context);
+    }
+
+    @Override
+    public TimeValue getRetryInterval(final HttpRequest request, final IOException exception, final int execCount, final HttpContext context) {
+        return scheduledInterval(context);
+    }
+
+    @Override
+    public TimeValue getRetryInterval(final HttpResponse response, final int execCount, final HttpContext context) {
+        return scheduledInterval(context);
+    }
+
+    /**
+     * Returns the next interval drawn with decorrelated jitter from the previous interval of the request.
+     *
+     * @param context the request context
+     * @return the next interval in milliseconds
+     */
+    private static long nextInterval(final HttpContext context) {
+        final Object previous = context.getAttribute(INTERVAL_ATTRIBUTE);
+        final long upper = previous != null ? ((TimeValue) previous).toMilliseconds() * 3 : BASE_INTERVAL * 3;
+        return Math.min(MAX_INTERVAL, ThreadLocalRandom.current().nextLong(BASE_INTERVAL, Math.max(BASE_INTERVAL, upper) + 1));
+    }
+
+    /**
+     * Schedules a retry after the specified interval if the retry budget and the poll deadline allow it.
+     *
+     * @param interval the interval in milliseconds
+     * @param context the request context
+     * @return {@code true} if the request is retried, otherwise {@code false}
+     */
+    private boolean scheduleRetry(final long interval, final HttpContext context) {
+        final Object deadline = context.getAttribute(DEADLINE_ATTRIBUTE);
+        if ((deadline != null && ((PollDeadline) deadline).remaining().toMillis() <= interval) || !budget.tryRetry()) {
+            return false;
+        }
+        context.setAttribute(INTERVAL_ATTRIBUTE, TimeValue.ofMilliseconds(interval));
+        return true;
+    }
+
+    /** Returns the interval scheduled by the last call to {@link #scheduleRetry(long, HttpContext)}. */
+    private static TimeValue scheduledInterval(final HttpContext context) {
+        final Object interval = context.getAttribute(INTERVAL_ATTRIBUTE);
+        return interval != null ? (TimeValue) interval : TimeValue.ofMilliseconds(BASE_INTERVAL);
+    }
+}
@@ -0,0 +1,52 @@
+package com.oneandone.go.plugin.maven.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Keeps the latencies of the most recent requests to a repository.
+ */
+class LatencyTracker {
+
+    /** The number of most recent latencies kept. */
+    static final int WINDOW_SIZE = 128;
+
+    /** The minimum number of latencies before percentiles are computed. */
+    static final int MINIMUM_SAMPLES = 20;
+
+    /** The most recent latencies in nanoseconds as ring buffer. */
+    private final long[] samples = new long[WINDOW_SIZE];
+
+    /** The number of latencies in the window. */
+    private int recorded;
+
+    /** The index of the next latency in the window. */
+    private int next;
+
+    /**
+     * Records the latency of a request.
+     *
+     * @param latency the latency
+     */
+    synchronized void record(final Duration latency) {
+        samples[next] = latency.toNanos();
+        next = (next + 1) % WINDOW_SIZE;
+        recorded = Math.min(WINDOW_SIZE, recorded + 1);
+    }
+
+    /**
+     * Returns the specified percentile of the recorded latencies.
+     *
+     * @param percentile the percentile between 1 and 100
+     * @return the percentile or {@code null} if not enough latencies were recorded
+     */
+    synchronized Duration percentile(final int percentile) {
+        if (recorded < MINIMUM_SAMPLES) {
+            return null;
+        }
+        final long[] sorted = Arrays.copyOf(samples, recorded);
+        Arrays.sort(sorted);
+        final int rank = (int) Math.ceil(percentile / 100d * recorded);
+        return Duration.ofNanos(sorted[Math.max(0, rank - 1)]);
+    }
+}
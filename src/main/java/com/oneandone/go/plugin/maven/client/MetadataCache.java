@@ -0,0 +1,313 @@
+package com.oneandone.go.plugin.maven.client;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Caches fetched {@code maven-metadata.xml} documents per URL.
+ * <br>
+ * A cached document is served again if its checksum matches the checksum published by the repository.
+ * <br>
+ * Metadata documents grow by new {@code version} elements being inserted right before the closing
+ * {@code versions} element. The cache remembers the offset of that element so that a later fetch only
+ * needs to request the tail of the document starting there.
+ * <br>
+ * The cached prefix is only compared with the remote document where the requested tail overlaps it. Values like
+ * {@code latest}, {@code release} and {@code lastUpdated} listed before the versions may change without changing
+ * the length of the document, so a document with such values in its prefix is only spliced if the result matches
+ * the checksum published by the repository.
+ */
+class MetadataCache {
+
+    /** The maximum number of cached documents. */
+    private static final int MAX_ENTRIES = 512;
+
+    /** The closing element of the version list, everything before it is expected to be stable. */
+    private static final String VERSIONS_END = "</versions>";
+
+    /** The opening element of the version list. */
+    private static final String VERSIONS_START = "<versions>";
+
+    /** The opening element of a single version. */
+    private static final String VERSION_START = "<version>";
+
+    /** Pattern matching a single version element. */
+    private static final Pattern VERSION_PATTERN = Pattern.compile("<version>\\s*([^<]*?)\\s*</version>");
+
+    /** Pattern matching the opening elements of values that change without a version being added. */
+    private static final Pattern MUTABLE_VALUE_PATTERN = Pattern.compile("<(latest|release|lastUpdated)>");
+
+    /** Pattern matching a {@code Content-Range} header value. */
+    private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+|\\*)");
+
+    /** The cached entries by URL, least recently used first. */
+    private final Map<String, Entry> entries = Collections.synchronizedMap(new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    });
+
+    /**
+     * Returns the cached document for the specified URL.
+     *
+     * @param url the metadata URL
+     * @return the cached document or {@code null}
+     */
+    Entry get(final String url) {
+        return entries.get(url);
+    }
+
+    /**
+     * Caches the document for the specified URL.
+     *
+     * @param url the metadata URL
+     * @param entry the document to cache
+     */
+    void put(final String url, final Entry entry) {
+        entries.put(url, entry);
+    }
+
+    /**
+     * Removes the cached document for the specified URL.
+     *
+     * @param url the metadata URL
+     */
+    void remove(final String url) {
+        entries.remove(url);
+    }
+
+    /** Removes all cached documents. */
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Creates a new cache entry for a completely fetched document.
+     *
+     * @param body the raw document
+     * @param etag the {@code ETag} of the document or {@code null}
+     * @param lastModified the {@code Last-Modified} date of the document or {@code null}
+     * @return the cache entry
+     */
+    static Entry newEntry(final byte[] body, final String etag, final String lastModified) {
+        // ISO-8859-1 maps each byte to exactly one char, so string indices are byte offsets
+        final String raw = new String(body, StandardCharsets.ISO_8859_1);
+        final int spliceOffset = raw.indexOf(VERSIONS_END);
+        if (spliceOffset < 0 || raw.indexOf(VERSIONS_END, spliceOffset + 1) >= 0) {
+            return new Entry(body, etag, lastModified, -1, -1, null);
+        }
+        final int versionsStart = raw.lastIndexOf(VERSIONS_START, spliceOffset);
+        final int lastVersion = raw.lastIndexOf(VERSION_START, spliceOffset);
+        final int overlapStart = lastVersion >= 0 ? lastVersion : spliceOffset;
+        return new Entry(body, etag, lastModified, overlapStart, spliceOffset, scanVersions(body, raw, Math.max(versionsStart, 0), spliceOffset));
+    }
+
+    /**
+     * Returns {@code true} if the specified region holds a value that may change without a version being added.
+     *
+     * @param raw the document decoded byte by byte
+     * @param to the end offset of the region (exclusive)
+     * @return {@code true} if the region holds a {@code latest}, {@code release} or {@code lastUpdated} element
+     */
+    private static boolean hasMutableValue(final String raw, final int to) {
+        return MUTABLE_VALUE_PATTERN.matcher(raw).region(0, to).find();
+    }
+
+    /**
+     * Extracts the values of all {@code version} elements within the specified region.
+     *
+     * @param body the raw document
+     * @param raw the document decoded byte by byte
+     * @param from the start offset (inclusive)
+     * @param to the end offset (exclusive)
+     * @return the version values in document order
+     */
+    private static List<String> scanVersions(final byte[] body, final String raw, final int from, final int to) {
+        final List<String> versions = new ArrayList<>();
+        final Matcher matcher = VERSION_PATTERN.matcher(raw).region(from, to);
+        while (matcher.find()) {
+            versions.add(new String(body, matcher.start(1), matcher.end(1) - matcher.start(1), StandardCharsets.UTF_8));
+        }
+        return versions;
+    }
+
+    /** A cached metadata document. */
+    static final class Entry {
+
+        /**
+         * The raw document.
+         *
+         * @return the raw document
+         */
+        @Getter private final byte[] body;
+
+        /**
+         * The {@code ETag} of the document or {@code null}.
+         *
+         * @return the {@code ETag} of the document or {@code null}
+         */
+        @Getter private final String etag;
+
+        /**
+         * The {@code Last-Modified} date of the document or {@code null}.
+         *
+         * @return the {@code Last-Modified} date of the document or {@code null}
+         */
+        @Getter private final String lastModified;
+
+        /**
+         * The offset to request the tail from. The bytes up to {@link #spliceOffset} are requested again
+         * to verify that the cached prefix still matches the remote document.
+         *
+         * @return the offset to request the tail from or {@code -1} if the document cannot be spliced
+         */
+        @Getter private final int overlapStart;
+
+        /** The offset of the closing {@code versions} element or {@code -1}. */
+        private final int spliceOffset;
+
+        /**
+         * The versions listed in the document or {@code null} if the document cannot be spliced.
+         *
+         * @return the versions listed in the document or {@code null}
+         */
+        @Getter private final List<String> versions;
+
+        /**
+         * Whether the part of the document before {@link #overlapStart} holds values that may change without a version
+         * being added, so that a spliced document has to be verified by its checksum.
+         *
+         * @return {@code true} if the cached prefix holds {@code latest}, {@code release} or {@code lastUpdated}
+         */
+        @Getter private final boolean mutablePrefix;
+
+        /**
+         * The hex encoded SHA-1 checksum of the document.
+         *
+         * @return the hex encoded SHA-1 checksum of the document
+         */
+        @Getter private final String sha1;
+
+        /**
+         * The response for the document, shared by all polls served from this entry.
+         *
+         * @return the response for the document
+         */
+        @Getter private final RepositoryResponse response;
+
+        private Entry(final byte[] body, final String etag, final String lastModified, final int overlapStart, final int spliceOffset, final List<String> versions) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.overlapStart = overlapStart;
+            this.spliceOffset = spliceOffset;
+            this.versions = versions != null ? Collections.unmodifiableList(versions) : null;
+            this.mutablePrefix = overlapStart >= 0 && hasMutableValue(new String(body, StandardCharsets.ISO_8859_1), overlapStart);
+            this.sha1 = sha1(body);
+            this.response = new RepositoryResponse(body, this.versions);
+            this.response.setChecksum(this.sha1);
+        }
+
+        /**
+         * Returns {@code true} if the specified content of a {@code .sha1} file matches this document, otherwise {@code false}.
+         *
+         * @param checksumFile the content of the checksum file, may contain the file name after the checksum
+         * @return {@code true} if the checksum matches this document, otherwise {@code false}
+         */
+        boolean matchesChecksum(final String checksumFile) {
+            if (checksumFile == null) {
+                return false;
+            }
+            final String trimmed = checksumFile.trim();
+            final int end = trimmed.indexOf(' ');
+            return sha1.equalsIgnoreCase(end < 0 ? trimmed : trimmed.substring(0, end));
+        }
+
+        /** Returns the hex encoded SHA-1 checksum of the specified data. */
+        private static String sha1(final byte[] data) {
+            try {
+                final byte[] digest = MessageDigest.getInstance("SHA-1").digest(data);
+                final StringBuilder builder = new StringBuilder(digest.length * 2);
+                for (final byte b : digest) {
+                    builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+                }
+                return builder.toString();
+            } catch (final NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-1 not supported", e);
+            }
+        }
+
+        /**
+         * Returns {@code true} if only the tail of the document needs to be fetched, otherwise {@code false}.
+         *
+         * @return {@code true} if only the tail of the document needs to be fetched, otherwise {@code false}
+         */
+        boolean isSpliceable() {
+            return overlapStart >= 0;
+        }
+
+        /**
+         * Splices a partially fetched tail into this document.
+         * <br>
+         * Only the overlap of the tail with this document is compared, a document with a {@link #isMutablePrefix()
+         * mutable prefix} has to be verified by the caller.
+         *
+         * @param contentRange the {@code Content-Range} header of the partial response
+         * @param tail the partial response body
+         * @param newEtag the {@code ETag} of the new document or {@code null}
+         * @param newLastModified the {@code Last-Modified} date of the new document or {@code null}
+         * @return the spliced document or {@code null} if the tail does not fit to this document
+         */
+        Entry splice(final String contentRange, final byte[] tail, final String newEtag, final String newLastModified) {
+            if (!isSpliceable() || contentRange == null) {
+                return null;
+            }
+            final Matcher matcher = CONTENT_RANGE_PATTERN.matcher(contentRange.trim());
+            if (!matcher.matches() || Long.parseLong(matcher.group(1)) != overlapStart) {
+                return null;
+            }
+            if (!"*".equals(matcher.group(3)) && Long.parseLong(matcher.group(3)) < body.length) {
+                // document shrunk, versions have been removed
+                return null;
+            }
+
+            final int overlapLength = spliceOffset - overlapStart;
+            if (tail.length < overlapLength) {
+                return null;
+            }
+            for (int i = 0; i < overlapLength; i++) {
+                if (tail[i] != body[overlapStart + i]) {
+                    return null;
+                }
+            }
+
+            final String rawTail = new String(tail, StandardCharsets.ISO_8859_1);
+            final int tailVersionsEnd = rawTail.indexOf(VERSIONS_END, overlapLength);
+            if (tailVersionsEnd < 0 || rawTail.indexOf(VERSIONS_END, tailVersionsEnd + 1) >= 0 || !rawTail.trim().endsWith("</metadata>")) {
+                return null;
+            }
+
+            final byte[] spliced = new byte[spliceOffset + tail.length - overlapLength];
+            System.arraycopy(body, 0, spliced, 0, spliceOffset);
+            System.arraycopy(tail, overlapLength, spliced, spliceOffset, tail.length - overlapLength);
+
+            final List<String> splicedVersions = new ArrayList<>(versions);
+            splicedVersions.addAll(scanVersions(tail, rawTail, overlapLength, tailVersionsEnd));
+
+            final int newSpliceOffset = spliceOffset + tailVersionsEnd - overlapLength;
+            final int lastVersion = new String(spliced, StandardCharsets.ISO_8859_1).lastIndexOf(VERSION_START, newSpliceOffset);
+            return new Entry(spliced, newEtag, newLastModified, lastVersion >= 0 ? lastVersion : newSpliceOffset, newSpliceOffset, splicedVersions);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.oneandone.go.plugin.maven.client;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Extracts the values of a {@code maven-metadata.xml} directly from the raw document.
+ * <br>
+ * The scanner only understands the plain structure written by Maven: UTF-8 or ASCII encoded elements, attributes
+ * and comments without namespace prefixes, DTDs, CDATA sections or entity references in the extracted values.
+ * Anything else makes the scanner give up, so that the document is parsed by the XML parser instead.
+ */
+final class MetadataScanner {
+
+    /** The path of the versions. */
+    static final String VERSION_PATH = "/metadata/versioning/versions/version";
+
+    /** The paths of the single values, their values are those of the XPath {@code <path>/text()}. */
+    static final List<String> VALUE_PATHS = Collections.unmodifiableList(Arrays.asList(
+            "/metadata/versioning/latest",
+            "/metadata/versioning/release",
+            "/metadata/versioning/lastUpdated",
+            "/metadata/versioning/snapshot/timestamp",
+            "/metadata/versioning/snapshot/buildNumber"));
+
+    /** The UTF-8 byte order mark. */
+    private static final byte[] BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+    /** The document. */
+    private final byte[] body;
+
+    /** The paths of the open elements, innermost last. */
+    private final List<String> openPaths = new ArrayList<>();
+
+    /** The versions in document order. */
+    private final List<String> versions = new ArrayList<>();
+
+    /** The values of the first elements with the paths of {@link #VALUE_PATHS}. */
+    private final Map<String, String> values = new HashMap<>();
+
+    private MetadataScanner(final byte[] body) {
+        this.body = body;
+    }
+
+    /**
+     * Scans the specified document.
+     *
+     * @param body the raw document
+     * @return the values of the document or {@code null} if the document has to be parsed by the XML parser
+     */
+    static Result scan(final byte[] body) {
+        return new MetadataScanner(body).scan();
+    }
+
+    /** The values of a scanned document. */
+    static final class Result {
+
+        /**
+         * The versions in document order.
+         *
+         * @return the versions in document order
+         */
+        @Getter private final List<String> versions;
+
+        /**
+         * The values by their path in {@link #VALUE_PATHS}, empty for missing elements.
+         *
+         * @return the values by their path
+         */
+        @Getter private final Map<String, String> values;
+
+        private Result(final List<String> versions, final Map<String, String> values) {
+            this.versions = Collections.unmodifiableList(versions);
+            this.values = Collections.unmodifiableMap(values);
+        }
+    }
+
+    private Result scan() {
+        boolean rootSeen = false;
+        int textStart = -1;
+        int i = startsWith(0, BOM) ? BOM.length : 0;
+        while (i < body.length) {
+            final byte b = body[i];
+            if (b != '<') {
+                if (openPaths.isEmpty() && !isWhitespace(b) || b == '&' && isExtracted(currentPath())) {
+                    return null;
+                }
+                i++;
+                continue;
+            }
+            if (isExtracted(currentPath()) && i + 1 < body.length && body[i + 1] != '/') {
+                // markup within an extracted value
+                return null;
+            }
+
+            if (startsWith(i, "<!--")) {
+                i = indexOf("-->", i + 4);
+                if (i < 0) {
+                    return null;
+                }
+                i += 3;
+            } else if (startsWith(i, "<?")) {
+                final int end = indexOf("?>", i + 2);
+                if (end < 0 || startsWith(i, "<?xml") && !isSupportedDeclaration(i, end)) {
+                    return null;
+                }
+                i = end + 2;
+            } else if (startsWith(i, "<!")) {
+                // DOCTYPE or CDATA
+                return null;
+            } else if (startsWith(i, "</")) {
+                final int nameEnd = nameEnd(i + 2);
+                final int end = skipWhitespace(nameEnd);
+                if (openPaths.isEmpty() || end >= body.length || body[end] != '>'
+                        || !currentPath().endsWith('/' + ascii(i + 2, nameEnd))) {
+                    return null;
+                }
+                collect(currentPath(), textStart, i);
+                openPaths.remove(openPaths.size() - 1);
+                i = end + 1;
+            } else {
+                final int nameEnd = nameEnd(i + 1);
+                final String name = ascii(i + 1, nameEnd);
+                if (name.isEmpty() || name.indexOf(':') >= 0) {
+                    return null;
+                }
+                if (openPaths.isEmpty()) {
+                    if (rootSeen || !"metadata".equals(name)) {
+                        return null;
+                    }
+                    rootSeen = true;
+                }
+                final int end = tagEnd(nameEnd);
+                if (end < 0) {
+                    return null;
+                }
+                final String path = currentPath() + '/' + name;
+                if (body[end - 1] == '/') {
+                    collect(path, end, end);
+                } else {
+                    openPaths.add(path);
+                    textStart = end + 1;
+                }
+                i = end + 1;
+            }
+        }
+        if (!rootSeen || !openPaths.isEmpty()) {
+            return null;
+        }
+        for (final String path : VALUE_PATHS) {
+            values.putIfAbsent(path, "");
+        }
+        return new Result(versions, values);
+    }
+
+    /** Returns the path of the innermost open element or the empty string if there is none. */
+    private String currentPath() {
+        return openPaths.isEmpty() ? "" : openPaths.get(openPaths.size() - 1);
+    }
+
+    /** Returns {@code true} if the values of elements with the specified path are extracted. */
+    private static boolean isExtracted(final String path) {
+        return VERSION_PATH.equals(path) || VALUE_PATHS.contains(path);
+    }
+
+    /** Remembers the text between the specified offsets if the element with the specified path is extracted. */
+    private void collect(final String path, final int from, final int to) {
+        if (VERSION_PATH.equals(path)) {
+            versions.add(new String(body, from, to - from, StandardCharsets.UTF_8));
+        } else if (VALUE_PATHS.contains(path)) {
+            values.putIfAbsent(path, new String(body, from, to - from, StandardCharsets.UTF_8));
+        }
+    }
+
+    /** Returns {@code true} if the XML declaration between the specified offsets declares no or a supported encoding. */
+    private boolean isSupportedDeclaration(final int from, final int to) {
+        final String declaration = ascii(from, to).toLowerCase(Locale.ROOT);
+        final int encoding = declaration.indexOf("encoding");
+        if (encoding < 0) {
+            return true;
+        }
+        final String value = declaration.substring(encoding + "encoding".length()).replaceAll("[\\s=\"']", " ").trim();
+        final String name = value.split(" ")[0];
+        return "utf-8".equals(name) || "us-ascii".equals(name) || "ascii".equals(name);
+    }
+
+    /** Returns the offset of the closing {@code >} of the start tag with attributes starting at the specified offset or {@code -1}. */
+    private int tagEnd(final int from) {
+        int i = from;
+        while (i < body.length) {
+            final byte b = body[i];
+            if (b == '"' || b == '\'') {
+                i = indexOf(b, i + 1);
+                if (i < 0) {
+                    return -1;
+                }
+            } else if (b == '>') {
+                return i;
+            } else if (b == '<') {
+                return -1;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /** Returns the offset after the element name starting at the specified offset. */
+    private int nameEnd(final int from) {
+        int i = from;
+        while (i < body.length && !isWhitespace(body[i]) && body[i] != '>' && body[i] != '/' && body[i] != '<') {
+            i++;
+        }
+        return i;
+    }
+
+    /** Returns the offset of the first non-whitespace byte at or after the specified offset. */
+    private int skipWhitespace(final int from) {
+        int i = from;
+        while (i < body.length && isWhitespace(body[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    /** Returns the bytes between the specified offsets as ASCII string, other bytes are replaced. */
+    private String ascii(final int from, final int to) {
+        return new String(body, from, to - from, StandardCharsets.US_ASCII);
+    }
+
+    private boolean startsWith(final int offset, final String prefix) {
+        return startsWith(offset, prefix.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private boolean startsWith(final int offset, final byte[] prefix) {
+        if (offset + prefix.length > body.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (body[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(final String needle, final int from) {
+        final byte[] bytes = needle.getBytes(StandardCharsets.US_ASCII);
+        for (int i = from; i + bytes.length <= body.length; i++) {
+            if (startsWith(i, bytes)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(final byte b, final int from) {
+        for (int i = from; i < body.length; i++) {
+            if (body[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+}
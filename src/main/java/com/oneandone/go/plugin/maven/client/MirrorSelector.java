@@ -0,0 +1,100 @@
+package com.oneandone.go.plugin.maven.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Orders the locations of a repository, i.e. the repository URL and the URLs of its mirrors, by their health and latency.
+ * <br>
+ * The latency of a location is the exponentially weighted moving average of its successful requests. A location
+ * is unhealthy for a cool-down after a failed request. Healthy locations are preferred over unhealthy ones, faster
+ * locations over slower ones, and locations without any requests yet are tried in configured order first.
+ */
+class MirrorSelector {
+
+    /** The weight of a new latency in the moving average. */
+    static final double ALPHA = 0.3;
+
+    /** The source of the current time in nanoseconds. */
+    private final LongSupplier nanoClock;
+
+    /** The statistics by location. */
+    private final Map<String, Stats> stats = new HashMap<>();
+
+    /** Constructs a selector. */
+    MirrorSelector() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Constructs a selector using the specified clock.
+     *
+     * @param nanoClock the source of the current time in nanoseconds
+     */
+    MirrorSelector(final LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the specified locations in the order they should be tried.
+     *
+     * @param locations the locations in configured order
+     * @param coolDown the duration a location is unhealthy after a failure
+     * @return the locations in the order they should be tried
+     */
+    synchronized List<String> rank(final List<String> locations, final Duration coolDown) {
+        final long now = nanoClock.getAsLong();
+        final List<String> ranked = new ArrayList<>(locations);
+        ranked.sort(Comparator
+                .comparing((String location) -> stats(location).isUnhealthy(now, coolDown))
+                .thenComparingDouble(location -> stats(location).latency));
+        return ranked;
+    }
+
+    /**
+     * Records a successful request.
+     *
+     * @param location the location
+     * @param latency the latency of the request
+     */
+    synchronized void onSuccess(final String location, final Duration latency) {
+        final Stats locationStats = stats(location);
+        locationStats.latency = locationStats.latency == 0
+                ? latency.toNanos()
+                : ALPHA * latency.toNanos() + (1 - ALPHA) * locationStats.latency;
+        locationStats.failedAt = null;
+    }
+
+    /**
+     * Records a failed request.
+     *
+     * @param location the location
+     */
+    synchronized void onFailure(final String location) {
+        stats(location).failedAt = nanoClock.getAsLong();
+    }
+
+    /** Returns the statistics of the specified location. */
+    private Stats stats(final String location) {
+        return stats.computeIfAbsent(location, key -> new Stats());
+    }
+
+    /** The statistics of a location. */
+    private static final class Stats {
+
+        /** The moving average of the latency in nanoseconds or {@code 0} if unknown. */
+        private double latency;
+
+        /** The time of the last failure in nanoseconds or {@code null}. */
+        private Long failedAt;
+
+        boolean isUnhealthy(final long now, final Duration coolDown) {
+            return failedAt != null && now - failedAt < coolDown.toNanos();
+        }
+    }
+}
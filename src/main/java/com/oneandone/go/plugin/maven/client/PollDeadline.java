@@ -0,0 +1,95 @@
+package com.oneandone.go.plugin.maven.client;
+
+import com.oneandone.go.plugin.maven.GoMavenPollerException;
+import org.apache.hc.core5.util.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time until which all requests of a single poll have to be completed.
+ * <br>
+ * The timeouts of every request made for the poll are limited to the time remaining until the deadline, and
+ * requests still running at the deadline are aborted.
+ */
+public class PollDeadline {
+
+    /** The timer running the actions at the deadlines of all polls. */
+    private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+    /** The deadline in terms of {@link System#nanoTime()}. */
+    private final long deadlineNanos;
+
+    /** The total duration of the poll. */
+    private final Duration duration;
+
+    /**
+     * Constructs a deadline that expires after the specified duration from now.
+     *
+     * @param duration the duration until the deadline expires
+     */
+    public PollDeadline(final Duration duration) {
+        this.duration = duration;
+        this.deadlineNanos = System.nanoTime() + duration.toNanos();
+    }
+
+    /**
+     * Returns {@code true} if the deadline has expired, otherwise {@code false}.
+     *
+     * @return {@code true} if the deadline has expired, otherwise {@code false}
+     */
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Returns the time remaining until the deadline.
+     *
+     * @return the time remaining until the deadline, {@link Duration#ZERO} if expired
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, remainingNanos()));
+    }
+
+    /**
+     * Returns the specified timeout limited to the time remaining until the deadline.
+     *
+     * @param timeout the configured timeout
+     * @return the smaller of the configured timeout and the remaining time
+     * @throws GoMavenPollerException if the deadline has already expired
+     */
+    public Timeout limit(final Duration timeout) {
+        final long remaining = remainingNanos();
+        if (remaining <= 0) {
+            throw new GoMavenPollerException("poll did not complete within " + duration.getSeconds() + " seconds");
+        }
+        return Timeout.ofMilliseconds(Math.max(1, Math.min(timeout.toMillis(), remaining / 1_000_000)));
+    }
+
+    /**
+     * Runs the specified action when the deadline expires, unless the returned future is cancelled before.
+     *
+     * @param action the action, e.g. aborting a request
+     * @return the future to cancel the action with
+     */
+    public ScheduledFuture<?> onExpiry(final Runnable action) {
+        return TIMER.schedule(action, Math.max(0, remainingNanos()), TimeUnit.NANOSECONDS);
+    }
+
+    /** Creates the timer with a single daemon thread that forgets cancelled actions right away. */
+    private static ScheduledThreadPoolExecutor createTimer() {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "go-maven-poller-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+}
@@ -0,0 +1,99 @@
+package com.oneandone.go.plugin.maven.client;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * The features a repository location, i.e. the repository URL or one of its mirrors, was observed to support.
+ * <br>
+ * Capabilities are learned from the responses of the location and used to pick the cheapest request for each
+ * poll. The profile is kept in memory only and learned anew once it is older than {@link #MAX_AGE}, so a location
+ * that changed its behaviour is noticed.
+ */
+class RepositoryCapabilities {
+
+    /** The capabilities of a repository location. */
+    enum Capability {
+        /** {@code HEAD} requests on the repository root. */
+        HEAD_ROOT,
+        /** Range requests for the metadata. */
+        RANGE,
+        /** {@code ETag} headers for the metadata. */
+        ETAG,
+        /** {@code Last-Modified} headers for the metadata. */
+        LAST_MODIFIED,
+        /** {@code .sha1} checksum files for the metadata. */
+        CHECKSUM
+    }
+
+    /** The age after which the profile is learned anew. */
+    static final Duration MAX_AGE = Duration.ofDays(1);
+
+    /** The source of the current time in seconds since the epoch. */
+    private final LongSupplier clock;
+
+    /** The known capabilities. */
+    private final Map<Capability, Boolean> capabilities = new EnumMap<>(Capability.class);
+
+    /** The time the profile was started at in seconds since the epoch or {@code null} if nothing is known. */
+    private Long learnedAt;
+
+    /** Constructs an empty profile. */
+    RepositoryCapabilities() {
+        this(() -> System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Constructs an empty profile using the specified clock.
+     *
+     * @param clock the source of the current time in seconds since the epoch
+     */
+    RepositoryCapabilities(final LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns whether the location supports the specified capability.
+     *
+     * @param capability the capability
+     * @return {@code true} or {@code false} if known, {@code null} if not yet learned
+     */
+    synchronized Boolean get(final Capability capability) {
+        expire();
+        return capabilities.get(capability);
+    }
+
+    /**
+     * Returns {@code true} if the location is known not to support the specified capability, otherwise {@code false}.
+     *
+     * @param capability the capability
+     * @return {@code true} if the location is known not to support the capability, otherwise {@code false}
+     */
+    boolean isUnsupported(final Capability capability) {
+        return Boolean.FALSE.equals(get(capability));
+    }
+
+    /**
+     * Records whether the location supports the specified capability.
+     *
+     * @param capability the capability
+     * @param supported {@code true} if the capability is supported, otherwise {@code false}
+     */
+    synchronized void set(final Capability capability, final boolean supported) {
+        expire();
+        if (learnedAt == null) {
+            learnedAt = clock.getAsLong();
+        }
+        capabilities.put(capability, supported);
+    }
+
+    /** Forgets the profile once it is older than {@link #MAX_AGE}. */
+    private void expire() {
+        if (learnedAt != null && clock.getAsLong() - learnedAt >= MAX_AGE.getSeconds()) {
+            learnedAt = null;
+            capabilities.clear();
+        }
+    }
+}
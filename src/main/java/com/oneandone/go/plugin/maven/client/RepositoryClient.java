@@ -5,6 +5,8 @@ import com.oneandone.go.plugin.maven.config.MavenPackageConfig;
 import com.oneandone.go.plugin.maven.config.MavenRepoConfig;
 import com.oneandone.go.plugin.maven.util.MavenArtifactFiles;
 import com.oneandone.go.plugin.maven.util.MavenRevision;
+import com.oneandone.go.plugin.maven.util.MavenVersion;
+import com.oneandone.go.plugin.maven.util.VersionOrdering;
 import com.thoughtworks.go.plugin.api.logging.Logger;
 
 import java.time.ZonedDateTime;
@@ -23,8 +25,16 @@ public class RepositoryClient {
     private final MavenRepoConfig repoConfig;
     private final MavenPackageConfig packageConfig;
 
+    /**
+     * Constructs a client for a single poll.
+     * <br>
+     * All requests made by the client have to complete within the poll timeout of the repository configuration.
+     *
+     * @param repoConfig the repository configuration
+     * @param packageConfig the package configuration
+     */
     public RepositoryClient(final MavenRepoConfig repoConfig, final MavenPackageConfig packageConfig) {
-        this.repositoryConnector = new RepositoryConnector(repoConfig);
+        this.repositoryConnector = new RepositoryConnector(repoConfig, new PollDeadline(repoConfig.getPollTimeout()));
 
         this.repoConfig = repoConfig;
         this.packageConfig = packageConfig;
@@ -38,8 +48,8 @@ public class RepositoryClient {
      * */
     public MavenRevision getLatest() {
         final RepositoryResponse repoResponse = repositoryConnector.makeAllVersionsRequest(repoConfig, packageConfig);
-        LOGGER.debug(repoResponse.getResponseBody());
-        List<MavenRevision> allVersions;
+        LOGGER.debug("got metadata of " + repoResponse.getBody().length + " bytes");
+        List<MavenVersion> allVersions;
 
         if (repoConfig.hasLatestVersionTag() && isLatestVersionTagAvailable(repoResponse, repoConfig.getLatestVersionTag())) {
             allVersions = getLatestVersionByTag(repoResponse, repoConfig.getLatestVersionTag());
@@ -59,13 +69,14 @@ public class RepositoryClient {
                 // do nothing here
             }
 
-            final MavenRevision latest = getLatest(allVersions);
-            if (latest != null) {
-                latest.setLastModified(lastUpdatedTimestamp.orElse(ZonedDateTime.now()));
-                setLocationAndTrackBack(latest);
-            } else {
+            final MavenVersion latestVersion = getLatest(allVersions);
+            if (latestVersion == null) {
                 LOGGER.debug("getLatest returning null");
+                return null;
             }
+            final MavenRevision latest = new MavenRevision(latestVersion);
+            latest.setLastModified(lastUpdatedTimestamp.orElse(ZonedDateTime.now()));
+            setLocationAndTrackBack(latest);
             return latest;
 
         }
@@ -73,23 +84,23 @@ public class RepositoryClient {
         return null;
     }
 
-    private void setLocationAndTrackBack(final MavenRevision version) {
+    private void setLocationAndTrackBack(final MavenRevision revision) {
         try {
-            final MavenArtifactFiles files = getFiles(version);
-            version.setLocation(files.getArtifactLocation());
-            version.setTrackBackUrl(files.getTrackBackUrl());
+            final MavenArtifactFiles files = getFiles(revision.getVersion());
+            revision.setLocation(files.getArtifactLocation());
+            revision.setTrackBackUrl(files.getTrackBackUrl());
         } catch (final Exception ex) {
-            LOGGER.error("error getting location for " + version.getVersion(), ex);
-            version.setErrorMessage("Plugin could not determine location/trackback. Please see plugin log for details.");
+            LOGGER.error("error getting location for " + revision.getVersion().getVersion(), ex);
+            revision.setErrorMessage("Plugin could not determine location/trackback. Please see plugin log for details.");
         }
     }
 
-    private MavenRevision getLatest(final List<MavenRevision> allVersions) {
+    private MavenVersion getLatest(final List<MavenVersion> allVersions) {
         if (allVersions == null || allVersions.isEmpty()) {
             return null;
         }
 
-        final MavenRevision latest = maxSubjectToUpperBound(allVersions);
+        MavenVersion latest = maxSubjectToUpperBound(allVersions);
         if (latest == null) {
             LOGGER.info("maxSubjectToUpperBound is null");
             return null;
@@ -102,7 +113,7 @@ public class RepositoryClient {
             try {
                 final RepositoryResponseHandler snapshotResponseHandler = new RepositoryResponseHandler(repositoryResponse);
                 if (snapshotResponseHandler.canHandle()) {
-                    latest.setSnapshotInformation(snapshotResponseHandler.getSnapshotTimestamp(), snapshotResponseHandler.getSnapshotBuildNumber());
+                    latest = latest.withSnapshotInformation(snapshotResponseHandler.getSnapshotTimestamp(), snapshotResponseHandler.getSnapshotBuildNumber());
                     LOGGER.info("set snapshot information to specific version '" + latest.getVersionSpecific() + "'");
                 } else {
                     LOGGER.warn("could not handle snapshot resolution");
@@ -114,13 +125,13 @@ public class RepositoryClient {
         }
 
         if (packageConfig.isLastVersionKnown()) {
-            final MavenRevision lastKnownVersion = new MavenRevision(packageConfig.getLastKnownVersion());
+            final MavenVersion lastKnownVersion = new MavenVersion(packageConfig.getLastKnownVersion());
             if (isSameVersion(latest, lastKnownVersion)) {
                 LOGGER.info("version '" + latest.getVersionSpecific() + "' is the same as the lastKnownVersion '" + lastKnownVersion.getVersionSpecific() + "'");
                 return null;
             }
         }
-        if (!packageConfig.lowerBoundGiven() || latest.greaterOrEqual(packageConfig.getLowerBound())) {
+        if (!packageConfig.lowerBoundGiven() || packageConfig.getVersionOrdering().compare(latest, packageConfig.getLowerBound()) >= 0) {
             return latest;
         } else {
             LOGGER.info("latestSubjectToLowerBound is null");
@@ -128,31 +139,23 @@ public class RepositoryClient {
         }
     }
 
-    private MavenRevision maxSubjectToUpperBound(final List<MavenRevision> allVersions) {
+    private MavenVersion maxSubjectToUpperBound(final List<MavenVersion> versions) {
+        final VersionOrdering ordering = packageConfig.getVersionOrdering();
         if (!packageConfig.upperBoundGiven()) {
-            return Collections.max(allVersions);
+            return ordering.max(versions);
         }
-        Collections.sort(allVersions);
-        for (int i = 0; i < allVersions.size(); i++) {
-            if (allVersions.get(i).lessThan(packageConfig.getUpperBound()) && i + 1 <= allVersions.size() - 1 && allVersions.get(i + 1).greaterOrEqual(packageConfig.getUpperBound())) {
-                return allVersions.get(i);
-            }
-            if (allVersions.get(i).lessThan(packageConfig.getUpperBound()) && i + 1 == allVersions.size()) {
-                return allVersions.get(i);
-            }
-        }
-        return null;
+        return ordering.maxBelow(versions, packageConfig.getUpperBound());
     }
 
-    private boolean isSameVersion(final MavenRevision latest, final MavenRevision lastKnownVersion) {
-        return latest.equal(lastKnownVersion);
+    private boolean isSameVersion(final MavenVersion latest, final MavenVersion lastKnownVersion) {
+        return packageConfig.getVersionOrdering().compare(latest, lastKnownVersion) == 0;
     }
 
-    private List<MavenRevision> getAllVersions(final RepositoryResponse repoResponse) {
+    private List<MavenVersion> getAllVersions(final RepositoryResponse repoResponse) {
         try {
             final RepositoryResponseHandler repositoryResponseHandler = new RepositoryResponseHandler(repoResponse);
             if (repositoryResponseHandler.canHandle()) {
-                return repositoryResponseHandler.getAllVersions();
+                return repositoryResponseHandler.getCandidateVersions(packageConfig.getLowerBound(), packageConfig.getUpperBound(), packageConfig.getVersionFilter());
             } else {
                 LOGGER.warn("Returning empty version list - no XML nor HTML Nexus answer found");
                 return Collections.emptyList();
@@ -166,13 +169,16 @@ public class RepositoryClient {
         return !getLatestVersionByTag(repoResponse, latestVersionTag).isEmpty();
     }
 
-    private List<MavenRevision> getLatestVersionByTag(final RepositoryResponse repoResponse, final String latestVersionTag) {
+    private List<MavenVersion> getLatestVersionByTag(final RepositoryResponse repoResponse, final String latestVersionTag) {
         try {
             final RepositoryResponseHandler repositoryResponseHandler = new RepositoryResponseHandler(repoResponse);
             if (repositoryResponseHandler.canHandle()) {
-                final MavenRevision latestVersion = repositoryResponseHandler.getLatestVersionByTag(latestVersionTag);
-                if (latestVersion != null) {
-                    final List<MavenRevision> allVersions = new ArrayList<>(1);
+                final MavenVersion latestVersion = repositoryResponseHandler.getLatestVersionByTag(latestVersionTag);
+                if (latestVersion != null && !packageConfig.getVersionFilter().accepts(latestVersion)) {
+                    LOGGER.info("Returning empty latest version list - latest version " + latestVersion.getOriginal() + " is filtered out");
+                    return Collections.emptyList();
+                } else if (latestVersion != null) {
+                    final List<MavenVersion> allVersions = new ArrayList<>(1);
                     allVersions.add(latestVersion);
                     return allVersions;
                 } else {
@@ -188,17 +194,18 @@ public class RepositoryClient {
         }
     }
 
-    private MavenArtifactFiles getFiles(final MavenRevision version) {
-        final String baseUrl;
+    private MavenArtifactFiles getFiles(final MavenVersion version) {
+        final String baseUrl = repositoryConnector.getFilesUrl(repoConfig, packageConfig, version.getOriginal());
+        final String baseUrlWithAuth;
         if (repoConfig.getUsername() != null && !repoConfig.getUsername().isEmpty() && repoConfig.getPassword() != null && !repoConfig.getPassword().isEmpty()) {
-            baseUrl = repositoryConnector.getFilesUrlWithBasicAuth(repoConfig, packageConfig, version.getOriginal());
+            baseUrlWithAuth = repositoryConnector.getFilesUrlWithBasicAuth(repoConfig, packageConfig, version.getOriginal());
         } else {
-            baseUrl = repositoryConnector.getFilesUrl(repoConfig, packageConfig, version.getOriginal());
+            baseUrlWithAuth = baseUrl;
         }
 
         final String artifactFile = packageConfig.getArtifactId() + "-" + version.getVersion() + "." + packageConfig.getPackaging();
         final String pomFile = packageConfig.getArtifactId() + "-" + version.getVersion() + ".pom";
 
-        return new MavenArtifactFiles(baseUrl, artifactFile, pomFile, repoConfig);
+        return new MavenArtifactFiles(baseUrl, baseUrlWithAuth, artifactFile, pomFile, repositoryConnector);
     }
 }
@@ -1,38 +1,59 @@
 package com.oneandone.go.plugin.maven.client;
 
 import com.oneandone.go.plugin.maven.GoMavenPollerException;
+import com.oneandone.go.plugin.maven.client.RepositoryCapabilities.Capability;
 import com.oneandone.go.plugin.maven.config.MavenPackageConfig;
 import com.oneandone.go.plugin.maven.config.MavenRepoConfig;
 import com.oneandone.go.plugin.maven.util.MavenVersion;
 import com.thoughtworks.go.plugin.api.logging.Logger;
+import lombok.Getter;
 import org.apache.hc.client5.http.auth.AuthScope;
 import org.apache.hc.client5.http.auth.Credentials;
 import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpHead;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
-import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
 import org.apache.hc.client5.http.impl.DefaultRedirectStrategy;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
-import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpException;
 import org.apache.hc.core5.http.HttpHeaders;
 import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpResponse;
 import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.InputStreamReader;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /** The Maven repository connector. */
 public class RepositoryConnector {
@@ -40,16 +61,41 @@ public class RepositoryConnector {
     /** The logging instance for this class. */
     private static final Logger LOGGER = Logger.getLoggerFor(RepositoryConnector.class);
 
+    /** The percentile of the latencies of a repository after which a hedged request is sent. */
+    private static final int HEDGE_PERCENTILE = 95;
+
+    /** The duration after which idle pooled connections are closed, longer than the default poll interval of a minute. */
+    private static final Duration IDLE_CONNECTION_TIMEOUT = Duration.ofMinutes(2);
+
+    /** The duration a successful connection test of a repository is remembered, one minute. */
+    private static final Duration CONNECTION_CHECK_TTL = Duration.ofMinutes(1);
+
     /** The repository configuration. */
     private final MavenRepoConfig repoConfig;
 
+    /** The deadline for all requests made by this connector. */
+    private final PollDeadline deadline;
+
     /**
      * Constructs a connector by the specified configuration.
+     * <br>
+     * All requests made by the connector have to complete within the poll timeout of the configuration.
      *
      * @param repoConfig the repository configuration
      */
     public RepositoryConnector(final MavenRepoConfig repoConfig) {
+        this(repoConfig, new PollDeadline(repoConfig.getPollTimeout()));
+    }
+
+    /**
+     * Constructs a connector by the specified configuration and deadline.
+     *
+     * @param repoConfig the repository configuration
+     * @param deadline the deadline for all requests made by the connector
+     */
+    public RepositoryConnector(final MavenRepoConfig repoConfig, final PollDeadline deadline) {
         this.repoConfig = repoConfig;
+        this.deadline = deadline;
     }
 
     static String concatUrl(final String baseUrl, final String groupId, final String artifactId, final String version) {
@@ -89,103 +135,689 @@ public class RepositoryConnector {
      * @throws RuntimeException on any exception
      */
     public RepositoryResponse doHttpRequest(final String url) {
-        String responseBody;
-        try (CloseableHttpClient client = createHttpClient()) {
-            HttpGet method = new HttpGet(url);
-            method.setHeader(HttpHeaders.ACCEPT, "application/xml");
-            try (CloseableHttpResponse response = client.execute(method)) {
-                if (response.getCode() != HttpStatus.SC_OK) {
-                    throw new GoMavenPollerException(String.format("HTTP %s, %s", response.getCode(), response.getReasonPhrase()));
-                }
-                try (HttpEntity entity = response.getEntity()) {
-                    responseBody = EntityUtils.toString(entity);
-                    return new RepositoryResponse(responseBody);
+        try {
+            return routed(url, locationUrl -> hedged(locationUrl, attempt -> {
+                HttpGet method = attempt.track(new HttpGet(locationUrl));
+                method.setHeader(HttpHeaders.ACCEPT, "application/xml");
+                return execute(method, response -> {
+                    if (response.getCode() != HttpStatus.SC_OK) {
+                        throw new StatusException(response.getCode(), response.getReasonPhrase());
+                    }
+                    return new RepositoryResponse(EntityUtils.toByteArray(response.getEntity()), null);
+                });
+            }));
+        } catch (final Exception e) {
+            String message = String.format("Exception while connecting to %s%n%s", url, e);
+            LOGGER.error(message, e);
+            throw new GoMavenPollerException(message, e);
+        }
+    }
+
+    /**
+     * Executes a HTTP {@code GET} on the specified metadata URL and returns the response.
+     * <br>
+     * If checksum probing is enabled and the checksum published next to the document matches the cached
+     * document, the cached response is returned without downloading the document again.
+     * <br>
+     * If the circuit breakers of the repository and all its mirrors are open, the cached document is returned if there is one.
+     * <br>
+     * If incremental fetching is enabled and the document was fetched before, only its tail starting at the
+     * last known version is requested and spliced into the cached document. A full fetch is done if the server
+     * ignores the range, if it cannot satisfy the range or if the tail does not match the cached document.
+     * If the cached document lists values like {@code latest} or {@code release} before the versions, the published
+     * checksum is fetched as well and the spliced document has to match it, without a checksum the document is
+     * fetched completely.
+     * <br>
+     * Checksums and ranges are not requested anymore from a repository location once it is known not to support them.
+     *
+     * @param url the URL of the {@code maven-metadata.xml}
+     * @return the response including the versions listed in the document
+     * @throws RuntimeException on any exception
+     */
+    RepositoryResponse doMetadataHttpRequest(final String url) {
+        final RepositoryState state = RepositoryState.of(repoConfig);
+        final MetadataCache metadataCache = state.getMetadataCache();
+        final MetadataCache.Entry cached = metadataCache.get(url);
+        if (cached != null && !isCallPermitted()) {
+            LOGGER.warn("circuit breaker for repository " + repoConfig.getRepoUrlAsString() + " is open, serving cached metadata " + url);
+            return cached.getResponse();
+        }
+        final boolean incremental = repoConfig.isIncrementalMetadata() && cached != null && cached.isSpliceable();
+        final String checksum = cached != null && (repoConfig.isChecksumProbe() || incremental && cached.isMutablePrefix())
+                ? doChecksumHttpRequest(url + ".sha1")
+                : null;
+        if (cached != null && cached.matchesChecksum(checksum)) {
+            LOGGER.debug("checksum of metadata " + url + " unchanged");
+            return cached.getResponse();
+        }
+
+        final boolean spliceable = incremental && (checksum != null || !cached.isMutablePrefix());
+        final MetadataCache.Entry entry;
+        try {
+            entry = routed(url, locationUrl -> hedged(locationUrl, attempt -> {
+                final RepositoryCapabilities capabilities = state.getCapabilities(locationOf(locationUrl));
+                final boolean partial = spliceable && !capabilities.isUnsupported(Capability.RANGE);
+                HttpGet method = attempt.track(new HttpGet(locationUrl));
+                method.setHeader(HttpHeaders.ACCEPT, "application/xml");
+                if (partial) {
+                    method.setHeader(HttpHeaders.RANGE, "bytes=" + cached.getOverlapStart() + "-");
+                    if (cached.getEtag() != null) {
+                        method.setHeader(HttpHeaders.IF_NONE_MATCH, cached.getEtag());
+                    } else if (cached.getLastModified() != null) {
+                        method.setHeader(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+                    }
                 }
-            }
+                return execute(method, response -> {
+                    final String etag = headerValue(response, HttpHeaders.ETAG);
+                    final String lastModified = headerValue(response, HttpHeaders.LAST_MODIFIED);
+                    if (response.getCode() == HttpStatus.SC_OK || response.getCode() == HttpStatus.SC_PARTIAL_CONTENT) {
+                        capabilities.set(Capability.ETAG, etag != null);
+                        capabilities.set(Capability.LAST_MODIFIED, lastModified != null);
+                        if (partial) {
+                            capabilities.set(Capability.RANGE, response.getCode() == HttpStatus.SC_PARTIAL_CONTENT);
+                        }
+                    }
+                    if (partial && response.getCode() == HttpStatus.SC_NOT_MODIFIED) {
+                        LOGGER.debug("metadata " + url + " not modified");
+                        return cached;
+                    } else if (partial && (response.getCode() == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE || response.getCode() == HttpStatus.SC_OK)) {
+                        LOGGER.debug(String.format("range request for metadata %s answered with HTTP %s", url, response.getCode()));
+                        return null;
+                    } else if (partial && response.getCode() == HttpStatus.SC_PARTIAL_CONTENT) {
+                        final MetadataCache.Entry spliced = cached.splice(headerValue(response, HttpHeaders.CONTENT_RANGE), EntityUtils.toByteArray(response.getEntity()), etag, lastModified);
+                        if (spliced != null && checksum != null && !spliced.matchesChecksum(checksum)) {
+                            LOGGER.debug("spliced metadata " + url + " does not match the published checksum");
+                            return null;
+                        }
+                        return spliced;
+                    } else if (response.getCode() == HttpStatus.SC_OK) {
+                        return MetadataCache.newEntry(EntityUtils.toByteArray(response.getEntity()), etag, lastModified);
+                    }
+                    throw new StatusException(response.getCode(), response.getReasonPhrase());
+                });
+            }));
         } catch (final Exception e) {
+            metadataCache.remove(url);
             String message = String.format("Exception while connecting to %s%n%s", url, e);
             LOGGER.error(message, e);
             throw new GoMavenPollerException(message, e);
         }
+
+        if (entry == null) {
+            LOGGER.info("tail of metadata " + url + " could not be spliced into the cached document, will proceed with full request");
+            metadataCache.remove(url);
+            return doMetadataHttpRequest(url);
+        }
+        metadataCache.put(url, entry);
+        return entry.getResponse();
     }
 
     /**
-     * Returns a new HTTP client by the specified repository configuration.
+     * Makes the specified request at the repository location currently preferred by the mirror selector of the
+     * repository, failing over to the other locations on I/O errors, server errors and open circuit breakers.
+     * <br>
+     * Only I/O errors and server errors are recorded as failures of a location, any other error like a
+     * {@code 404} is the answer of the repository and returned without trying the other locations.
+     * <br>
+     * URLs not located in the repository and requests of repositories without mirrors are made unchanged.
      *
-     * @return a new HTTP client by the specified repository configuration
+     * @param url the URL of the request in the repository
+     * @param request the request taking the URL at the selected location
+     * @param <T> the type of the request result
+     * @return the result of the first successful request
+     * @throws Exception the exception of the last failed request if the request failed at all locations
      */
-    private CloseableHttpClient createHttpClient() throws URISyntaxException {
-        RequestConfig.Builder requestBuilder = RequestConfig.custom().setConnectTimeout(Timeout.ofSeconds(10));
+    <T> T routed(final String url, final LocationRequest<T> request) throws Exception {
+        final String repoUrl = repoConfig.getRepoUrlAsString();
+        if (repoConfig.getMirrorUrls().isEmpty() || !url.startsWith(repoUrl)) {
+            return request.call(url);
+        }
 
-        if (repoConfig.getProxy() != null) {
-            requestBuilder.setProxy(HttpHost.create(repoConfig.getProxy()));
+        final MirrorSelector mirrorSelector = RepositoryState.of(repoConfig).getMirrorSelector();
+        Exception failure = null;
+        for (final String location : mirrorSelector.rank(repoConfig.getRepoUrlsAsStrings(), repoConfig.getCircuitBreakerCoolDown())) {
+            if (failure != null && deadline.isExpired()) {
+                break;
+            }
+            final String locationUrl = location + url.substring(repoUrl.length());
+            final long start = System.nanoTime();
+            try {
+                final T result = request.call(locationUrl);
+                mirrorSelector.onSuccess(location, Duration.ofNanos(System.nanoTime() - start));
+                return result;
+            } catch (final Exception e) {
+                if (isCause(e, CircuitOpenException.class)) {
+                    LOGGER.debug(String.format("circuit breaker for %s is open, trying next mirror", location));
+                } else if (isCause(e, IOException.class) || isServerError(e)) {
+                    LOGGER.warn(String.format("request %s failed, trying next mirror%n%s", locationUrl, e));
+                    mirrorSelector.onFailure(location);
+                } else {
+                    throw e;
+                }
+                failure = e;
+            }
+        }
+        throw failure;
+    }
+
+    /** Returns {@code true} if the specified exception or one of its causes is of the specified type. */
+    private static boolean isCause(final Throwable e, final Class<? extends Throwable> type) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns {@code true} if the specified exception or one of its causes is a server error response. */
+    private static boolean isServerError(final Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof StatusException && ((StatusException) cause).getStatusCode() >= HttpStatus.SC_SERVER_ERROR) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the location of the repository the specified URL belongs to, i.e. the repository URL or the URL of
+     * one of its mirrors. URLs outside of all locations belong to the repository URL.
+     *
+     * @param url the URL
+     * @return the location of the URL
+     */
+    private String locationOf(final String url) {
+        for (final String location : repoConfig.getRepoUrlsAsStrings()) {
+            if (url.startsWith(location)) {
+                return location;
+            }
+        }
+        return repoConfig.getRepoUrlAsString();
+    }
+
+    /** Returns {@code true} if the circuit breaker of any location of the repository permits a call. */
+    private boolean isCallPermitted() {
+        final RepositoryState state = RepositoryState.of(repoConfig);
+        for (final String location : repoConfig.getRepoUrlsAsStrings()) {
+            if (state.getCircuitBreaker(location).isCallPermitted(repoConfig.getCircuitBreakerCoolDown())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The exception thrown for an unexpected response status. */
+    static final class StatusException extends GoMavenPollerException {
+
+        /**
+         * The status code of the response.
+         *
+         * @return the status code of the response
+         */
+        @Getter private final int statusCode;
+
+        /**
+         * Constructs the exception for the specified response status.
+         *
+         * @param statusCode the status code of the response
+         * @param reasonPhrase the reason phrase of the response
+         */
+        StatusException(final int statusCode, final String reasonPhrase) {
+            super(String.format("HTTP %s, %s", statusCode, reasonPhrase));
+            this.statusCode = statusCode;
+        }
+    }
+
+    /** The exception thrown if the circuit breaker of a location does not permit a request. */
+    static final class CircuitOpenException extends GoMavenPollerException {
+
+        /**
+         * Constructs the exception for the specified location.
+         *
+         * @param location the location
+         */
+        CircuitOpenException(final String location) {
+            super("circuit breaker for " + location + " is open");
+        }
+    }
+
+    /**
+     * A request made at a repository location.
+     *
+     * @param <T> the type of the request result
+     */
+    @FunctionalInterface
+    interface LocationRequest<T> {
+
+        /**
+         * Makes the request.
+         *
+         * @param locationUrl the URL of the request at the location
+         * @return the request result
+         * @throws Exception on any exception
+         */
+        T call(String locationUrl) throws Exception;
+    }
+
+    /**
+     * Makes the specified metadata request and records its latency.
+     * <br>
+     * If hedged requests are enabled and the request has not completed after the 95th percentile of the latencies
+     * of the repository, an identical request is sent on a different connection and the first successful response
+     * is used. Hedged requests are paid from the retry budget of the repository. The HTTP request of the losing
+     * attempt is aborted, so it releases its connection and host slot at once; its latency is not recorded and its
+     * failure does not count against the circuit breaker.
+     *
+     * @param url the URL of the request, for logging
+     * @param request the request
+     * @param <T> the type of the request result
+     * @return the request result
+     * @throws Exception on any exception of the request
+     */
+    <T> T hedged(final String url, final HedgedRequest<T> request) throws Exception {
+        final RepositoryState state = RepositoryState.of(repoConfig);
+        final Duration hedgeDelay = repoConfig.isHedgeRequests() ? state.getLatencyTracker().percentile(HEDGE_PERCENTILE) : null;
+        if (hedgeDelay == null) {
+            return timed(request, new Attempt(), state);
+        }
+
+        final CompletionService<T> completionService = new ExecutorCompletionService<>(IoExecutor.INSTANCE);
+        final List<Future<T>> futures = new ArrayList<>(2);
+        final List<Attempt> attempts = new ArrayList<>(2);
+        Future<T> winner = null;
+        try {
+            attempts.add(new Attempt());
+            futures.add(completionService.submit(IoExecutor.onIoThread(() -> timed(request, attempts.get(0), state))));
+            Future<T> done = completionService.poll(Math.min(hedgeDelay.toNanos(), deadline.remaining().toNanos()), TimeUnit.NANOSECONDS);
+            if (done == null && !deadline.isExpired() && state.getRetryBudget().tryRetry()) {
+                LOGGER.info("request " + url + " not completed after " + hedgeDelay.toMillis() + " ms, sending hedged request");
+                final Attempt hedge = new Attempt();
+                attempts.add(hedge);
+                futures.add(completionService.submit(IoExecutor.onIoThread(() -> timed(request, hedge, state))));
+            }
+            for (int pending = futures.size(); pending > 0; pending--) {
+                if (done == null) {
+                    done = completionService.poll(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        throw new GoMavenPollerException("poll did not complete within " + repoConfig.getPollTimeout().getSeconds() + " seconds");
+                    }
+                }
+                try {
+                    final T result = done.get();
+                    winner = done;
+                    return result;
+                } catch (final ExecutionException e) {
+                    if (pending == 1) {
+                        throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
+                    done = null;
+                }
+            }
+            throw new IllegalStateException("no request completed");
+        } finally {
+            for (int i = 0; i < futures.size(); i++) {
+                if (futures.get(i) != winner) {
+                    attempts.get(i).cancel();
+                    futures.get(i).cancel(true);
+                }
+            }
         }
+    }
+
+    /** Makes the specified attempt of a request and records its latency unless the attempt was cancelled. */
+    private static <T> T timed(final HedgedRequest<T> request, final Attempt attempt, final RepositoryState state) throws Exception {
+        final long start = System.nanoTime();
+        final T result = request.call(attempt);
+        if (!attempt.isCancelled()) {
+            state.getLatencyTracker().record(Duration.ofNanos(System.nanoTime() - start));
+        }
+        return result;
+    }
+
+    /**
+     * A request that may be made twice by {@link #hedged(String, HedgedRequest)}.
+     *
+     * @param <T> the type of the request result
+     */
+    @FunctionalInterface
+    interface HedgedRequest<T> {
+
+        /**
+         * Makes the request.
+         *
+         * @param attempt the attempt tracking the HTTP request, so that it can be aborted
+         * @return the request result
+         * @throws Exception on any exception
+         */
+        T call(Attempt attempt) throws Exception;
+    }
+
+    /** An attempt of a hedged request, its HTTP request is aborted if the attempt is cancelled. */
+    static final class Attempt {
+
+        /** The HTTP request of the attempt or {@code null}. */
+        private volatile HttpUriRequestBase request;
+
+        /** Flag indicating whether the attempt was cancelled. */
+        private volatile boolean cancelled;
+
+        /**
+         * Tracks the specified HTTP request of this attempt, aborting it right away if the attempt was cancelled.
+         *
+         * @param request the HTTP request
+         * @param <R> the type of the HTTP request
+         * @return the HTTP request
+         */
+        <R extends HttpUriRequestBase> R track(final R request) {
+            this.request = request;
+            if (cancelled) {
+                request.abort();
+            }
+            return request;
+        }
+
+        /** Cancels this attempt and aborts its HTTP request. */
+        void cancel() {
+            cancelled = true;
+            final HttpUriRequestBase tracked = request;
+            if (tracked != null) {
+                tracked.abort();
+            }
+        }
+
+        /**
+         * Returns {@code true} if this attempt was cancelled, otherwise {@code false}.
+         *
+         * @return {@code true} if this attempt was cancelled, otherwise {@code false}
+         */
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Executes a HTTP {@code GET} on the specified checksum URL and returns the checksum file content.
+     *
+     * @param url the URL of the checksum file
+     * @return the checksum file content or {@code null} if it could not be fetched or the repository location is
+     *      known not to publish checksums
+     */
+    private String doChecksumHttpRequest(final String url) {
+        final RepositoryState state = RepositoryState.of(repoConfig);
+        try {
+            return routed(url, locationUrl -> {
+                final RepositoryCapabilities capabilities = state.getCapabilities(locationOf(locationUrl));
+                if (capabilities.isUnsupported(Capability.CHECKSUM)) {
+                    return null;
+                }
+                HttpGet method = new HttpGet(locationUrl);
+                method.setHeader(HttpHeaders.ACCEPT, "text/plain");
+                return execute(method, response -> {
+                    if (response.getCode() == HttpStatus.SC_OK || response.getCode() == HttpStatus.SC_NOT_FOUND) {
+                        capabilities.set(Capability.CHECKSUM, response.getCode() == HttpStatus.SC_OK);
+                    }
+                    if (response.getCode() != HttpStatus.SC_OK) {
+                        LOGGER.warn(String.format("could not get checksum %s: HTTP %s, %s", locationUrl, response.getCode(), response.getReasonPhrase()));
+                        return null;
+                    }
+                    return EntityUtils.toString(response.getEntity(), StandardCharsets.US_ASCII);
+                });
+            });
+        } catch (final Exception e) {
+            LOGGER.warn(String.format("Exception while connecting to %s%n%s", url, e));
+            return null;
+        }
+    }
+
+    /** Returns the value of the first header with the specified name or {@code null}. */
+    private static String headerValue(final HttpResponse response, final String name) {
+        final Header header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
+    }
+
+    /**
+     * Returns a new pooled HTTP client by the specified repository configuration.
+     * <br>
+     * The client is shared by all polls of the repository, the timeouts limited by the deadline of a poll are set
+     * by {@link #createContext()} for every request.
+     *
+     * @return a new pooled HTTP client by the specified repository configuration
+     */
+    private CloseableHttpClient createHttpClient() {
+        final List<String> repoUrls = repoConfig.getRepoUrlsAsStrings();
+        final ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(repoConfig.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(repoConfig.getResponseTimeout()))
+                .build();
 
         HttpClientBuilder httpClientBuilder =
                 HttpClientBuilder.create()
-                        .setDefaultRequestConfig(requestBuilder.build())
-                        .setRetryStrategy(new DefaultHttpRequestRetryStrategy(3, TimeValue.ofSeconds(2)))
+                        .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                                .setDefaultConnectionConfig(connectionConfig)
+                                .setDnsResolver(CachingDnsResolver.INSTANCE)
+                                .setMaxConnPerRoute(repoConfig.getMaxConcurrentRequests())
+                                .setMaxConnTotal(repoConfig.getMaxConcurrentRequests() * repoUrls.size())
+                                .build())
+                        .evictExpiredConnections()
+                        .evictIdleConnections(TimeValue.of(IDLE_CONNECTION_TIMEOUT))
+                        .setRetryStrategy(new JitteredRetryStrategy(RepositoryState.of(repoConfig).getRetryBudget()))
                         .setRedirectStrategy(new DefaultRedirectStrategy());
 
         if (repoConfig.getUsername() != null) {
             final Credentials credentials = new UsernamePasswordCredentials(repoConfig.getUsername(), repoConfig.getPassword().toCharArray());
             final BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
-            final URI repoUri = repoConfig.getRepoUrlAsURI();
-            credentialsProvider.setCredentials(new AuthScope(repoUri.getHost(), repoUri.getPort()), credentials);
+            for (final String url : repoUrls) {
+                final URI uri = URI.create(url);
+                credentialsProvider.setCredentials(new AuthScope(uri.getHost(), uri.getPort()), credentials);
+            }
             httpClientBuilder.setDefaultCredentialsProvider(credentialsProvider);
         }
         return httpClientBuilder.build();
     }
 
+    /**
+     * Executes the specified request with the pooled client of the repository and a new request context and records
+     * it in the retry budget of the repository.
+     * <br>
+     * The request is guarded by the circuit breaker of the repository location it is sent to, I/O errors and server
+     * errors count as failures unless the request was aborted.
+     * The request counts against the concurrency and rate limits of the repository host until the response is handled.
+     * <br>
+     * A request still running at the poll deadline is aborted, so it does not outlive the poll whichever thread runs it.
+     * If {@link MavenRepoConfig#isPluginThreads() configured} and not yet on a plugin thread, the request runs on a
+     * thread of the {@link IoExecutor}. Polls and connection checks of GoCD run on the plugin threads of the bulkhead,
+     * their requests stay on the calling thread.
+     *
+     * @param request the request
+     * @param handler the handler of the response, the response entity is consumed after the handler returns
+     * @param <T> the type of the handler result
+     * @return the handler result
+     * @throws IOException on any I/O error
+     * @throws HttpException on any HTTP protocol error
+     * @throws GoMavenPollerException if the circuit breaker of the location is open or if the host limits
+     *      could not be acquired within the poll deadline
+     */
+    <T> T execute(final ClassicHttpRequest request, final HttpClientResponseHandler<T> handler) throws IOException, HttpException {
+        if (!repoConfig.isPluginThreads() || IoExecutor.isIoThread()) {
+            return executeOnCurrentThread(request, handler);
+        }
+        try {
+            return IoExecutor.call(() -> executeOnCurrentThread(request, handler), deadline.remaining());
+        } catch (final IOException | HttpException | RuntimeException e) {
+            throw e;
+        } catch (final TimeoutException e) {
+            throw new GoMavenPollerException("poll did not complete within " + repoConfig.getPollTimeout().getSeconds() + " seconds");
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for " + request.getRequestUri());
+        } catch (final Exception e) {
+            throw new GoMavenPollerException(e);
+        }
+    }
+
+    /** Executes the specified request on the current thread, see {@link #execute(ClassicHttpRequest, HttpClientResponseHandler)}. */
+    private <T> T executeOnCurrentThread(final ClassicHttpRequest request, final HttpClientResponseHandler<T> handler) throws IOException, HttpException {
+        final URI uri;
+        try {
+            uri = request.getUri();
+        } catch (final URISyntaxException e) {
+            throw new GoMavenPollerException(e);
+        }
+        final HostLimiter hostLimiter = HostLimiter.of(uri);
+        final RepositoryState state = RepositoryState.of(repoConfig);
+        final String location = locationOf(uri.toString());
+        final CircuitBreaker circuitBreaker = state.getCircuitBreaker(location);
+        if (!circuitBreaker.tryAcquire(repoConfig.getCircuitBreakerCoolDown())) {
+            throw new CircuitOpenException(location);
+        }
+        try {
+            hostLimiter.acquire(repoConfig.getMaxConcurrentRequests(), repoConfig.getRateLimit(), deadline);
+        } catch (final RuntimeException e) {
+            circuitBreaker.onAbandoned();
+            throw e;
+        }
+        ScheduledFuture<?> expiry = null;
+        try {
+            if (request instanceof Cancellable) {
+                expiry = deadline.onExpiry(((Cancellable) request)::cancel);
+            }
+            state.getRetryBudget().onRequest();
+            final CloseableHttpClient client = state.getHttpClient(repoConfig, this::createHttpClient);
+            final CloseableHttpResponse response;
+            try {
+                response = client.execute(request, createContext());
+            } catch (final IOException | RuntimeException e) {
+                if (request instanceof HttpUriRequestBase && ((HttpUriRequestBase) request).isCancelled() && !deadline.isExpired()) {
+                    // aborted by a hedged request that completed first, an abort at the deadline is a failure
+                    circuitBreaker.onAbandoned();
+                } else {
+                    circuitBreaker.onFailure(repoConfig.getCircuitBreakerFailureRatio());
+                }
+                throw e;
+            }
+            try (CloseableHttpResponse closeableResponse = response) {
+                if (closeableResponse.getCode() >= HttpStatus.SC_SERVER_ERROR) {
+                    circuitBreaker.onFailure(repoConfig.getCircuitBreakerFailureRatio());
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+                final T result = handler.handleResponse(closeableResponse);
+                try {
+                    EntityUtils.consume(closeableResponse.getEntity());
+                } catch (final IOException e) {
+                    // the result is complete, the connection is just not reused
+                    LOGGER.debug(String.format("could not consume response of %s%n%s", request.getRequestUri(), e));
+                }
+                return result;
+            }
+        } finally {
+            if (expiry != null) {
+                expiry.cancel(false);
+            }
+            hostLimiter.release();
+        }
+    }
+
+    /**
+     * Returns a new request context by the specified repository configuration.
+     * <br>
+     * The context holds the request timeouts limited by the deadline of the poll, and the deadline itself for the retry strategy.
+     * If credentials are configured, the context shares the authentication cache of the repository
+     * so that the credentials are sent preemptively.
+     *
+     * @return a new request context
+     */
+    private HttpClientContext createContext() {
+        RequestConfig.Builder requestBuilder = RequestConfig.custom()
+                .setConnectTimeout(deadline.limit(repoConfig.getConnectTimeout()))
+                .setResponseTimeout(deadline.limit(repoConfig.getResponseTimeout()))
+                .setConnectionRequestTimeout(deadline.limit(repoConfig.getConnectionRequestTimeout()));
+
+        if (repoConfig.getProxy() != null) {
+            try {
+                requestBuilder.setProxy(HttpHost.create(repoConfig.getProxy()));
+            } catch (final URISyntaxException e) {
+                throw new GoMavenPollerException(e);
+            }
+        }
+
+        final HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(requestBuilder.build());
+        context.setAttribute(JitteredRetryStrategy.DEADLINE_ATTRIBUTE, deadline);
+        if (repoConfig.getUsername() != null && repoConfig.getPassword() != null) {
+            context.setAuthCache(RepositoryState.of(repoConfig).getAuthCache(repoConfig));
+        }
+        return context;
+    }
+
     /**
      * Tests the connection to the base URL of the repository, returns {@code true} on success and {@code false} otherwise.
+     * <br>
+     * A successful test is remembered for {@link #CONNECTION_CHECK_TTL} as long as the configuration does not change.
+     * The {@code HEAD} request is skipped for repositories known not to support it.
      *
      * @return {@code true} if a connection could be established, otherwise {@code false}
      * @throws RuntimeException on any exception
      */
     public boolean testConnection() {
+        final RepositoryState state = RepositoryState.of(repoConfig);
+        if (state.isConnectionChecked(CONNECTION_CHECK_TTL)) {
+            LOGGER.debug("connection to repository " + repoConfig.getRepoUrlAsString() + " checked recently");
+            return true;
+        }
         final URI uri = repoConfig.getRepoUrlAsURI();
         //noinspection UnusedAssignment
         boolean result = false;
 
-        try (CloseableHttpClient client = createHttpClient()) {
-            // try with HTTP HEAD
-            HttpUriRequestBase headRequest = new HttpHead(uri);
-            headRequest.setHeader(HttpHeaders.ACCEPT, "*/*");
-            try (CloseableHttpResponse response = client.execute(headRequest)) {
-                result = response.getCode() == HttpStatus.SC_OK;
+        try {
+            final RepositoryCapabilities capabilities = state.getCapabilities(repoConfig.getRepoUrlAsString());
+            final boolean head = !capabilities.isUnsupported(Capability.HEAD_ROOT);
+            if (head) {
+                // try with HTTP HEAD
+                HttpUriRequestBase headRequest = new HttpHead(uri);
+                headRequest.setHeader(HttpHeaders.ACCEPT, "*/*");
+                result = execute(headRequest, response -> response.getCode() == HttpStatus.SC_OK);
             }
 
             if (!result) {
-                LOGGER.warn("http HEAD failed for repository '" + uri.toASCIIString() + "' will proceed with GET request");
+                if (head) {
+                    LOGGER.warn("http HEAD failed for repository '" + uri.toASCIIString() + "' will proceed with GET request");
+                }
                 HttpUriRequestBase getRequest = new HttpGet(uri);
                 getRequest.setHeader(HttpHeaders.ACCEPT, "*/*");
-                try (CloseableHttpResponse response = client.execute(getRequest)) {
-                    result = response.getCode() == HttpStatus.SC_OK;
-
-                    if (!result) {
-                        final StringBuilder builder = new StringBuilder();
-                        if (response.getEntity() != null) {
-                            try (BufferedReader bReader = new BufferedReader(new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8))) {
-                                String line;
-                                while ((line = bReader.readLine()) != null) {
-                                    builder.append(line);
-                                }
+                result = execute(getRequest, response -> {
+                    if (response.getCode() == HttpStatus.SC_OK) {
+                        return true;
+                    }
+
+                    final StringBuilder builder = new StringBuilder();
+                    if (response.getEntity() != null) {
+                        try (BufferedReader bReader = new BufferedReader(new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8))) {
+                            String line;
+                            while ((line = bReader.readLine()) != null) {
+                                builder.append(line);
                             }
                         }
+                    }
 
-                        if (builder.length() == 0) {
-                            LOGGER.error(String.format("expected HTTP status 200 but got %d on check of url '%s'", response.getCode(), uri.toASCIIString()));
-                        } else {
-                            LOGGER.error(String.format(
-                                    "expected HTTP status 200 but got %d on check of url '%s', with entity: %s",
-                                    response.getCode(),
-                                    uri.toASCIIString(),
-                                    builder
-                            ));
-                        }
+                    if (builder.length() == 0) {
+                        LOGGER.error(String.format("expected HTTP status 200 but got %d on check of url '%s'", response.getCode(), uri.toASCIIString()));
+                    } else {
+                        LOGGER.error(String.format(
+                                "expected HTTP status 200 but got %d on check of url '%s', with entity: %s",
+                                response.getCode(),
+                                uri.toASCIIString(),
+                                builder
+                        ));
                     }
-                } //
+                    return false;
+                });
+                if (head && result) {
+                    capabilities.set(Capability.HEAD_ROOT, false);
+                }
+            } else if (head) {
+                capabilities.set(Capability.HEAD_ROOT, true);
             }
 
         } catch (final Exception e) {
@@ -193,20 +825,47 @@ public class RepositoryConnector {
             LOGGER.error(message);
             throw new GoMavenPollerException(message, e);
         }
+        if (result) {
+            state.setConnectionChecked();
+        }
         return result;
     }
 
+    /**
+     * Establishes pooled connections to the repository and its mirrors by {@code HEAD} requests on their base URLs,
+     * unless the connection to the repository was checked within {@link #CONNECTION_CHECK_TTL}. Failures are only logged.
+     * <br>
+     * The warm-up does not count as a connection check, any response establishes the connection but only
+     * {@link #testConnection()} decides whether the repository answers as expected.
+     */
+    void warmUp() {
+        if (RepositoryState.of(repoConfig).isConnectionChecked(CONNECTION_CHECK_TTL)) {
+            return;
+        }
+        for (final String url : repoConfig.getRepoUrlsAsStrings()) {
+            try {
+                final int code = execute(new HttpHead(url), HttpResponse::getCode);
+                LOGGER.debug("warmed up connection to " + url + ", HTTP " + code);
+            } catch (final Exception e) {
+                LOGGER.debug(String.format("could not warm up connection to %s%n%s", url, e));
+            }
+        }
+    }
+
     /**
      * Constructs and executes a snapshot version request.
      *
      * @param repoConfig the repository configuration
      * @param packageConfig the package configuration
-     * @param version the snapshot version to extend with {@link MavenVersion#setSnapshotInformation(String, String)}
+     * @param version the snapshot version to extend with {@link MavenVersion#withSnapshotInformation(String, String)}
      * @return the repository response
      */
     public RepositoryResponse makeSnapshotVersionRequest(final MavenRepoConfig repoConfig, final MavenPackageConfig packageConfig, final MavenVersion version) {
         final String url = concatUrl(repoConfig.getRepoUrlAsString(), packageConfig.getGroupId(), packageConfig.getArtifactId(), version.toString()) + "maven-metadata.xml";
         LOGGER.info("Getting version for SNAPSHOT " + url);
+        if (repoConfig.isChecksumProbe()) {
+            return doMetadataHttpRequest(url);
+        }
         return doHttpRequest(url);
     }
 
@@ -220,6 +879,9 @@ public class RepositoryConnector {
     public RepositoryResponse makeAllVersionsRequest(final MavenRepoConfig repoConfig, final MavenPackageConfig packageConfig) {
         final String url = concatUrl(repoConfig.getRepoUrlAsString(), packageConfig.getGroupId(), packageConfig.getArtifactId(), null);
         LOGGER.info("Getting versions from " + url);
+        if (repoConfig.isIncrementalMetadata() || repoConfig.isChecksumProbe()) {
+            return doMetadataHttpRequest(url);
+        }
         return doHttpRequest(url);
     }
 
@@ -1,20 +1,81 @@
 package com.oneandone.go.plugin.maven.client;
 
+import com.oneandone.go.plugin.maven.util.MavenVersion;
+import com.oneandone.go.plugin.maven.util.VersionTable;
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * Representation of a Maven repository response
  * <br>
  * This class can be extended if e.g. the MIME type should be analyzed.
+ * <br>
+ * Values parsed out of the response body are remembered, so a response that is served again from the
+ * metadata cache does not need to be parsed again.
+ * <br>
+ * Responses received from a repository keep the raw body, it is only decoded into a string on demand.
  */
 public class RepositoryResponse {
 
+    /** The raw response body or {@code null} if constructed from a string. */
+    private volatile byte[] body;
+
+    /** The response body or {@code null} if not yet decoded. */
+    private volatile String responseBody;
+
     /**
-     * The response body.
+     * The versions listed in the response body if they are already known, otherwise {@code null}.
      *
-     * @return the response body
+     * @return the versions listed in the response body or {@code null}
+     */
+    @Getter
+    @Setter(AccessLevel.PACKAGE)
+    private volatile List<String> versions;
+
+    /**
+     * The parsed versions listed in the response body if they are already known, otherwise {@code null}.
+     * Versions are immutable, so the list is shared by all polls served from this response.
+     *
+     * @return the parsed versions listed in the response body or {@code null}
+     */
+    @Getter
+    @Setter(AccessLevel.PACKAGE)
+    private volatile List<MavenVersion> parsedVersions;
+
+    /**
+     * The compact table of the versions listed in the response body if it was already built, otherwise {@code null}.
+     *
+     * @return the table of the versions listed in the response body or {@code null}
      */
-    @Getter private final String responseBody;
+    @Getter
+    @Setter(AccessLevel.PACKAGE)
+    private volatile VersionTable versionTable;
+
+    /**
+     * The hex encoded SHA-1 checksum of the raw response body if it is known, otherwise {@code null}.
+     *
+     * @return the checksum of the raw response body or {@code null}
+     */
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private volatile String checksum;
+
+    /**
+     * Flag indicating whether the response body is well-formed metadata or {@code null} if not yet known.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private volatile Boolean wellFormed;
+
+    /** The values parsed out of the response body by their XPath. */
+    private final Map<String, String> values = new ConcurrentHashMap<>();
 
     /**
      * Constructs a Maven repository response by the specified response body.
@@ -22,6 +83,73 @@ public class RepositoryResponse {
      * @param responseBody the response body
      */
     public RepositoryResponse(final String responseBody) {
+        this(responseBody, null);
+    }
+
+    /**
+     * Constructs a Maven repository response by the specified response body and the versions listed within.
+     *
+     * @param responseBody the response body
+     * @param versions the versions listed in the response body or {@code null} if unknown
+     */
+    public RepositoryResponse(final String responseBody, final List<String> versions) {
         this.responseBody = responseBody;
+        this.versions = versions;
+    }
+
+    /**
+     * Constructs a Maven repository response by the specified raw response body.
+     *
+     * @param body the raw response body, must not be modified afterwards
+     * @param versions the versions listed in the response body or {@code null} if unknown
+     */
+    public RepositoryResponse(final byte[] body, final List<String> versions) {
+        this.body = body;
+        this.versions = versions;
+    }
+
+    /**
+     * Returns the response body, decoding the raw body as UTF-8 on first access.
+     *
+     * @return the response body
+     */
+    public String getResponseBody() {
+        if (responseBody == null) {
+            responseBody = new String(body, StandardCharsets.UTF_8);
+        }
+        return responseBody;
+    }
+
+    /**
+     * Returns the raw response body, encoding the response body as UTF-8 if constructed from a string.
+     *
+     * @return the raw response body, must not be modified
+     */
+    public byte[] getBody() {
+        if (body == null) {
+            body = responseBody.getBytes(StandardCharsets.UTF_8);
+        }
+        return body;
+    }
+
+    /**
+     * Remembers a value parsed out of the response body by other means than evaluating its XPath.
+     *
+     * @param xPath the XPath of the value
+     * @param value the value
+     */
+    void putValue(final String xPath, final String value) {
+        values.putIfAbsent(xPath, value);
+    }
+
+    /**
+     * Returns the value for the specified XPath, evaluating it only if it was not evaluated before.
+     *
+     * @param xPath the XPath of the value
+     * @param evaluator evaluates the XPath on the response body, may return {@code null} on failure
+     * @return the value or {@code null} if the evaluation failed
+     */
+    String getValue(final String xPath, final Function<String, String> evaluator) {
+        return values.computeIfAbsent(xPath, evaluator);
     }
 }
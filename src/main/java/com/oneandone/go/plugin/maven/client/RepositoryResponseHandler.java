@@ -2,22 +2,23 @@ package com.oneandone.go.plugin.maven.client;
 
 import com.oneandone.go.plugin.maven.GoMavenPollerException;
 import com.oneandone.go.plugin.maven.util.DocumentBuilders;
-import com.oneandone.go.plugin.maven.util.MavenRevision;
+import com.oneandone.go.plugin.maven.util.MavenVersion;
+import com.oneandone.go.plugin.maven.util.VersionCandidates;
+import com.oneandone.go.plugin.maven.util.VersionFilter;
+import com.oneandone.go.plugin.maven.util.VersionOrdering;
+import com.oneandone.go.plugin.maven.util.VersionTable;
 import com.thoughtworks.go.plugin.api.logging.Logger;
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.StringReader;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -35,26 +36,29 @@ class RepositoryResponseHandler {
 
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
 
-    /** The repository response. */
-    private final RepositoryResponse repoResponse;
-
-    /** The document builder. */
-    private final DocumentBuilder documentBuilder;
-
-    /** The metadata document or {@code null}. */
-    private Document metaData;
-
     /** The XPath to the versions. */
-    private final XPathExpression versionsXPath;
+    private static final String VERSIONS_PATH = "/metadata/versioning/versions/version";
 
     /** The XPath to the SNAPSHOT timestamp. */
-    private final XPathExpression timestampXpath;
+    private static final String TIMESTAMP_PATH = "/metadata/versioning/snapshot/timestamp/text()";
 
     /** The XPath to the SNAPSHOT build number. */
-    private final XPathExpression buildNumberXpath;
+    private static final String BUILD_NUMBER_PATH = "/metadata/versioning/snapshot/buildNumber/text()";
 
     /** The XPath to the timestamp of the last update. */
-    private final XPathExpression lastUpdatedXpath;
+    private static final String LAST_UPDATED_PATH = "/metadata/versioning/lastUpdated/text()";
+
+    /** The factory of the XPath evaluation environments, not thread-safe itself. */
+    private static final XPathFactory XPATH_FACTORY = XPathFactory.newInstance();
+
+    /** The repository response. */
+    private final RepositoryResponse repoResponse;
+
+    /** The metadata document or {@code null}. */
+    private Document metaData;
+
+    /** The XPath evaluation environment or {@code null} if not yet needed. */
+    private XPath xPath;
 
     /**
      * Constructs a new response handler.
@@ -63,39 +67,86 @@ class RepositoryResponseHandler {
      */
     public RepositoryResponseHandler(final RepositoryResponse repoResponse) throws GoMavenPollerException {
         this.repoResponse = repoResponse;
+    }
 
-        try {
-            this.documentBuilder = DocumentBuilders.newDocumentBuilder();
-
-            final XPathFactory xPathFactory = XPathFactory.newInstance();
-            final XPath xPath = xPathFactory.newXPath();
-
-            this.versionsXPath = xPath.compile("/metadata/versioning/versions/version");
-            this.timestampXpath = xPath.compile("/metadata/versioning/snapshot/timestamp/text()");
-            this.buildNumberXpath = xPath.compile("/metadata/versioning/snapshot/buildNumber/text()");
-            this.lastUpdatedXpath = xPath.compile("/metadata/versioning/lastUpdated/text()");
-        } catch (final ParserConfigurationException | XPathExpressionException e) {
-            LOGGER.error("could not create xml parsing configuration", e);
-            throw new GoMavenPollerException("could not initialize XML handlers", e);
+    /**
+     * Returns the XPath evaluation environment of this handler, creating it on first use.
+     * <br>
+     * Most documents are handled by the {@link MetadataScanner}, so XPaths are rarely needed and compiled per handler
+     * instead of being cached per thread. Only the factory is shared, guarded as it is not thread-safe.
+     *
+     * @return the XPath evaluation environment
+     */
+    private XPath xPath() {
+        if (xPath == null) {
+            synchronized (XPATH_FACTORY) {
+                xPath = XPATH_FACTORY.newXPath();
+            }
         }
+        return xPath;
     }
 
     /**
      * Returns {@code true} if this handler can handle the repository response, otherwise {@code false}.
+     * <br>
+     * The values of plain metadata documents are extracted by the {@link MetadataScanner}, other documents are
+     * parsed by the XML parser.
      *
      * @return {@code true} if this handler can handle the repository response, otherwise {@code false}
      */
     public boolean canHandle() {
+        if (repoResponse.getWellFormed() == null) {
+            final MetadataScanner.Result result = MetadataScanner.scan(repoResponse.getBody());
+            if (result != null) {
+                if (repoResponse.getVersions() == null) {
+                    repoResponse.setVersions(result.getVersions());
+                }
+                result.getValues().forEach((path, value) -> repoResponse.putValue(path + "/text()", value));
+                repoResponse.setWellFormed(true);
+            } else {
+                LOGGER.debug("metadata not scannable, will proceed with XML parser");
+                repoResponse.setWellFormed(parse() != null);
+            }
+        }
+        return repoResponse.getWellFormed();
+    }
+
+    /**
+     * Returns the parsed metadata document, parsing it if necessary.
+     *
+     * @return the metadata document or {@code null} if the response body could not be parsed
+     */
+    private Document parse() {
         if (metaData == null) {
             try {
-                metaData = documentBuilder.parse(new InputSource(new StringReader(repoResponse.getResponseBody())));
+                metaData = DocumentBuilders.parse(new ByteArrayInputStream(repoResponse.getBody()));
             } catch (final IOException | SAXException e) {
                 LOGGER.warn("cannot handle metadata", e);
                 metaData = null;
+            } catch (final ParserConfigurationException e) {
+                LOGGER.error("could not create xml parsing configuration", e);
+                throw new GoMavenPollerException("could not initialize XML handlers", e);
             }
         }
+        return metaData;
+    }
 
-        return metaData != null;
+    /**
+     * Returns the string value of the specified XPath, evaluating it only if it was not evaluated for the response before.
+     *
+     * @param path the XPath
+     * @param what description of the value for logging
+     * @return the value or {@code null} if the evaluation failed
+     */
+    private String valueOf(final String path, final String what) {
+        return repoResponse.getValue(path, p -> {
+            try {
+                return xPath().evaluate(p, parse());
+            } catch (final XPathExpressionException e) {
+                LOGGER.error("could not get " + what, e);
+                return null;
+            }
+        });
     }
 
     /** Check whether the handler is initialized.
@@ -112,21 +163,80 @@ class RepositoryResponseHandler {
      *
      * @return all artifact versions within the metadata of the repository response
      */
-    public List<MavenRevision> getAllVersions() {
-        assureCanHandle();
-        try {
-            final NodeList nodes = (NodeList) versionsXPath.evaluate(metaData, XPathConstants.NODESET);
-            final int nodesLength = nodes.getLength();
+    public List<MavenVersion> getAllVersions() {
+        final List<String> versionStrings = getVersionStrings();
+        if (versionStrings == null) {
+            return Collections.emptyList();
+        }
+
+        List<MavenVersion> versions = repoResponse.getParsedVersions();
+        if (versions == null) {
+            versions = Collections.unmodifiableList(MavenVersion.parseAll(versionStrings));
+            repoResponse.setParsedVersions(versions);
+        }
+        return versions;
+    }
 
-            final List<MavenRevision> versions = new ArrayList<>(nodesLength);
-            for (int i = 0; i < nodesLength; i++) {
-                versions.add(new MavenRevision(nodes.item(i).getTextContent()));
+    /**
+     * Returns the versions that may be the latest version within the specified bounds accepted by the specified filter.
+     * <br>
+     * Only the candidates are parsed. Long version lists and lists with a filter are kept as a {@link VersionTable}
+     * shared by all responses with the same document, so the candidates are found by a binary search and the filter
+     * is evaluated on the columns of the table. The candidates of shorter lists without filter are selected by
+     * {@link VersionCandidates}, the other versions are ruled out by their numeric prefix; the lower bound is left
+     * to the caller for them.
+     * <br>
+     * The table and the numeric prefix follow the plugin ordering, for any other ordering of the filter all versions
+     * accepted by the filter are candidates.
+     *
+     * @param lowerBound the inclusive lower bound or {@code null}
+     * @param upperBound the exclusive upper bound or {@code null}
+     * @param filter the filter for the versions
+     * @return the candidate versions
+     */
+    public List<MavenVersion> getCandidateVersions(final MavenVersion lowerBound, final MavenVersion upperBound, final VersionFilter filter) {
+        final List<MavenVersion> parsedVersions = repoResponse.getParsedVersions();
+        if (parsedVersions != null && filter.acceptsAll()) {
+            return parsedVersions;
+        }
+        if (filter.getOrdering() != VersionOrdering.PLUGIN) {
+            final List<MavenVersion> accepted = new ArrayList<>();
+            for (final MavenVersion version : getAllVersions()) {
+                if (filter.accepts(version)) {
+                    accepted.add(version);
+                }
             }
-            return versions;
-        } catch (final XPathExpressionException e) {
-            LOGGER.error("could not get all versions by xpath", e);
+            return accepted;
+        }
+        final List<String> versionStrings = getVersionStrings();
+        if (versionStrings == null) {
             return Collections.emptyList();
         }
+        if (versionStrings.size() >= VersionTable.MIN_VERSIONS || !filter.acceptsAll()) {
+            return MavenVersion.parseAll(VersionTables.of(repoResponse, versionStrings).candidatesWithin(lowerBound, upperBound, filter));
+        }
+        return MavenVersion.parseAll(VersionCandidates.select(versionStrings, upperBound));
+    }
+
+    /** Returns the version strings of the metadata or {@code null} if they could not be evaluated. */
+    private List<String> getVersionStrings() {
+        assureCanHandle();
+        if (repoResponse.getVersions() == null) {
+            try {
+                final NodeList nodes = (NodeList) xPath().evaluate(VERSIONS_PATH, parse(), XPathConstants.NODESET);
+                final int nodesLength = nodes.getLength();
+
+                final List<String> versions = new ArrayList<>(nodesLength);
+                for (int i = 0; i < nodesLength; i++) {
+                    versions.add(nodes.item(i).getTextContent());
+                }
+                repoResponse.setVersions(Collections.unmodifiableList(versions));
+            } catch (final XPathExpressionException e) {
+                LOGGER.error("could not get all versions by xpath", e);
+                return null;
+            }
+        }
+        return repoResponse.getVersions();
     }
 
     /**
@@ -136,12 +246,7 @@ class RepositoryResponseHandler {
      */
     public String getSnapshotTimestamp() {
         assureCanHandle();
-        try {
-            return timestampXpath.evaluate(metaData, XPathConstants.STRING).toString();
-        } catch (final XPathExpressionException e) {
-            LOGGER.error("could not get timestamp value for snapshot", e);
-            return null;
-        }
+        return valueOf(TIMESTAMP_PATH, "timestamp value for snapshot");
     }
 
     /**
@@ -149,23 +254,22 @@ class RepositoryResponseHandler {
      *
      * @return the release version within the metadata of the repository response
      */
-    public MavenRevision getLatestVersionByTag(final String latestVersionTag) {
+    public MavenVersion getLatestVersionByTag(final String latestVersionTag) {
         assureCanHandle();
-        try {
-            final XPathFactory xPathFactory = XPathFactory.newInstance();
-            final XPath xPath = xPathFactory.newXPath();
-            XPathExpression latestVersionTagXPath = xPath.compile("/metadata/versioning/" + latestVersionTag + "/text()");
-
-            String version = latestVersionTagXPath.evaluate(metaData, XPathConstants.STRING).toString();
-            if(version.isEmpty()) {
+        final String path = "/metadata/versioning/" + latestVersionTag + "/text()";
+        final String version = repoResponse.getValue(path, p -> {
+            try {
+                return xPath().evaluate(p, parse());
+            } catch (final XPathExpressionException e) {
+                LOGGER.error("could not get value for latest version tag: <" + latestVersionTag + "> by xpath", e);
                 return null;
             }
-            else {
-                return new MavenRevision(version);
-            }
-        } catch (final XPathExpressionException e) {
-            LOGGER.error("could not get value for latest version tag: <" + latestVersionTag + "> by xpath", e);
+        });
+
+        if (version == null || version.isEmpty()) {
             return null;
+        } else {
+            return new MavenVersion(version);
         }
     }
 
@@ -176,12 +280,7 @@ class RepositoryResponseHandler {
      */
     public String getSnapshotBuildNumber() {
         assureCanHandle();
-        try {
-            return buildNumberXpath.evaluate(metaData, XPathConstants.STRING).toString();
-        } catch (final XPathExpressionException e) {
-            LOGGER.error("could not get build number value for snapshot", e);
-            return null;
-        }
+        return valueOf(BUILD_NUMBER_PATH, "build number value for snapshot");
     }
 
     /**
@@ -192,17 +291,13 @@ class RepositoryResponseHandler {
      */
     public Optional<ZonedDateTime> getLastUpdated(final ZoneId timeZone) {
         assureCanHandle();
-        try {
-            final String timestamp = lastUpdatedXpath.evaluate(metaData, XPathConstants.STRING).toString();
-            if (timestamp.matches("[0-9]{14}")) {
-                LOGGER.info("lastUpdated set to '" + timestamp + "'");
-                final LocalDateTime localDateTime = LocalDateTime.parse(timestamp, DATE_FORMAT);
-                return Optional.of(ZonedDateTime.of(localDateTime, timeZone));
-            } else {
-                LOGGER.warn("lastUpdated '" + timestamp + "' does not match the expected date pattern '" + DATE_FORMAT + "'");
-            }
-        } catch (final XPathExpressionException e) {
-            LOGGER.error("could not get last update value for snapshot", e);
+        final String timestamp = valueOf(LAST_UPDATED_PATH, "last update value for snapshot");
+        if (timestamp != null && timestamp.matches("[0-9]{14}")) {
+            LOGGER.info("lastUpdated set to '" + timestamp + "'");
+            final LocalDateTime localDateTime = LocalDateTime.parse(timestamp, DATE_FORMAT);
+            return Optional.of(ZonedDateTime.of(localDateTime, timeZone));
+        } else if (timestamp != null) {
+            LOGGER.warn("lastUpdated '" + timestamp + "' does not match the expected date pattern '" + DATE_FORMAT + "'");
         }
         return Optional.empty();
     }
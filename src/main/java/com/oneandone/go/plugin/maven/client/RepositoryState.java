@@ -0,0 +1,210 @@
+package com.oneandone.go.plugin.maven.client;
+
+import com.oneandone.go.plugin.maven.config.MavenRepoConfig;
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import lombok.Getter;
+import org.apache.hc.client5.http.auth.AuthCache;
+import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
+import org.apache.hc.client5.http.impl.auth.BasicAuthCache;
+import org.apache.hc.client5.http.impl.auth.BasicScheme;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.io.CloseMode;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The state kept per repository across all polls.
+ * <br>
+ * Repositories are identified by their URL and user name, materials of the same repository with different users
+ * thus have separate states. When the parts of the configuration affecting connections change, i.e. the mirror URLs,
+ * the password, the timeouts or the connection limit, the HTTP client, the authentication cache, the connection check
+ * and the cached metadata of the superseded configuration are dropped. The superseded client is closed once the polls
+ * still using it have reached their deadline.
+ */
+class RepositoryState {
+
+    /** The logging instance for this class. */
+    private static final Logger LOGGER = Logger.getLoggerFor(RepositoryState.class);
+
+    /** The states by repository URL and user name. */
+    private static final Map<List<String>, RepositoryState> STATES = new ConcurrentHashMap<>();
+
+    /**
+     * The retry budget of the repository.
+     *
+     * @return the retry budget of the repository
+     */
+    @Getter private final RetryBudget retryBudget = new RetryBudget();
+
+    /** The circuit breakers by repository location, i.e. the repository URL and the URLs of its mirrors. */
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    /**
+     * The latencies of the metadata requests to the repository.
+     *
+     * @return the latencies of the metadata requests to the repository
+     */
+    @Getter private final LatencyTracker latencyTracker = new LatencyTracker();
+
+    /**
+     * The selector ordering the repository URL and its mirrors.
+     *
+     * @return the selector ordering the repository URL and its mirrors
+     */
+    @Getter private final MirrorSelector mirrorSelector = new MirrorSelector();
+
+    /**
+     * The metadata documents fetched from the repository with the credentials of this state.
+     *
+     * @return the metadata documents fetched from the repository
+     */
+    @Getter private final MetadataCache metadataCache = new MetadataCache();
+
+    /** The capabilities by repository location, i.e. the repository URL and the URLs of its mirrors. */
+    private final Map<String, RepositoryCapabilities> capabilities = new ConcurrentHashMap<>();
+
+    /** The parts of the configuration affecting connections the state was last used with or {@code null}. */
+    private List<Object> configuration;
+
+    /** The poll timeout of the configuration the state was last used with or {@code null}. */
+    private Duration pollTimeout;
+
+    /** The authentication cache enabling preemptive basic authentication or {@code null}. */
+    private AuthCache authCache;
+
+    /** The pooled HTTP client of the repository or {@code null}. */
+    private CloseableHttpClient httpClient;
+
+    /** The time of the last successful connection check in nanoseconds or {@code null}. */
+    private Long connectionCheckedAt;
+
+    /**
+     * Returns the state of the specified repository.
+     *
+     * @param repoConfig the repository configuration
+     * @return the state of the repository
+     */
+    static RepositoryState of(final MavenRepoConfig repoConfig) {
+        final RepositoryState state = STATES.computeIfAbsent(Arrays.asList(repoConfig.getRepoUrlAsString(), repoConfig.getUsername()), identity -> new RepositoryState());
+        state.configure(repoConfig);
+        return state;
+    }
+
+    /**
+     * Adopts the specified configuration of the repository. If the parts affecting connections changed, everything
+     * depending on them is dropped and the HTTP client is closed after the longer of both poll timeouts, by then all
+     * requests made with it have completed or have been aborted at their poll deadline.
+     *
+     * @param repoConfig the repository configuration
+     */
+    private synchronized void configure(final MavenRepoConfig repoConfig) {
+        final List<Object> newConfiguration = configurationOf(repoConfig);
+        if (newConfiguration.equals(configuration)) {
+            return;
+        }
+        final Duration closeAfter = pollTimeout == null || repoConfig.getPollTimeout().compareTo(pollTimeout) > 0 ? repoConfig.getPollTimeout() : pollTimeout;
+        if (configuration != null) {
+            LOGGER.info("configuration of repository " + repoConfig.getRepoUrlAsString() + " changed");
+        }
+        configuration = newConfiguration;
+        pollTimeout = repoConfig.getPollTimeout();
+        authCache = null;
+        connectionCheckedAt = null;
+        metadataCache.clear();
+        if (httpClient != null) {
+            final CloseableHttpClient superseded = httpClient;
+            httpClient = null;
+            new PollDeadline(closeAfter).onExpiry(() -> superseded.close(CloseMode.GRACEFUL));
+        }
+    }
+
+    /**
+     * Returns the circuit breaker of the specified location of the repository.
+     *
+     * @param location the repository URL or the URL of one of its mirrors
+     * @return the circuit breaker of the location
+     */
+    CircuitBreaker getCircuitBreaker(final String location) {
+        return circuitBreakers.computeIfAbsent(location, key -> new CircuitBreaker());
+    }
+
+    /**
+     * Returns the capabilities the specified location of the repository was observed to support.
+     *
+     * @param location the repository URL or the URL of one of its mirrors
+     * @return the capabilities of the location
+     */
+    RepositoryCapabilities getCapabilities(final String location) {
+        return capabilities.computeIfAbsent(location, key -> new RepositoryCapabilities());
+    }
+
+    /**
+     * Returns the authentication cache with the basic authentication scheme for the repository and mirror hosts
+     * initialized with the configured credentials, so that requests do not need to wait for a {@code 401} challenge.
+     *
+     * @param repoConfig the repository configuration with credentials
+     * @return the authentication cache
+     */
+    synchronized AuthCache getAuthCache(final MavenRepoConfig repoConfig) {
+        configure(repoConfig);
+        if (authCache == null) {
+            final BasicScheme basicScheme = new BasicScheme();
+            basicScheme.initPreemptive(new UsernamePasswordCredentials(repoConfig.getUsername(), repoConfig.getPassword().toCharArray()));
+
+            authCache = new BasicAuthCache();
+            for (final String url : repoConfig.getRepoUrlsAsStrings()) {
+                final URI uri = URI.create(url);
+                authCache.put(new HttpHost(uri.getScheme(), uri.getHost(), uri.getPort()), basicScheme);
+            }
+        }
+        return authCache;
+    }
+
+    /**
+     * Returns the pooled HTTP client of the repository, creating it if there is none yet for the specified configuration.
+     *
+     * @param repoConfig the repository configuration
+     * @param factory creates a new HTTP client by the repository configuration
+     * @return the pooled HTTP client of the repository
+     */
+    synchronized CloseableHttpClient getHttpClient(final MavenRepoConfig repoConfig, final Supplier<CloseableHttpClient> factory) {
+        configure(repoConfig);
+        if (httpClient == null) {
+            httpClient = factory.get();
+        }
+        return httpClient;
+    }
+
+    /**
+     * Returns {@code true} if the connection to the repository was successfully checked within the specified
+     * duration, otherwise {@code false}.
+     *
+     * @param ttl the duration a successful connection check is valid
+     * @return {@code true} if the connection was checked recently, otherwise {@code false}
+     */
+    synchronized boolean isConnectionChecked(final Duration ttl) {
+        return connectionCheckedAt != null && System.nanoTime() - connectionCheckedAt < ttl.toNanos();
+    }
+
+    /** Remembers a successful connection check. */
+    synchronized void setConnectionChecked() {
+        connectionCheckedAt = System.nanoTime();
+    }
+
+    /** Returns the parts of the repository configuration affecting the HTTP client and the authentication cache. */
+    private static List<Object> configurationOf(final MavenRepoConfig repoConfig) {
+        return Arrays.asList(
+                repoConfig.getRepoUrlsAsStrings(),
+                repoConfig.getPassword(),
+                repoConfig.getConnectTimeout(),
+                repoConfig.getResponseTimeout(),
+                repoConfig.getMaxConcurrentRequests());
+    }
+}
@@ -0,0 +1,100 @@
+package com.oneandone.go.plugin.maven.client;
+
+import com.oneandone.go.plugin.maven.config.MavenRepoConfig;
+import com.oneandone.go.plugin.maven.message.PackageRevisionMessage;
+import com.oneandone.go.plugin.maven.util.JsonUtil;
+import com.oneandone.go.plugin.maven.util.MavenRevision;
+import com.oneandone.go.plugin.maven.util.MavenVersion;
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Warms up the plugin in the background, so that the first poll after a restart of the GoCD server does not pay
+ * for class loading and connection establishment.
+ */
+public final class RepositoryWarmUp {
+
+    /** The logging instance for this class. */
+    private static final Logger LOGGER = Logger.getLoggerFor(RepositoryWarmUp.class);
+
+    /** A metadata document exercising all parsed elements. */
+    private static final String SAMPLE_METADATA =
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<metadata>\n" +
+            "  <groupId>com.example</groupId>\n" +
+            "  <artifactId>example</artifactId>\n" +
+            "  <versioning>\n" +
+            "    <latest>1.1.0-SNAPSHOT</latest>\n" +
+            "    <versions>\n" +
+            "      <version>1.0.0</version>\n" +
+            "      <version>1.0.1-beta-1</version>\n" +
+            "      <version>1.1.0-SNAPSHOT</version>\n" +
+            "    </versions>\n" +
+            "    <snapshot>\n" +
+            "      <timestamp>20200101.120000</timestamp>\n" +
+            "      <buildNumber>1</buildNumber>\n" +
+            "    </snapshot>\n" +
+            "    <lastUpdated>20200101120000</lastUpdated>\n" +
+            "  </versioning>\n" +
+            "</metadata>\n";
+
+    /** Flag indicating whether the code paths were already warmed up. */
+    private static final AtomicBoolean CODE_PATHS_WARMED_UP = new AtomicBoolean();
+
+    private RepositoryWarmUp() {
+    }
+
+    /**
+     * Exercises the HTTP client, metadata parsing, version comparison and JSON serialization once in the background.
+     * Subsequent calls do nothing.
+     */
+    public static void warmUpCodePaths() {
+        if (CODE_PATHS_WARMED_UP.compareAndSet(false, true)) {
+            IoExecutor.INSTANCE.execute(RepositoryWarmUp::exerciseCodePaths);
+        }
+    }
+
+    /**
+     * Establishes pooled connections to the specified repository and its mirrors in the background.
+     *
+     * @param repoConfig the valid repository configuration
+     */
+    public static void warmUpConnections(final MavenRepoConfig repoConfig) {
+        IoExecutor.INSTANCE.submit(IoExecutor.onIoThread(() -> {
+            new RepositoryConnector(repoConfig).warmUp();
+            return null;
+        }));
+    }
+
+    /**
+     * Runs the code paths of a poll on the sample metadata.
+     *
+     * @return {@code true} if all code paths completed, otherwise {@code false}
+     */
+    static boolean exerciseCodePaths() {
+        final long start = System.nanoTime();
+        try {
+            HttpClients.createMinimal().close();
+
+            final RepositoryResponseHandler handler = new RepositoryResponseHandler(new RepositoryResponse(SAMPLE_METADATA));
+            if (!handler.canHandle()) {
+                return false;
+            }
+            final List<MavenVersion> versions = handler.getAllVersions();
+            final MavenRevision latest = new MavenRevision(Collections.max(versions).withSnapshotInformation(handler.getSnapshotTimestamp(), handler.getSnapshotBuildNumber()));
+            handler.getLatestVersionByTag("latest");
+            handler.getLastUpdated(ZoneOffset.UTC).ifPresent(latest::setLastModified);
+            JsonUtil.fromJsonString(JsonUtil.toJsonString(latest.toPackageRevision()), PackageRevisionMessage.class);
+            LOGGER.debug("warmed up code paths in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return true;
+        } catch (final Exception e) {
+            LOGGER.warn("could not warm up code paths", e);
+            return false;
+        }
+    }
+}
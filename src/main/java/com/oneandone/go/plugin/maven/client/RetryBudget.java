@@ -0,0 +1,38 @@
+package com.oneandone.go.plugin.maven.client;
+
+/**
+ * Limits the retries of a repository to a fraction of its requests.
+ * <br>
+ * Every request deposits a credit, every retry withdraws {@link #CREDITS_PER_RETRY} credits, so at most one
+ * in {@link #CREDITS_PER_RETRY} requests can be retried. The number of credits is bounded, so retries cannot
+ * amplify the load on a repository that is failing for all requests.
+ */
+class RetryBudget {
+
+    /** The number of credits a retry costs. */
+    static final int CREDITS_PER_RETRY = 10;
+
+    /** The maximum number of retries that can be saved up, also the number of retries initially available. */
+    static final int MAX_RETRIES = 10;
+
+    /** The available credits. */
+    private int credits = MAX_RETRIES * CREDITS_PER_RETRY;
+
+    /** Records a request. */
+    synchronized void onRequest() {
+        credits = Math.min(MAX_RETRIES * CREDITS_PER_RETRY, credits + 1);
+    }
+
+    /**
+     * Withdraws the credits for a retry.
+     *
+     * @return {@code true} if the retry is within the budget, otherwise {@code false}
+     */
+    synchronized boolean tryRetry() {
+        if (credits < CREDITS_PER_RETRY) {
+            return false;
+        }
+        credits -= CREDITS_PER_RETRY;
+        return true;
+    }
+}
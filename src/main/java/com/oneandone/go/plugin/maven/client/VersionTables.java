@@ -0,0 +1,57 @@
+package com.oneandone.go.plugin.maven.client;
+
+import com.oneandone.go.plugin.maven.util.VersionTable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares the {@link VersionTable}s of metadata documents between polls.
+ * <br>
+ * Tables are identified by the checksum of the document they were built from, so all materials polling the same
+ * artifact query one table, whatever version bounds they use, and an unchanged document fetched again does not
+ * need a new table.
+ */
+final class VersionTables {
+
+    /** The maximum number of shared tables. */
+    private static final int MAX_ENTRIES = 64;
+
+    /** The shared tables by document checksum, least recently used first. */
+    private static final Map<String, VersionTable> TABLES = Collections.synchronizedMap(new LinkedHashMap<String, VersionTable>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, VersionTable> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    });
+
+    private VersionTables() {
+    }
+
+    /**
+     * Returns the table for the versions of the specified response, building it only if it is neither kept with the
+     * response nor shared by another response with the same document.
+     *
+     * @param response the response
+     * @param versions the versions listed in the response body
+     * @return the table of the versions
+     */
+    static VersionTable of(final RepositoryResponse response, final List<String> versions) {
+        VersionTable table = response.getVersionTable();
+        if (table != null) {
+            return table;
+        }
+        final String checksum = response.getChecksum();
+        table = checksum != null ? TABLES.get(checksum) : null;
+        if (table == null || table.size() != versions.size()) {
+            table = VersionTable.of(versions);
+            if (checksum != null) {
+                TABLES.put(checksum, table);
+            }
+        }
+        response.setVersionTable(table);
+        return table;
+    }
+}
@@ -32,6 +32,45 @@ public class ConfigurationProperties {
     /** The property key for the latest version tag to poll. */
     public static final String REPOSITORY_CONFIGURATION_KEY_LATEST_VERSION_TAG = "LATEST_VERSION_TAG";
 
+    /** The property key for the flag enabling incremental fetching of the metadata. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_INCREMENTAL_METADATA = "INCREMENTAL_METADATA";
+
+    /** The property key for the flag enabling the checksum probe before fetching the metadata. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_CHECKSUM_PROBE = "CHECKSUM_PROBE";
+
+    /** The property key for the connect timeout in seconds. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_CONNECT_TIMEOUT = "CONNECT_TIMEOUT";
+
+    /** The property key for the response timeout in seconds. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_RESPONSE_TIMEOUT = "RESPONSE_TIMEOUT";
+
+    /** The property key for the timeout in seconds to wait for a connection from the pool. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_CONNECTION_REQUEST_TIMEOUT = "CONNECTION_REQUEST_TIMEOUT";
+
+    /** The property key for the maximum duration of a poll in seconds. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_POLL_TIMEOUT = "POLL_TIMEOUT";
+
+    /** The property key for the failure percentage opening the circuit breaker. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_FAILURE_RATIO = "CIRCUIT_BREAKER_FAILURE_RATIO";
+
+    /** The property key for the time in seconds an open circuit breaker fails fast. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_COOL_DOWN = "CIRCUIT_BREAKER_COOL_DOWN";
+
+    /** The property key for the maximum number of concurrent requests to the repository host. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_MAX_CONCURRENT_REQUESTS = "MAX_CONCURRENT_REQUESTS";
+
+    /** The property key for the maximum number of requests per second to the repository host. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_RATE_LIMIT = "RATE_LIMIT";
+
+    /** The property key for the flag enabling hedged metadata requests. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_HEDGE_REQUESTS = "HEDGE_REQUESTS";
+
+    /** The property key for the mirror URLs of the repository. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_MIRROR_URLS = "MIRROR_URLS";
+
+    /** The property key for running requests on threads of the plugin. */
+    public static final String REPOSITORY_CONFIGURATION_KEY_PLUGIN_THREADS = "PLUGIN_THREADS";
+
     /** The property key for the group id. */
     public static final String PACKAGE_CONFIGURATION_KEY_GROUP_ID = "GROUP_ID";
 
@@ -47,6 +86,24 @@ public class ConfigurationProperties {
     /** The property key for the version to poll to (exclusive). */
     public static final String PACKAGE_CONFIGURATION_KEY_POLL_VERSION_TO = "POLL_VERSION_TO";
 
+    /** The property key for the Maven version range to poll. */
+    public static final String PACKAGE_CONFIGURATION_KEY_VERSION_RANGE = "VERSION_RANGE";
+
+    /** The property key for the qualifiers to poll. */
+    public static final String PACKAGE_CONFIGURATION_KEY_INCLUDE_QUALIFIERS = "INCLUDE_QUALIFIERS";
+
+    /** The property key for the qualifiers to ignore. */
+    public static final String PACKAGE_CONFIGURATION_KEY_EXCLUDE_QUALIFIERS = "EXCLUDE_QUALIFIERS";
+
+    /** The property key for the flag enabling polling for snapshot versions. */
+    public static final String PACKAGE_CONFIGURATION_KEY_POLL_SNAPSHOTS = "POLL_SNAPSHOTS";
+
+    /** The property key for the flag enabling polling for release versions. */
+    public static final String PACKAGE_CONFIGURATION_KEY_POLL_RELEASES = "POLL_RELEASES";
+
+    /** The property key for the ordering of the versions. */
+    public static final String PACKAGE_CONFIGURATION_KEY_VERSION_ORDERING = "VERSION_ORDERING";
+
     /**
      * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_REPO_URL}.
      *
@@ -97,6 +154,123 @@ public class ConfigurationProperties {
         return new PackageMaterialProperty().withDisplayName("Latest version Tag").withDisplayOrder(4);
     }
 
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_INCREMENTAL_METADATA}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_INCREMENTAL_METADATA}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyIncrementalMetadata() {
+        return new PackageMaterialProperty().withDisplayName("Fetch metadata incrementally (true/false)").withDefaultValue("false").withDisplayOrder(5);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_CHECKSUM_PROBE}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_CHECKSUM_PROBE}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyChecksumProbe() {
+        return new PackageMaterialProperty().withDisplayName("Check metadata .sha1 before download (true/false)").withDefaultValue("false").withDisplayOrder(6);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_CONNECT_TIMEOUT}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_CONNECT_TIMEOUT}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyConnectTimeout() {
+        return new PackageMaterialProperty().withDisplayName("Connect timeout (seconds)").withDefaultValue("10").withDisplayOrder(7);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_RESPONSE_TIMEOUT}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_RESPONSE_TIMEOUT}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyResponseTimeout() {
+        return new PackageMaterialProperty().withDisplayName("Response timeout (seconds)").withDefaultValue("30").withDisplayOrder(8);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_CONNECTION_REQUEST_TIMEOUT}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_CONNECTION_REQUEST_TIMEOUT}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyConnectionRequestTimeout() {
+        return new PackageMaterialProperty().withDisplayName("Connection request timeout (seconds)").withDefaultValue("10").withDisplayOrder(9);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_POLL_TIMEOUT}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_POLL_TIMEOUT}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyPollTimeout() {
+        return new PackageMaterialProperty().withDisplayName("Maximum poll duration (seconds)").withDefaultValue("60").withDisplayOrder(10);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_FAILURE_RATIO}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_FAILURE_RATIO}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyCircuitBreakerFailureRatio() {
+        return new PackageMaterialProperty().withDisplayName("Circuit breaker failure ratio (percent)").withDefaultValue("50").withDisplayOrder(11);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_COOL_DOWN}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_COOL_DOWN}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyCircuitBreakerCoolDown() {
+        return new PackageMaterialProperty().withDisplayName("Circuit breaker cool-down (seconds)").withDefaultValue("30").withDisplayOrder(12);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_MAX_CONCURRENT_REQUESTS}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_MAX_CONCURRENT_REQUESTS}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyMaxConcurrentRequests() {
+        return new PackageMaterialProperty().withDisplayName("Maximum concurrent requests per host").withDefaultValue("10").withDisplayOrder(13);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_RATE_LIMIT}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_RATE_LIMIT}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyRateLimit() {
+        return new PackageMaterialProperty().withDisplayName("Maximum requests per second per host (empty for unlimited)").withDisplayOrder(14);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_HEDGE_REQUESTS}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_HEDGE_REQUESTS}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyHedgeRequests() {
+        return new PackageMaterialProperty().withDisplayName("Send hedged metadata requests (true/false)").withDefaultValue("false").withDisplayOrder(15);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_MIRROR_URLS}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_MIRROR_URLS}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyMirrorUrls() {
+        return new PackageMaterialProperty().withDisplayName("Mirror URLs (comma separated)").withDisplayOrder(16);
+    }
+
+    /**
+     * Returns the material property for {@link #REPOSITORY_CONFIGURATION_KEY_PLUGIN_THREADS}.
+     *
+     * @return the material property for {@link #REPOSITORY_CONFIGURATION_KEY_PLUGIN_THREADS}
+     */
+    public static PackageMaterialProperty getRepositoryConfigurationPropertyPluginThreads() {
+        return new PackageMaterialProperty().withDisplayName("Run requests on plugin threads (true/false)").withDefaultValue("false").withDisplayOrder(17);
+    }
+
     /**
      * Returns the material property for {@link #PACKAGE_CONFIGURATION_KEY_GROUP_ID}.
      *
@@ -142,6 +316,60 @@ public class ConfigurationProperties {
         return new PackageMaterialProperty().withDisplayName("Version to poll <").withDisplayOrder(4).withPartOfIdentity(true);
     }
 
+    /**
+     * Returns the material property for {@link #PACKAGE_CONFIGURATION_KEY_VERSION_RANGE}.
+     *
+     * @return the material property for {@link #PACKAGE_CONFIGURATION_KEY_VERSION_RANGE}
+     */
+    public static PackageMaterialProperty getPackageConfigurationPropertyVersionRange() {
+        return new PackageMaterialProperty().withDisplayName("Version range (e.g. [1.0,2.0))").withDisplayOrder(5).withPartOfIdentity(true);
+    }
+
+    /**
+     * Returns the material property for {@link #PACKAGE_CONFIGURATION_KEY_INCLUDE_QUALIFIERS}.
+     *
+     * @return the material property for {@link #PACKAGE_CONFIGURATION_KEY_INCLUDE_QUALIFIERS}
+     */
+    public static PackageMaterialProperty getPackageConfigurationPropertyIncludeQualifiers() {
+        return new PackageMaterialProperty().withDisplayName("Qualifiers to poll (e.g. RC*,beta*)").withDisplayOrder(6).withPartOfIdentity(true);
+    }
+
+    /**
+     * Returns the material property for {@link #PACKAGE_CONFIGURATION_KEY_EXCLUDE_QUALIFIERS}.
+     *
+     * @return the material property for {@link #PACKAGE_CONFIGURATION_KEY_EXCLUDE_QUALIFIERS}
+     */
+    public static PackageMaterialProperty getPackageConfigurationPropertyExcludeQualifiers() {
+        return new PackageMaterialProperty().withDisplayName("Qualifiers to ignore").withDisplayOrder(7).withPartOfIdentity(true);
+    }
+
+    /**
+     * Returns the material property for {@link #PACKAGE_CONFIGURATION_KEY_POLL_SNAPSHOTS}.
+     *
+     * @return the material property for {@link #PACKAGE_CONFIGURATION_KEY_POLL_SNAPSHOTS}
+     */
+    public static PackageMaterialProperty getPackageConfigurationPropertyPollSnapshots() {
+        return new PackageMaterialProperty().withDisplayName("Poll snapshots (true/false)").withDefaultValue("true").withDisplayOrder(8).withPartOfIdentity(true);
+    }
+
+    /**
+     * Returns the material property for {@link #PACKAGE_CONFIGURATION_KEY_POLL_RELEASES}.
+     *
+     * @return the material property for {@link #PACKAGE_CONFIGURATION_KEY_POLL_RELEASES}
+     */
+    public static PackageMaterialProperty getPackageConfigurationPropertyPollReleases() {
+        return new PackageMaterialProperty().withDisplayName("Poll releases (true/false)").withDefaultValue("true").withDisplayOrder(9).withPartOfIdentity(true);
+    }
+
+    /**
+     * Returns the material property for {@link #PACKAGE_CONFIGURATION_KEY_VERSION_ORDERING}.
+     *
+     * @return the material property for {@link #PACKAGE_CONFIGURATION_KEY_VERSION_ORDERING}
+     */
+    public static PackageMaterialProperty getPackageConfigurationPropertyVersionOrdering() {
+        return new PackageMaterialProperty().withDisplayName("Version ordering (plugin or maven)").withDefaultValue("plugin").withDisplayOrder(10).withPartOfIdentity(true);
+    }
+
     /**
      * Detects if all keys of the specified configuration are defined in {@code validKeys} and otherwise adds a validation error to {@code errors}.
      *
@@ -21,6 +21,19 @@ public class ConfigurationProvider {
         repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_PROXY, getRepositoryConfigurationPropertyProxy());
         repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_TIME_ZONE, getRepositoryConfigurationTimeZone());
         repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_LATEST_VERSION_TAG, getRepositoryConfigurationPropertyLatestVersionTag());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_INCREMENTAL_METADATA, getRepositoryConfigurationPropertyIncrementalMetadata());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_CHECKSUM_PROBE, getRepositoryConfigurationPropertyChecksumProbe());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_CONNECT_TIMEOUT, getRepositoryConfigurationPropertyConnectTimeout());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_RESPONSE_TIMEOUT, getRepositoryConfigurationPropertyResponseTimeout());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_CONNECTION_REQUEST_TIMEOUT, getRepositoryConfigurationPropertyConnectionRequestTimeout());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_POLL_TIMEOUT, getRepositoryConfigurationPropertyPollTimeout());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_FAILURE_RATIO, getRepositoryConfigurationPropertyCircuitBreakerFailureRatio());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_COOL_DOWN, getRepositoryConfigurationPropertyCircuitBreakerCoolDown());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_MAX_CONCURRENT_REQUESTS, getRepositoryConfigurationPropertyMaxConcurrentRequests());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_RATE_LIMIT, getRepositoryConfigurationPropertyRateLimit());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_HEDGE_REQUESTS, getRepositoryConfigurationPropertyHedgeRequests());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_MIRROR_URLS, getRepositoryConfigurationPropertyMirrorUrls());
+        repoConfig.addPackageMaterialProperty(REPOSITORY_CONFIGURATION_KEY_PLUGIN_THREADS, getRepositoryConfigurationPropertyPluginThreads());
         return repoConfig;
     }
 
@@ -36,6 +49,12 @@ public class ConfigurationProvider {
         packageConfig.addPackageMaterialProperty(PACKAGE_CONFIGURATION_KEY_PACKAGING, getPackageConfigurationPropertyPackaging());
         packageConfig.addPackageMaterialProperty(PACKAGE_CONFIGURATION_KEY_POLL_VERSION_FROM, getPackageConfigurationPropertyPollVersionFrom());
         packageConfig.addPackageMaterialProperty(PACKAGE_CONFIGURATION_KEY_POLL_VERSION_TO, getPackageConfigurationPropertyPollVersionTo());
+        packageConfig.addPackageMaterialProperty(PACKAGE_CONFIGURATION_KEY_VERSION_RANGE, getPackageConfigurationPropertyVersionRange());
+        packageConfig.addPackageMaterialProperty(PACKAGE_CONFIGURATION_KEY_INCLUDE_QUALIFIERS, getPackageConfigurationPropertyIncludeQualifiers());
+        packageConfig.addPackageMaterialProperty(PACKAGE_CONFIGURATION_KEY_EXCLUDE_QUALIFIERS, getPackageConfigurationPropertyExcludeQualifiers());
+        packageConfig.addPackageMaterialProperty(PACKAGE_CONFIGURATION_KEY_POLL_SNAPSHOTS, getPackageConfigurationPropertyPollSnapshots());
+        packageConfig.addPackageMaterialProperty(PACKAGE_CONFIGURATION_KEY_POLL_RELEASES, getPackageConfigurationPropertyPollReleases());
+        packageConfig.addPackageMaterialProperty(PACKAGE_CONFIGURATION_KEY_VERSION_ORDERING, getPackageConfigurationPropertyVersionOrdering());
         return  packageConfig;
     }
 
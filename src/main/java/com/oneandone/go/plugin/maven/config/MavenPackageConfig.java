@@ -1,10 +1,13 @@
 package com.oneandone.go.plugin.maven.config;
 
+import com.oneandone.go.plugin.maven.GoMavenPollerException;
 import com.oneandone.go.plugin.maven.message.PackageMaterialProperties;
 import com.oneandone.go.plugin.maven.message.PackageRevisionMessage;
 import com.oneandone.go.plugin.maven.message.ValidationError;
 import com.oneandone.go.plugin.maven.message.ValidationResultMessage;
 import com.oneandone.go.plugin.maven.util.MavenVersion;
+import com.oneandone.go.plugin.maven.util.VersionFilter;
+import com.oneandone.go.plugin.maven.util.VersionOrdering;
 import com.thoughtworks.go.plugin.api.logging.Logger;
 import lombok.Getter;
 
@@ -47,6 +50,25 @@ public class MavenPackageConfig {
      */
     @Getter private final MavenVersion upperBound;
 
+    /**
+     * The ordering the latest version is determined by.
+     *
+     * @return the ordering of the versions
+     */
+    @Getter private final VersionOrdering versionOrdering;
+
+    /** The reason the version ordering is unknown or {@code null}. */
+    private final String versionOrderingError;
+
+    /** The filter for the versions to poll or {@code null} if the configuration is invalid. */
+    private final VersionFilter versionFilter;
+
+    /** The reason the version filter could not be compiled or {@code null}. */
+    private final String versionFilterError;
+
+    /** The configuration key the {@link #versionFilterError} belongs to or {@code null}. */
+    private final String versionFilterErrorKey;
+
     /**
      * The artifact packaging type.
      *
@@ -84,6 +106,39 @@ public class MavenPackageConfig {
                 .map(MavenVersion::new)
                 .orElse(null);
 
+        VersionOrdering ordering = VersionOrdering.PLUGIN;
+        String orderingError = null;
+        try {
+            ordering = packageConfig.getValue(ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_VERSION_ORDERING).map(VersionOrdering::of).orElse(VersionOrdering.PLUGIN);
+        } catch (final IllegalArgumentException ex) {
+            orderingError = ex.getMessage();
+        }
+        this.versionOrdering = ordering;
+        this.versionOrderingError = orderingError;
+
+        VersionFilter filter = null;
+        String filterError = null;
+        String filterErrorKey = ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_VERSION_RANGE;
+        try {
+            filterErrorKey = ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_POLL_SNAPSHOTS;
+            final boolean pollSnapshots = flag(packageConfig, filterErrorKey, "Poll snapshots");
+            filterErrorKey = ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_POLL_RELEASES;
+            final boolean pollReleases = flag(packageConfig, filterErrorKey, "Poll releases");
+            filterErrorKey = ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_VERSION_RANGE;
+            filter = VersionFilter.of(
+                    packageConfig.getValue(ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_VERSION_RANGE).orElse(null),
+                    packageConfig.getValue(ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_INCLUDE_QUALIFIERS).orElse(null),
+                    packageConfig.getValue(ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_EXCLUDE_QUALIFIERS).orElse(null),
+                    pollSnapshots,
+                    pollReleases,
+                    ordering);
+        } catch (final IllegalArgumentException ex) {
+            filterError = ex.getMessage();
+        }
+        this.versionFilter = filter;
+        this.versionFilterError = filterError;
+        this.versionFilterErrorKey = filterError != null ? filterErrorKey : null;
+
         this.lastKnownVersion = packageRevision != null ? packageRevision.getRevision() : null;
     }
 
@@ -107,6 +162,20 @@ public class MavenPackageConfig {
         return upperBound != null;
     }
 
+    /**
+     * Returns the filter for the versions to poll compiled from the version range, the qualifiers and the snapshot
+     * and release flags.
+     *
+     * @return the filter for the versions to poll
+     * @throws GoMavenPollerException if the configuration of the filter is invalid
+     */
+    public VersionFilter getVersionFilter() {
+        if (versionFilter == null) {
+            throw new GoMavenPollerException(versionFilterError);
+        }
+        return versionFilter;
+    }
+
     /**
      * Returns {@code true} if the last version is not {@code null}, otherwise {@code false}.
      *
@@ -138,6 +207,23 @@ public class MavenPackageConfig {
         }
     }
 
+    /**
+     * Parses a boolean flag of the package configuration, {@code true} if it is not set.
+     *
+     * @param packageConfig the package configuration
+     * @param key the configuration key of the flag
+     * @param name the display name of the flag
+     * @return the value of the flag
+     * @throws IllegalArgumentException if the value is neither {@code true} nor {@code false}
+     */
+    private static boolean flag(final PackageMaterialProperties packageConfig, final String key, final String name) {
+        final String value = packageConfig.getValue(key).map(String::trim).orElse("true");
+        if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+            throw new IllegalArgumentException("invalid value " + value + " for " + name + ", expected true or false");
+        }
+        return Boolean.parseBoolean(value);
+    }
+
     /**
      * Validates the package configuration and returns the validation result.
      *
@@ -170,16 +256,30 @@ public class MavenPackageConfig {
             }
         }
 
-        if (upperBoundSpecified && lowerBoundSpecified && new MavenVersion(lowerBoundConfig.get()).greaterOrEqual(new MavenVersion(upperBoundConfig.get()))) {
+        if (upperBoundSpecified && lowerBoundSpecified && versionOrdering.compare(new MavenVersion(lowerBoundConfig.get()), new MavenVersion(upperBoundConfig.get())) >= 0) {
             validationResult.addError(new ValidationError(ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_POLL_VERSION_FROM, "Lower Bound cannot be >= Upper Bound"));
         }
 
+        if (versionOrderingError != null) {
+            validationResult.addError(new ValidationError(ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_VERSION_ORDERING, versionOrderingError));
+        }
+
+        if (versionFilterError != null) {
+            validationResult.addError(new ValidationError(versionFilterErrorKey, versionFilterError));
+        }
+
         ConfigurationProperties.detectInvalidKeys(packageConfig, validationResult,
                 ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_GROUP_ID,
                 ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_ARTIFACT_ID,
                 ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_PACKAGING,
                 ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_POLL_VERSION_FROM,
-                ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_POLL_VERSION_TO
+                ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_POLL_VERSION_TO,
+                ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_VERSION_RANGE,
+                ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_INCLUDE_QUALIFIERS,
+                ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_EXCLUDE_QUALIFIERS,
+                ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_POLL_SNAPSHOTS,
+                ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_POLL_RELEASES,
+                ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_VERSION_ORDERING
         );
         return validationResult;
     }
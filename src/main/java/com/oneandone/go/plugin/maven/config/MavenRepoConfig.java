@@ -11,8 +11,15 @@ import lombok.Getter;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.zone.ZoneRulesException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Representation of a maven repository configuration.
@@ -24,6 +31,27 @@ public class MavenRepoConfig {
      */
     private static final Logger LOGGER = Logger.getLoggerFor(MavenRepoConfig.class);
 
+    /** The default connect timeout. */
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /** The default response timeout. */
+    private static final Duration DEFAULT_RESPONSE_TIMEOUT = Duration.ofSeconds(30);
+
+    /** The default connection request timeout. */
+    private static final Duration DEFAULT_CONNECTION_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    /** The default maximum duration of a poll. */
+    private static final Duration DEFAULT_POLL_TIMEOUT = Duration.ofSeconds(60);
+
+    /** The default percentage of failed requests opening the circuit breaker. */
+    private static final int DEFAULT_CIRCUIT_BREAKER_FAILURE_RATIO = 50;
+
+    /** The default duration an open circuit breaker fails fast. */
+    private static final Duration DEFAULT_CIRCUIT_BREAKER_COOL_DOWN = Duration.ofSeconds(30);
+
+    /** The default maximum number of concurrent requests per host. */
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 10;
+
     /**
      * The specified properties.
      */
@@ -69,6 +97,112 @@ public class MavenRepoConfig {
     @Getter
     private final String latestVersionTag;
 
+    /**
+     * Flag indicating whether the metadata should be fetched incrementally using HTTP range requests.
+     *
+     * @return {@code true} if the metadata should be fetched incrementally, otherwise {@code false}
+     */
+    @Getter
+    private final boolean incrementalMetadata;
+
+    /**
+     * Flag indicating whether the {@code .sha1} checksum of the metadata should be checked before fetching the metadata.
+     *
+     * @return {@code true} if the checksum should be checked first, otherwise {@code false}
+     */
+    @Getter
+    private final boolean checksumProbe;
+
+    /**
+     * Flag indicating whether a second metadata request should be sent if the first one is slower than usual.
+     *
+     * @return {@code true} if hedged metadata requests should be sent, otherwise {@code false}
+     */
+    @Getter
+    private final boolean hedgeRequests;
+
+    /**
+     * Flag indicating whether requests made on a thread not owned by the plugin should run on a thread of the I/O
+     * executor instead. Polls and connection checks of GoCD always run on plugin threads, so the flag only affects
+     * requests of callers using the repository client on their own threads.
+     *
+     * @return {@code true} if requests should be moved to threads of the plugin, otherwise {@code false}
+     */
+    @Getter
+    private final boolean pluginThreads;
+
+    /**
+     * The connect timeout.
+     *
+     * @return the connect timeout
+     */
+    @Getter
+    private final Duration connectTimeout;
+
+    /**
+     * The timeout for waiting on response data.
+     *
+     * @return the timeout for waiting on response data
+     */
+    @Getter
+    private final Duration responseTimeout;
+
+    /**
+     * The timeout for waiting on a connection from the connection pool.
+     *
+     * @return the timeout for waiting on a connection from the connection pool
+     */
+    @Getter
+    private final Duration connectionRequestTimeout;
+
+    /**
+     * The maximum duration of all requests of a single poll.
+     *
+     * @return the maximum duration of a poll
+     */
+    @Getter
+    private final Duration pollTimeout;
+
+    /**
+     * The percentage of failed requests opening the circuit breaker of the repository.
+     *
+     * @return the percentage of failed requests opening the circuit breaker
+     */
+    @Getter
+    private final int circuitBreakerFailureRatio;
+
+    /**
+     * The duration an open circuit breaker fails fast before a single probe request is let through.
+     *
+     * @return the duration an open circuit breaker fails fast
+     */
+    @Getter
+    private final Duration circuitBreakerCoolDown;
+
+    /**
+     * The maximum number of concurrent requests to the repository host.
+     *
+     * @return the maximum number of concurrent requests to the repository host
+     */
+    @Getter
+    private final int maxConcurrentRequests;
+
+    /**
+     * The maximum number of requests per second to the repository host.
+     *
+     * @return the maximum number of requests per second or {@code 0} if the rate is unlimited
+     */
+    @Getter
+    private final double rateLimit;
+
+    /**
+     * The URLs of the mirrors of the repository as configured, in order of preference.
+     *
+     * @return the URLs of the mirrors of the repository, empty if there are none
+     */
+    @Getter
+    private final List<String> mirrorUrls;
+
     /**
      * Constructs the repository configuration by the specified properties.
      *
@@ -83,6 +217,103 @@ public class MavenRepoConfig {
         this.proxy = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_PROXY).orElse(null);
         this.timeZone = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_TIME_ZONE).orElse(null);
         this.latestVersionTag = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_LATEST_VERSION_TAG).orElse(null);
+        this.incrementalMetadata = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_INCREMENTAL_METADATA).map(Boolean::parseBoolean).orElse(false);
+        this.checksumProbe = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CHECKSUM_PROBE).map(Boolean::parseBoolean).orElse(false);
+        this.hedgeRequests = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_HEDGE_REQUESTS).map(Boolean::parseBoolean).orElse(false);
+        this.pluginThreads = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_PLUGIN_THREADS).map(Boolean::parseBoolean).orElse(false);
+        this.connectTimeout = getSeconds(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CONNECT_TIMEOUT, DEFAULT_CONNECT_TIMEOUT);
+        this.responseTimeout = getSeconds(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_RESPONSE_TIMEOUT, DEFAULT_RESPONSE_TIMEOUT);
+        this.connectionRequestTimeout = getSeconds(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CONNECTION_REQUEST_TIMEOUT, DEFAULT_CONNECTION_REQUEST_TIMEOUT);
+        this.pollTimeout = getSeconds(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_POLL_TIMEOUT, DEFAULT_POLL_TIMEOUT);
+        this.circuitBreakerFailureRatio = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_FAILURE_RATIO)
+                .map(MavenRepoConfig::parsePercentage)
+                .orElse(DEFAULT_CIRCUIT_BREAKER_FAILURE_RATIO);
+        this.circuitBreakerCoolDown = getSeconds(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_COOL_DOWN, DEFAULT_CIRCUIT_BREAKER_COOL_DOWN);
+        this.maxConcurrentRequests = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MAX_CONCURRENT_REQUESTS)
+                .map(MavenRepoConfig::parsePositiveInteger)
+                .orElse(DEFAULT_MAX_CONCURRENT_REQUESTS);
+        this.rateLimit = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_RATE_LIMIT)
+                .map(MavenRepoConfig::parsePositiveNumber)
+                .orElse(0d);
+        this.mirrorUrls = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MIRROR_URLS)
+                .map(value -> Arrays.stream(value.split("[,\\s]+"))
+                        .filter(url -> !url.isEmpty())
+                        .collect(Collectors.toList()))
+                .map(Collections::unmodifiableList)
+                .orElse(Collections.emptyList());
+    }
+
+    /**
+     * Returns the duration in seconds configured for the specified key.
+     *
+     * @param key the configuration key
+     * @param defaultValue the default duration if no or an invalid value is configured
+     * @return the configured duration
+     */
+    private Duration getSeconds(final String key, final Duration defaultValue) {
+        return repoConfig.getValue(key)
+                .map(MavenRepoConfig::parseSeconds)
+                .orElse(defaultValue);
+    }
+
+    /**
+     * Parses a positive amount of seconds.
+     *
+     * @param value the value to parse
+     * @return the duration or {@code null} if the value is not a positive integer
+     */
+    private static Duration parseSeconds(final String value) {
+        try {
+            final long seconds = Long.parseLong(value.trim());
+            return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a percentage between 1 and 100.
+     *
+     * @param value the value to parse
+     * @return the percentage or {@code null} if the value is not an integer between 1 and 100
+     */
+    private static Integer parsePercentage(final String value) {
+        try {
+            final int percentage = Integer.parseInt(value.trim());
+            return percentage > 0 && percentage <= 100 ? percentage : null;
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a positive integer.
+     *
+     * @param value the value to parse
+     * @return the integer or {@code null} if the value is not a positive integer
+     */
+    private static Integer parsePositiveInteger(final String value) {
+        try {
+            final int integer = Integer.parseInt(value.trim());
+            return integer > 0 ? integer : null;
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a positive number.
+     *
+     * @param value the value to parse
+     * @return the number or {@code null} if the value is not a positive number
+     */
+    private static Double parsePositiveNumber(final String value) {
+        try {
+            final double number = Double.parseDouble(value.trim());
+            return number > 0 && !Double.isInfinite(number) ? number : null;
+        } catch (final NumberFormatException e) {
+            return null;
+        }
     }
 
     /**
@@ -140,6 +371,22 @@ public class MavenRepoConfig {
         return URI.create(getRepoUrl().getURL());
     }
 
+    /**
+     * Returns the repository URL followed by the URLs of the mirrors, all with a trailing slash.
+     * <br>
+     * The repository URL remains the identity of the repository, the mirrors are alternative locations of the same content.
+     *
+     * @return the repository URL followed by the URLs of the mirrors
+     */
+    public List<String> getRepoUrlsAsStrings() {
+        final List<String> urls = new ArrayList<>(mirrorUrls.size() + 1);
+        urls.add(getRepoUrlAsString());
+        for (final String mirrorUrl : mirrorUrls) {
+            urls.add(new RepositoryURL(mirrorUrl, null, null).getURL());
+        }
+        return urls;
+    }
+
     /**
      * Returns {@code true} if the repository URL is missing (is {@code null} or empty), otherwise {@code false}.
      *
@@ -177,13 +424,69 @@ public class MavenRepoConfig {
             validationResult.addError(new ValidationError(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_REPO_URL, "Malformed URL specified: " + e.getMessage()));
         }
 
+        for (final String mirrorUrl : mirrorUrls) {
+            try {
+                final URL url = new URL(mirrorUrl);
+                if (!"http".equalsIgnoreCase(url.getProtocol()) && !"https".equalsIgnoreCase(url.getProtocol())) {
+                    validationResult.addError(new ValidationError(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MIRROR_URLS, "Invalid mirror URL " + mirrorUrl + ": Only http is supported."));
+                } else if (url.getUserInfo() != null) {
+                    validationResult.addError(new ValidationError(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MIRROR_URLS, "User info should not be provided as part of the mirror URL " + mirrorUrl + "."));
+                }
+            } catch (final MalformedURLException e) {
+                validationResult.addError(new ValidationError(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MIRROR_URLS, "Malformed mirror URL specified: " + e.getMessage()));
+            }
+        }
+
+        for (final String key : new String[] {
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CONNECT_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_RESPONSE_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CONNECTION_REQUEST_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_POLL_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_COOL_DOWN }) {
+            final Optional<String> value = repoConfig.getValue(key);
+            if (value.isPresent() && parseSeconds(value.get()) == null) {
+                validationResult.addError(new ValidationError(key, key + " must be a positive number of seconds"));
+            }
+        }
+
+        final Optional<String> failureRatio = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_FAILURE_RATIO);
+        if (failureRatio.isPresent() && parsePercentage(failureRatio.get()) == null) {
+            validationResult.addError(new ValidationError(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_FAILURE_RATIO,
+                    ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_FAILURE_RATIO + " must be a percentage between 1 and 100"));
+        }
+
+        final Optional<String> maxConcurrentRequestsValue = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MAX_CONCURRENT_REQUESTS);
+        if (maxConcurrentRequestsValue.isPresent() && parsePositiveInteger(maxConcurrentRequestsValue.get()) == null) {
+            validationResult.addError(new ValidationError(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MAX_CONCURRENT_REQUESTS,
+                    ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MAX_CONCURRENT_REQUESTS + " must be a positive integer"));
+        }
+
+        final Optional<String> rateLimitValue = repoConfig.getValue(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_RATE_LIMIT);
+        if (rateLimitValue.isPresent() && parsePositiveNumber(rateLimitValue.get()) == null) {
+            validationResult.addError(new ValidationError(ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_RATE_LIMIT,
+                    ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_RATE_LIMIT + " must be a positive number"));
+        }
+
         ConfigurationProperties.detectInvalidKeys(repoConfig, validationResult,
                 ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_REPO_URL,
                 ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_USERNAME,
                 ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_PASSWORD,
                 ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_PROXY,
                 ConfigurationProperties.REPOSITORY_CONFIGURATION_TIME_ZONE,
-                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_LATEST_VERSION_TAG
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_LATEST_VERSION_TAG,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_INCREMENTAL_METADATA,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CHECKSUM_PROBE,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CONNECT_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_RESPONSE_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CONNECTION_REQUEST_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_POLL_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_FAILURE_RATIO,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_COOL_DOWN,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MAX_CONCURRENT_REQUESTS,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_RATE_LIMIT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_HEDGE_REQUESTS,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MIRROR_URLS,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_PLUGIN_THREADS
         );
         return validationResult;
     }
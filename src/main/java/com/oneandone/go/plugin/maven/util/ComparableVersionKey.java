@@ -0,0 +1,330 @@
+package com.oneandone.go.plugin.maven.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The sort key of a version string following the rules of Maven's {@code ComparableVersion}.
+ * <br>
+ * The version is split into items at {@code .} and {@code -} and at transitions between digits and letters, every
+ * {@code -} and transition starting a nested list. Numbers compare numerically, qualifiers by their position in
+ * {@code alpha < beta < milestone < rc < snapshot < "" < sp} and then alphabetically, and trailing zeros and empty
+ * qualifiers are dropped. The key is computed once as a flat array of tokens, nested lists in place, and compared
+ * without allocating anything.
+ */
+final class ComparableVersionKey {
+
+    /** The known qualifiers in their order, the empty qualifier is a release. */
+    private static final List<String> QUALIFIERS = Arrays.asList("alpha", "beta", "milestone", "rc", "snapshot", "", "sp");
+
+    /** The rank of the empty qualifier. */
+    private static final int RELEASE_RANK = QUALIFIERS.indexOf("");
+
+    /** The rank of all unknown qualifiers, they are ordered alphabetically among themselves. */
+    private static final int UNKNOWN_RANK = QUALIFIERS.size();
+
+    /** The number of bits of a token holding its kind. */
+    private static final int KIND_SHIFT = 62;
+
+    /** The bits of a token holding its value. */
+    private static final long VALUE_MASK = (1L << KIND_SHIFT) - 1;
+
+    /** The kind of a number with at most 18 digits, the value is the number. */
+    private static final int INT = 0;
+
+    /** The kind of a number with more than 18 digits, the value is the index of its digits in {@link #texts}. */
+    private static final int BIG_INT = 1;
+
+    /**
+     * The kind of a qualifier, the value is the rank of the qualifier in the upper and the index of an unknown
+     * qualifier in {@link #texts} in the lower 32 bits.
+     */
+    private static final int STRING = 2;
+
+    /** The kind of a nested list, the value is the number of tokens of the items of the list that follow. */
+    private static final int LIST = 3;
+
+    /** The items of the version as tokens of kind and value, nested lists flattened in place. */
+    private final long[] tokens;
+
+    /** The digits without leading zeros of long numbers and the unknown qualifiers. */
+    private final String[] texts;
+
+    private ComparableVersionKey(final List<Object> items) {
+        final long[][] tokenBuffer = { new long[8] };
+        final List<String> textList = new ArrayList<>();
+        final int size = flatten(items, tokenBuffer, 0, textList);
+        this.tokens = Arrays.copyOf(tokenBuffer[0], size);
+        this.texts = textList.toArray(new String[0]);
+    }
+
+    /** Appends the tokens of the specified items at the specified position and returns the position after them. */
+    private static int flatten(final List<Object> items, final long[][] tokenBuffer, final int position, final List<String> texts) {
+        int next = position;
+        for (final Object item : items) {
+            if (next == tokenBuffer[0].length) {
+                tokenBuffer[0] = Arrays.copyOf(tokenBuffer[0], next * 2);
+            }
+            final int index = next++;
+            if (item instanceof Long) {
+                tokenBuffer[0][index] = token(INT, (Long) item);
+            } else if (item instanceof BigDigits) {
+                texts.add(((BigDigits) item).digits);
+                tokenBuffer[0][index] = token(BIG_INT, texts.size() - 1);
+            } else if (item instanceof String) {
+                final int rank = QUALIFIERS.indexOf(item);
+                if (rank < 0) {
+                    texts.add((String) item);
+                    tokenBuffer[0][index] = token(STRING, ((long) UNKNOWN_RANK << 32) | (texts.size() - 1));
+                } else {
+                    tokenBuffer[0][index] = token(STRING, (long) rank << 32);
+                }
+            } else {
+                @SuppressWarnings("unchecked")
+                final List<Object> list = (List<Object>) item;
+                next = flatten(list, tokenBuffer, next, texts);
+                tokenBuffer[0][index] = token(LIST, next - index - 1);
+            }
+        }
+        return next;
+    }
+
+    private static long token(final int kind, final long value) {
+        return ((long) kind << KIND_SHIFT) | value;
+    }
+
+    private static int kind(final long token) {
+        return (int) (token >>> KIND_SHIFT);
+    }
+
+    private static long value(final long token) {
+        return token & VALUE_MASK;
+    }
+
+    /**
+     * Parses the specified version string.
+     *
+     * @param version the version string
+     * @return the key of the version
+     */
+    static ComparableVersionKey of(final String version) {
+        final String value = version.toLowerCase(Locale.ENGLISH);
+        final List<Object> items = new ArrayList<>();
+        List<Object> list = items;
+        final Deque<List<Object>> stack = new ArrayDeque<>();
+        stack.push(list);
+
+        boolean isDigit = false;
+        int startIndex = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '.' || c == '-') {
+                list.add(i == startIndex ? Long.valueOf(0) : parseItem(isDigit, value.substring(startIndex, i), false));
+                startIndex = i + 1;
+                if (c == '-') {
+                    final List<Object> nested = new ArrayList<>();
+                    list.add(nested);
+                    list = nested;
+                    stack.push(list);
+                }
+            } else if (Character.isDigit(c)) {
+                if (!isDigit && i > startIndex) {
+                    list.add(parseItem(false, value.substring(startIndex, i), true));
+                    startIndex = i;
+                    final List<Object> nested = new ArrayList<>();
+                    list.add(nested);
+                    list = nested;
+                    stack.push(list);
+                }
+                isDigit = true;
+            } else {
+                if (isDigit && i > startIndex) {
+                    list.add(parseItem(true, value.substring(startIndex, i), false));
+                    startIndex = i;
+                    final List<Object> nested = new ArrayList<>();
+                    list.add(nested);
+                    list = nested;
+                    stack.push(list);
+                }
+                isDigit = false;
+            }
+        }
+        if (value.length() > startIndex) {
+            list.add(parseItem(isDigit, value.substring(startIndex), false));
+        }
+        while (!stack.isEmpty()) {
+            normalize(stack.pop());
+        }
+        return new ComparableVersionKey(items);
+    }
+
+    /** Parses a single item, a number or a qualifier with its aliases resolved. */
+    private static Object parseItem(final boolean isDigit, final String buf, final boolean followedByDigit) {
+        if (isDigit) {
+            int start = 0;
+            while (start < buf.length() - 1 && buf.charAt(start) == '0') {
+                start++;
+            }
+            final String digits = buf.substring(start);
+            return digits.length() <= 18 ? (Object) Long.valueOf(digits) : new BigDigits(digits);
+        }
+        String qualifier = buf;
+        if (followedByDigit && qualifier.length() == 1) {
+            switch (qualifier.charAt(0)) {
+                case 'a': qualifier = "alpha"; break;
+                case 'b': qualifier = "beta"; break;
+                case 'm': qualifier = "milestone"; break;
+                default: break;
+            }
+        }
+        switch (qualifier) {
+            case "ga":
+            case "final":
+            case "release":
+                return "";
+            case "cr":
+                return "rc";
+            default:
+                return qualifier;
+        }
+    }
+
+    /** Removes the trailing items equal to zero, the empty qualifier or an empty list. */
+    private static void normalize(final List<Object> list) {
+        for (int i = list.size() - 1; i >= 0; i--) {
+            final Object item = list.get(i);
+            if (isNull(item)) {
+                list.remove(i);
+            } else if (!(item instanceof List)) {
+                break;
+            }
+        }
+    }
+
+    private static boolean isNull(final Object item) {
+        if (item instanceof Long) {
+            return (Long) item == 0L;
+        } else if (item instanceof String) {
+            return ((String) item).isEmpty();
+        } else if (item instanceof List) {
+            return ((List<?>) item).isEmpty();
+        }
+        return false;
+    }
+
+    /**
+     * Compares this key with the specified key.
+     *
+     * @param other the key to compare with
+     * @return a negative number, zero or a positive number if this version is lower, equal or higher
+     */
+    int compareTo(final ComparableVersionKey other) {
+        return other == this ? 0 : compareLists(0, tokens.length, other, 0, other.tokens.length);
+    }
+
+    /** Compares the items of a list of this key with the items of a list of the other key. */
+    private int compareLists(final int from, final int to, final ComparableVersionKey other, final int otherFrom, final int otherTo) {
+        int position = from;
+        int otherPosition = otherFrom;
+        while (position < to || otherPosition < otherTo) {
+            if (position < to && otherPosition < otherTo && (tokens[position] | other.tokens[otherPosition]) >>> KIND_SHIFT == INT) {
+                // the common case of two numbers
+                if (tokens[position] != other.tokens[otherPosition]) {
+                    return Long.compare(tokens[position], other.tokens[otherPosition]);
+                }
+                position++;
+                otherPosition++;
+                continue;
+            }
+            final int result;
+            if (position >= to) {
+                result = -other.compareToNull(otherPosition);
+            } else if (otherPosition >= otherTo) {
+                result = compareToNull(position);
+            } else {
+                result = compareItems(position, other, otherPosition);
+            }
+            if (result != 0) {
+                return result;
+            }
+            position = next(position);
+            otherPosition = other.next(otherPosition);
+        }
+        return 0;
+    }
+
+    /** Returns the position of the item following the item at the specified position. */
+    private int next(final int position) {
+        if (position >= tokens.length) {
+            return position;
+        }
+        final long token = tokens[position];
+        return kind(token) == LIST ? position + 1 + (int) value(token) : position + 1;
+    }
+
+    /** Compares the item at the specified position with a missing item. */
+    private int compareToNull(final int position) {
+        final long token = tokens[position];
+        switch (kind(token)) {
+            case INT:
+                return value(token) == 0 ? 0 : 1;
+            case BIG_INT:
+                return 1;
+            case STRING:
+                return Integer.compare((int) (value(token) >>> 32), RELEASE_RANK);
+            default:
+                return value(token) == 0 ? 0 : compareToNull(position + 1);
+        }
+    }
+
+    /** Compares the item at the specified position with the item at the other position of the other key. */
+    private int compareItems(final int position, final ComparableVersionKey other, final int otherPosition) {
+        final long token = tokens[position];
+        final long otherToken = other.tokens[otherPosition];
+        final int kind = kind(token);
+        final int otherKind = kind(otherToken);
+        if (kind == INT && otherKind == INT) {
+            return Long.compare(token, otherToken);
+        }
+        final boolean number = kind == INT || kind == BIG_INT;
+        final boolean otherNumber = otherKind == INT || otherKind == BIG_INT;
+        if (number && otherNumber) {
+            if (kind != otherKind) {
+                return kind == INT ? -1 : 1;
+            }
+            final String digits = texts[(int) value(token)];
+            final String otherDigits = other.texts[(int) value(otherToken)];
+            return digits.length() != otherDigits.length() ? Integer.compare(digits.length(), otherDigits.length()) : digits.compareTo(otherDigits);
+        } else if (number) {
+            return 1;
+        } else if (otherNumber) {
+            return -1;
+        } else if (kind == STRING && otherKind == STRING) {
+            final int rank = (int) (value(token) >>> 32);
+            final int result = Integer.compare(rank, (int) (value(otherToken) >>> 32));
+            if (result != 0 || rank != UNKNOWN_RANK) {
+                return result;
+            }
+            return texts[(int) token].compareTo(other.texts[(int) otherToken]);
+        } else if (kind == STRING) {
+            return -1;
+        } else if (otherKind == STRING) {
+            return 1;
+        }
+        return compareLists(position + 1, next(position), other, otherPosition + 1, other.next(otherPosition));
+    }
+
+    /** A number with more than 18 digits during parsing. */
+    private static final class BigDigits {
+
+        private final String digits;
+
+        private BigDigits(final String digits) {
+            this.digits = digits;
+        }
+    }
+}
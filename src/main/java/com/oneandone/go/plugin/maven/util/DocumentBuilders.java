@@ -1,28 +1,88 @@
 package com.oneandone.go.plugin.maven.util;
 
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
-/** Factory method for document builders. */
+/**
+ * Factory methods for document builders.
+ * <br>
+ * The securely configured factory is created once. Document builders are not thread-safe, so {@link #parse(InputStream)}
+ * borrows a builder from a small pool shared by all threads and returns it reset. If the pool is empty, a new builder
+ * is created, if it is full, the builder is dropped.
+ */
 public class DocumentBuilders {
 
+    /** The securely configured factory, not thread-safe itself. */
+    private static final DocumentBuilderFactory FACTORY = newFactory();
+
+    /** The maximum number of idle document builders kept for reuse. */
+    static final int MAX_POOLED = 16;
+
+    /** The idle document builders. */
+    private static final BlockingQueue<DocumentBuilder> POOL = new ArrayBlockingQueue<>(MAX_POOLED);
+
     private DocumentBuilders() {
         // no instance allowed
     }
 
-    /** Creates a securely configured document builder.
-     * @return a new instance of a securely configured document builder.
-     * @throws ParserConfigurationException if there is a problem creating a DocumentBuilder instance with the secure setttings.
+    /** Creates a securely configured document builder factory.
+     * @return a new securely configured document builder factory.
      * @see <a href="https://owasp.org/www-community/vulnerabilities/XML_External_Entity_(XXE)_Processing">XML External Entity (XXE) Processing</a>
      * */
-    public static DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+    private static DocumentBuilderFactory newFactory() {
         final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance(); //NOSONAR
         // deny all external entity processing (XXE)
         factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
         factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
         factory.setAttribute(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-        return factory.newDocumentBuilder();
+        return factory;
+    }
+
+    /** Creates a securely configured document builder.
+     * @return a new instance of a securely configured document builder.
+     * @throws ParserConfigurationException if there is a problem creating a DocumentBuilder instance with the secure setttings.
+     * */
+    public static DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+        synchronized (FACTORY) {
+            return FACTORY.newDocumentBuilder();
+        }
+    }
+
+    /** Parses the specified XML document with a pooled securely configured document builder.
+     * @param in the XML document.
+     * @return the parsed document.
+     * @throws ParserConfigurationException if there is a problem creating a DocumentBuilder instance with the secure setttings.
+     * @throws IOException if the document could not be read.
+     * @throws SAXException if the document could not be parsed.
+     * */
+    public static Document parse(final InputStream in) throws ParserConfigurationException, IOException, SAXException {
+        DocumentBuilder builder = POOL.poll();
+        if (builder == null) {
+            builder = newDocumentBuilder();
+        }
+        try {
+            return builder.parse(in);
+        } finally {
+            builder.reset();
+            POOL.offer(builder);
+        }
+    }
+
+    /**
+     * Returns the number of idle document builders in the pool.
+     *
+     * @return the number of idle document builders in the pool
+     */
+    static int pooled() {
+        return POOL.size();
     }
 }
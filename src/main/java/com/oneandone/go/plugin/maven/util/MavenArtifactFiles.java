@@ -9,11 +9,9 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 /** Contains the artifact locations for an artifact within a Maven repository. */
 public class MavenArtifactFiles {
@@ -35,7 +33,10 @@ public class MavenArtifactFiles {
     /** The repository configuration. */
     private final MavenRepoConfig repoConfig;
 
-    /** The base URL with provided basic authentication information. */
+    /** The connector to fetch the pom with or {@code null} to create a new one. */
+    private final RepositoryConnector repositoryConnector;
+
+    /** The track back URL as specified by the pom. */
     private String url;
 
     /** Flag indicating whether the pom was already parsed. */
@@ -53,6 +54,26 @@ public class MavenArtifactFiles {
         this.artifactLocation = baseUrlWithAuth + artifactLocation;
         this.pomLocation = baseUrlWithAuth + pomLocation;
         this.repoConfig = repoConfig;
+        this.repositoryConnector = null;
+    }
+
+    /**
+     * Constructs a new maven artifact location representative.
+     * <br>
+     * The pom is fetched by the specified connector from the base URL without authentication information,
+     * the credentials of the repository configuration are sent by the connector instead.
+     *
+     * @param baseUrl the base URL without authentication information
+     * @param baseUrlWithAuth the base URL with provided basic authentication information
+     * @param artifactLocation the artifact location (without base)
+     * @param pomLocation the pom location (without base)
+     * @param repositoryConnector the connector of the current poll
+     */
+    public MavenArtifactFiles(final String baseUrl, final String baseUrlWithAuth, final String artifactLocation, final String pomLocation, final RepositoryConnector repositoryConnector) {
+        this.artifactLocation = baseUrlWithAuth + artifactLocation;
+        this.pomLocation = baseUrl + pomLocation;
+        this.repoConfig = null;
+        this.repositoryConnector = repositoryConnector;
     }
 
     /**
@@ -70,10 +91,10 @@ public class MavenArtifactFiles {
     /** Initializes the artifact model defined by the pom. */
     private void getModel() {
         try {
-            final RepositoryResponse repoResponse = new RepositoryConnector(repoConfig).doHttpRequest(this.getPomLocation());
+            final RepositoryConnector connector = repositoryConnector != null ? repositoryConnector : new RepositoryConnector(repoConfig);
+            final RepositoryResponse repoResponse = connector.doHttpRequest(this.getPomLocation());
 
-            final DocumentBuilder documentBuilder = DocumentBuilders.newDocumentBuilder();
-            final Document document = documentBuilder.parse(new ByteArrayInputStream(repoResponse.getResponseBody().getBytes(StandardCharsets.UTF_8)));
+            final Document document = DocumentBuilders.parse(new ByteArrayInputStream(repoResponse.getBody()));
 
             final Element projectElement = document.getDocumentElement();
             final NodeList urlNodes = projectElement.getElementsByTagName("url");
@@ -1,12 +1,23 @@
 package com.oneandone.go.plugin.maven.util;
 
 import com.oneandone.go.plugin.maven.message.PackageRevisionMessage;
+import lombok.Getter;
 import lombok.Setter;
 
 import java.time.ZonedDateTime;
 
-/** This revision will be wrapped in a {@link PackageRevisionMessage}. */
-public class MavenRevision extends MavenVersion {
+/**
+ * The result of a poll, the latest version found with the information about its artifact.
+ * This revision will be wrapped in a {@link PackageRevisionMessage}.
+ */
+public class MavenRevision {
+
+    /**
+     * The version of this revision.
+     *
+     * @return the version of this revision
+     */
+    @Getter private final MavenVersion version;
 
     /**
      * The URL location of the artifact for this revision.
@@ -33,8 +44,8 @@ public class MavenRevision extends MavenVersion {
      *
      * @param version the version
      */
-    public MavenRevision(final String version) {
-        super(version);
+    public MavenRevision(final MavenVersion version) {
+        this.version = version;
     }
 
     /**
@@ -43,9 +54,9 @@ public class MavenRevision extends MavenVersion {
      * @return a revision message for {@code this} revision
      */
     public PackageRevisionMessage toPackageRevision() {
-        final PackageRevisionMessage packageRevision = new PackageRevisionMessage(getVersionSpecific(), lastModified, null, null, trackBackUrl);
+        final PackageRevisionMessage packageRevision = new PackageRevisionMessage(version.getVersionSpecific(), lastModified, null, null, trackBackUrl);
         packageRevision.addData("LOCATION", location);
-        packageRevision.addData("VERSION", getVersionSpecific());
+        packageRevision.addData("VERSION", version.getVersionSpecific());
         if (errorMessage != null) {
             packageRevision.addData("ERRORMSG", errorMessage);
         }
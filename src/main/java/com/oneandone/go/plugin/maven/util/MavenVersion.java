@@ -4,41 +4,41 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.StringTokenizer;
+import java.util.stream.Collectors;
 
-/** The representation of a maven version. */
+/**
+ * The representation of a maven version.
+ * <br>
+ * Versions are immutable and may be shared between threads and polls.
+ */
 @EqualsAndHashCode(of = "original")
-public class MavenVersion implements Serializable, Comparable<MavenVersion> {
+public final class MavenVersion implements Serializable, Comparable<MavenVersion> {
 
     /** The snapshot suffix for version strings. */
     private static final String SNAPSHOT = "SNAPSHOT";
 
     /** The serialization version of this class. */
-    private static final long serialVersionUID = 2L;
+    private static final long serialVersionUID = 3L;
 
     /**
      * The original version.
      */
     @Getter private final String original;
 
-    /** The version without the qualifier. */
-    private final String version;
-
-    /** The qualifier. */
-    private String qualifier;
+    /** The parsed version, shared by all instances with the same original version. */
+    private final ParsedVersion parsed;
 
     /** The SNAPSHOT timestamp. */
-    private String timestamp;
+    private final String timestamp;
 
     /** The SNAPSHOT build number. */
-    private String buildNumber;
-
-    /** The version digits. */
-    private final int[] digits;
+    private final String buildNumber;
 
-    /** The qualifier delimiter. */
-    private char lastDelimiter;
+    /** The key of the version in the Maven ordering, computed on first use; racy but the key is immutable. */
+    private transient ComparableVersionKey comparableKey;
 
     /**
      * Constructs a version representation for the specified version.
@@ -48,6 +48,18 @@ public class MavenVersion implements Serializable, Comparable<MavenVersion> {
      * @throws IllegalArgumentException if the specified version is empty or the version digits could not be parsed
      */
     public MavenVersion(final String version) {
+        this(version, true);
+    }
+
+    /**
+     * Constructs a version representation for the specified version.
+     *
+     * @param version the version
+     * @param intern {@code true} to intern the parsed version, {@code false} for versions parsed in bulk
+     * @throws NullPointerException if the specified version is {@code null}
+     * @throws IllegalArgumentException if the specified version is empty or the version digits could not be parsed
+     */
+    private MavenVersion(final String version, final boolean intern) {
         Objects.requireNonNull(version, "version string may not be null");
         if (version.isEmpty()) {
             throw new IllegalArgumentException("version may not be empty");
@@ -63,92 +75,37 @@ public class MavenVersion implements Serializable, Comparable<MavenVersion> {
             this.buildNumber = trimmedVersion.substring(startOfSpecification + 18, trimmedVersion.lastIndexOf(')'));
         } else {
             this.original = trimmedVersion;
+            this.timestamp = null;
+            this.buildNumber = null;
         }
 
-        final String versionStripped = this.stripVersion(this.original);
-        if (versionStripped == null) {
-            this.qualifier = this.original;
-            this.version = "0.0.0.0";
-        } else if (versionStripped.length() < this.original.length()) {
-            this.qualifier = this.original.substring(versionStripped.length() + 1);
-            this.version = this.original.substring(0, versionStripped.length());
-        } else {
-            this.version = this.original;
-        }
-
-        this.digits = parseVersionDigits(this.version);
-    }
-
-    /** Parse the digits out of the version String.
-     * @param version a version String, like {@code "12.34.56"}.
-     * @return the parsed-out digits, example {@code int[] {12, 34, 56}}
-     * for the input {@code "12.34.56"}.
-     * @throws IllegalArgumentException if the version string is not
-     * consisting of numbers.
-     * */
-    private static int[] parseVersionDigits(String version) {
-        final StringTokenizer versionTokenizer = new StringTokenizer(version, ".");
-        final int absoluteTokenCount = versionTokenizer.countTokens();
-        final int[] digits = new int[absoluteTokenCount];
-
-        for (int i = 0; i < absoluteTokenCount; i++) {
-            try {
-                final String digit = versionTokenizer.nextToken();
-                digits[i] = Integer.parseInt(digit);
-            } catch (final NumberFormatException e) {
-                throw new IllegalArgumentException("invalid version string " + version);
-            }
-        }
-        return digits;
+        this.parsed = intern ? ParsedVersion.of(this.original) : ParsedVersion.parse(this.original);
     }
 
     /**
-     * Strips the version from the specified String.
+     * Parses the specified version strings, in parallel for at least {@link VersionTable#PARALLEL_VERSIONS} versions.
+     * The versions are not interned, the caller keeps them.
      *
-     * @param ver the version
-     * @return the stripped version
+     * @param versions the version strings
+     * @return the versions in the order of the version strings
+     * @throws IllegalArgumentException if a version is empty or its version digits could not be parsed
      */
-    private String stripVersion(final String ver) {
-        int lastIndex = -1;
-        int counter = 0;
-
-        char delimiter = '.';
-        final char[] versionArray = ver.toCharArray();
-
-        for (char c : versionArray) {
-            if (!Character.isDigit(c)) {
-                lastIndex = counter;
-                delimiter = c;
-                if (!Character.isLetterOrDigit(c)) {
-                    this.lastDelimiter = c;
-                }
-                break;
-            }
-
-            counter++;
+    public static List<MavenVersion> parseAll(final List<String> versions) {
+        if (versions.size() >= VersionTable.PARALLEL_VERSIONS) {
+            return versions.parallelStream().map(version -> new MavenVersion(version, false)).collect(Collectors.toList());
         }
-
-        String versionOnly = null;
-        if (lastIndex != -1 && ver.length() > lastIndex) {
-            final String currentVersionPart = ver.substring(0, lastIndex);
-
-            if (currentVersionPart.matches("[0-9]+")) {
-                if (lastIndex < ver.length() && delimiter == '.') {
-                    final String nextVersionPart = this.stripVersion(ver.substring(lastIndex + 1));
-                    if (nextVersionPart != null) {
-                        versionOnly = currentVersionPart + "." + nextVersionPart;
-                    } else {
-                        versionOnly = currentVersionPart;
-                    }
-                } else {
-                    versionOnly = currentVersionPart;
-                }
-            }
-        } else {
-            versionOnly = ver;
+        final List<MavenVersion> parsed = new ArrayList<>(versions.size());
+        for (final String version : versions) {
+            parsed.add(new MavenVersion(version, false));
         }
+        return parsed;
+    }
 
-        return versionOnly;
+    private MavenVersion(final MavenVersion version, final String timestamp, final String buildNumber) {
+        this.original = version.original;
+        this.parsed = version.parsed;
+        this.timestamp = timestamp;
+        this.buildNumber = buildNumber;
     }
 
     /**
@@ -157,8 +114,22 @@ public class MavenVersion implements Serializable, Comparable<MavenVersion> {
      * @param index the digit index
      * @return the value for the specified version digit index or 0 if the index is out of bounds
      */
-    private Integer getValue(int index) {
-        return index < this.digits.length ? digits[index] : 0;
+    private int getValue(int index) {
+        return parsed.digit(index);
+    }
+
+    /**
+     * Returns the key of this version in the ordering of Maven's {@code ComparableVersion}.
+     *
+     * @return the key of this version in the Maven ordering
+     */
+    ComparableVersionKey comparableKey() {
+        ComparableVersionKey key = comparableKey;
+        if (key == null) {
+            key = parsed.comparableKey();
+            comparableKey = key;
+        }
+        return key;
     }
 
     /**
@@ -167,7 +138,7 @@ public class MavenVersion implements Serializable, Comparable<MavenVersion> {
      * @return the major version
      */
     public int getMajor() {
-        return 0 < this.digits.length ? this.digits[0] : 0;
+        return getValue(0);
     }
 
     /**
@@ -176,7 +147,7 @@ public class MavenVersion implements Serializable, Comparable<MavenVersion> {
      * @return the minor version
      */
     public int getMinor() {
-        return 1 < this.digits.length ? this.digits[1] : 0;
+        return getValue(1);
     }
 
     /**
@@ -185,7 +156,7 @@ public class MavenVersion implements Serializable, Comparable<MavenVersion> {
      * @return the bugfix version
      */
     public int getBugfix() {
-        return 2 < this.digits.length ? this.digits[2] : 0;
+        return getValue(2);
     }
 
     /**
@@ -194,7 +165,7 @@ public class MavenVersion implements Serializable, Comparable<MavenVersion> {
      * @return the hotfix version
      */
     public int getHotfix() {
-        return 3 < this.digits.length ? this.digits[3] : 0;
+        return getValue(3);
     }
 
     /**
@@ -203,7 +174,7 @@ public class MavenVersion implements Serializable, Comparable<MavenVersion> {
      * @return the qualifier
      */
     public String getQualifier() {
-        return this.qualifier;
+        return parsed.qualifier;
     }
 
     /**
@@ -215,10 +186,10 @@ public class MavenVersion implements Serializable, Comparable<MavenVersion> {
      */
     public String getVersion() {
         if (isSnapshot()) {
-            return this.version + this.lastDelimiter + this.timestamp + "-" +  this.buildNumber;
+            return parsed.version + parsed.lastDelimiter + this.timestamp + "-" +  this.buildNumber;
         }
 
-        return this.getQualifier() != null ? this.version + this.lastDelimiter + this.getQualifier() : this.version;
+        return this.getQualifier() != null ? parsed.version + parsed.lastDelimiter + this.getQualifier() : parsed.version;
     }
 
     /**
@@ -280,33 +251,35 @@ public class MavenVersion implements Serializable, Comparable<MavenVersion> {
      * @return {@code true} if the qualifier equals {@code SNAPSHOT} (ignore case), otherwise {@code false}
      */
     public boolean isSnapshot() {
-        return SNAPSHOT.equalsIgnoreCase(qualifier);
+        return SNAPSHOT.equalsIgnoreCase(getQualifier());
     }
 
     /**
-     * Sets the snapshot information for {@code this version}.
+     * Returns {@code this} version with the specified snapshot information.
      *
-     * @param timestamp the timestamp to set
-     * @param buildNumber the build number to set
+     * @param timestamp the timestamp
+     * @param buildNumber the build number
+     * @return a new version with the same original version and the specified snapshot information
      */
-    public void setSnapshotInformation(final String timestamp, final String buildNumber) {
-        this.timestamp = timestamp;
-        this.buildNumber = buildNumber;
+    public MavenVersion withSnapshotInformation(final String timestamp, final String buildNumber) {
+        return new MavenVersion(this, timestamp, buildNumber);
     }
 
     @Override
     public int compareTo(final MavenVersion otherVersion) {
         int result = 0;
-        for (int i = 0; i < this.digits.length; ++i) {
-            result = this.getValue(i).compareTo(otherVersion.getValue(i));
+        final int digitCount = Math.max(parsed.digitCount(), otherVersion.parsed.digitCount());
+        for (int i = 0; i < digitCount; ++i) {
+            result = Integer.compare(this.getValue(i), otherVersion.getValue(i));
             if (result != 0) {
                 break;
             }
         }
-        if (result == 0 && this.qualifier != null && otherVersion.getQualifier() != null) {
-            result = new NaturalOrderComparator().compare(this.qualifier, otherVersion.getQualifier());
+        final String qualifier = getQualifier();
+        if (result == 0 && qualifier != null && otherVersion.getQualifier() != null) {
+            result = new NaturalOrderComparator().compare(qualifier, otherVersion.getQualifier());
 
-            if (SNAPSHOT.equalsIgnoreCase(this.qualifier) && SNAPSHOT.equalsIgnoreCase(otherVersion.getQualifier())) {
+            if (SNAPSHOT.equalsIgnoreCase(qualifier) && SNAPSHOT.equalsIgnoreCase(otherVersion.getQualifier())) {
                 if (result == 0 && this.timestamp != null && otherVersion.timestamp != null) {
                     result = new NaturalOrderComparator().compare(this.timestamp, otherVersion.timestamp);
                 }
@@ -327,11 +300,11 @@ public class MavenVersion implements Serializable, Comparable<MavenVersion> {
                 }
             }
         } else {
-            if (result == 0 && this.qualifier == null && otherVersion.getQualifier() != null) {
+            if (result == 0 && qualifier == null && otherVersion.getQualifier() != null) {
                 return 1;
             }
 
-            if (result == 0 && this.qualifier != null && otherVersion.getQualifier() == null) {
+            if (result == 0 && qualifier != null && otherVersion.getQualifier() == null) {
                 return -1;
             }
         }
@@ -0,0 +1,219 @@
+package com.oneandone.go.plugin.maven.util;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The immutable parts of a {@link MavenVersion} parsed out of a version string.
+ * <br>
+ * Single versions like bounds and last known versions are interned, so the same version string polled again and
+ * again is only parsed once. The version lists of metadata documents are not interned, they are parsed in bulk and
+ * kept with the response, and would otherwise flush the interned versions on every poll of a long list.
+ */
+final class ParsedVersion implements Serializable {
+
+    /** The serialization version of this class. */
+    private static final long serialVersionUID = 1L;
+
+    /** The maximum number of interned versions, the cache is cleared once it is exceeded. */
+    static final int MAX_INTERNED = 8192;
+
+    /** The interned versions by version string. */
+    private static final Map<String, ParsedVersion> INTERNED = new ConcurrentHashMap<>();
+
+    /** The original version without snapshot information. */
+    final String original;
+
+    /** The version without the qualifier. */
+    final String version;
+
+    /** The qualifier or {@code null}. */
+    final String qualifier;
+
+    /** The version digits. */
+    private final int[] digits;
+
+    /** The qualifier delimiter. */
+    final char lastDelimiter;
+
+    /** The key of the version in the Maven ordering, computed on first use. */
+    private transient volatile ComparableVersionKey comparableKey;
+
+    /**
+     * Returns the parsed version for the specified version string, parsing it only if it is not interned.
+     *
+     * @param original the trimmed version string without snapshot information
+     * @return the parsed version
+     * @throws IllegalArgumentException if the version digits could not be parsed
+     */
+    static ParsedVersion of(final String original) {
+        final ParsedVersion interned = INTERNED.get(original);
+        if (interned != null) {
+            return interned;
+        }
+        final ParsedVersion parsed = new ParsedVersion(original);
+        if (INTERNED.size() >= MAX_INTERNED) {
+            INTERNED.clear();
+        }
+        final ParsedVersion raced = INTERNED.putIfAbsent(original, parsed);
+        return raced != null ? raced : parsed;
+    }
+
+    /**
+     * Parses the specified version string without interning it, for callers that keep the parts elsewhere.
+     *
+     * @param original the trimmed version string without snapshot information
+     * @return the parsed version
+     * @throws IllegalArgumentException if the version digits could not be parsed
+     */
+    static ParsedVersion parse(final String original) {
+        return new ParsedVersion(original);
+    }
+
+    /**
+     * Returns the number of interned versions.
+     *
+     * @return the number of interned versions
+     */
+    static int internedCount() {
+        return INTERNED.size();
+    }
+
+    /**
+     * Returns {@code true} if the specified version string is interned, otherwise {@code false}.
+     *
+     * @param original the trimmed version string without snapshot information
+     * @return {@code true} if the version string is interned, otherwise {@code false}
+     */
+    static boolean isInterned(final String original) {
+        return INTERNED.containsKey(original);
+    }
+
+    private ParsedVersion(final String original) {
+        this.original = original;
+
+        final char[] delimiter = { '\0' };
+        final String versionStripped = stripVersion(original, delimiter);
+        this.lastDelimiter = delimiter[0];
+        if (versionStripped == null) {
+            this.qualifier = original;
+            this.version = "0.0.0.0";
+        } else if (versionStripped.length() < original.length()) {
+            this.qualifier = original.substring(versionStripped.length() + 1);
+            this.version = original.substring(0, versionStripped.length());
+        } else {
+            this.qualifier = null;
+            this.version = original;
+        }
+
+        this.digits = parseVersionDigits(this.version);
+    }
+
+    /** Parse the digits out of the version String.
+     * @param version a version String, like {@code "12.34.56"}.
+     * @return the parsed-out digits, example {@code int[] {12, 34, 56}}
+     * for the input {@code "12.34.56"}.
+     * @throws IllegalArgumentException if the version string is not
+     * consisting of numbers.
+     * */
+    private static int[] parseVersionDigits(String version) {
+        final StringTokenizer versionTokenizer = new StringTokenizer(version, ".");
+        final int absoluteTokenCount = versionTokenizer.countTokens();
+        final int[] digits = new int[absoluteTokenCount];
+
+        for (int i = 0; i < absoluteTokenCount; i++) {
+            try {
+                final String digit = versionTokenizer.nextToken();
+                digits[i] = Integer.parseInt(digit);
+            } catch (final NumberFormatException e) {
+                throw new IllegalArgumentException("invalid version string " + version);
+            }
+        }
+        return digits;
+    }
+
+    /**
+     * Strips the version from the specified String.
+     *
+     * @param ver the version
+     * @param lastDelimiter receives the qualifier delimiter at index 0
+     * @return the stripped version
+     */
+    private static String stripVersion(final String ver, final char[] lastDelimiter) {
+        int lastIndex = -1;
+        int counter = 0;
+
+        char delimiter = '.';
+        final char[] versionArray = ver.toCharArray();
+
+        for (char c : versionArray) {
+            if (!Character.isDigit(c)) {
+                lastIndex = counter;
+                delimiter = c;
+                if (!Character.isLetterOrDigit(c)) {
+                    lastDelimiter[0] = c;
+                }
+                break;
+            }
+
+            counter++;
+        }
+
+        String versionOnly = null;
+        if (lastIndex != -1 && ver.length() > lastIndex) {
+            final String currentVersionPart = ver.substring(0, lastIndex);
+
+            if (currentVersionPart.matches("[0-9]+")) {
+                if (lastIndex < ver.length() && delimiter == '.') {
+                    final String nextVersionPart = stripVersion(ver.substring(lastIndex + 1), lastDelimiter);
+                    if (nextVersionPart != null) {
+                        versionOnly = currentVersionPart + "." + nextVersionPart;
+                    } else {
+                        versionOnly = currentVersionPart;
+                    }
+                } else {
+                    versionOnly = currentVersionPart;
+                }
+            }
+        } else {
+            versionOnly = ver;
+        }
+
+        return versionOnly;
+    }
+
+    /**
+     * Returns the number of version digits.
+     *
+     * @return the number of version digits
+     */
+    int digitCount() {
+        return digits.length;
+    }
+
+    /**
+     * Returns the value for the specified version digit index or 0 if the index is out of bounds.
+     *
+     * @param index the digit index
+     * @return the value for the specified version digit index or 0 if the index is out of bounds
+     */
+    int digit(final int index) {
+        return index < digits.length ? digits[index] : 0;
+    }
+
+    /**
+     * Returns the key of this version in the ordering of Maven's {@code ComparableVersion}.
+     *
+     * @return the key of this version in the Maven ordering
+     */
+    ComparableVersionKey comparableKey() {
+        ComparableVersionKey key = comparableKey;
+        if (key == null) {
+            key = ComparableVersionKey.of(original);
+            comparableKey = key;
+        }
+        return key;
+    }
+}
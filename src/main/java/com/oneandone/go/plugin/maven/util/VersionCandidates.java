@@ -0,0 +1,146 @@
+package com.oneandone.go.plugin.maven.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the versions that may be the latest version without parsing all of them.
+ * <br>
+ * Every version string is ranked by a numeric prefix of its first three version digits, which is read without
+ * allocating anything. Only the versions that cannot be ruled out by their prefix are returned to be parsed to
+ * {@link MavenVersion}s: the versions sharing the highest prefix and, if an upper bound is given, the versions
+ * whose prefix equals the prefix of the bound. A version with fewer digits than needed to tell it apart from the
+ * highest prefix is kept too, as well as every version whose prefix cannot be read.
+ */
+public final class VersionCandidates {
+
+    /** The number of version digits making up the prefix. */
+    private static final int PREFIX_DIGITS = 3;
+
+    /** The number of bits the minor and the bugfix digit are packed into. */
+    private static final int LOWER_DIGIT_BITS = 16;
+
+    /** The marker for a version string whose prefix cannot be read. */
+    private static final long UNRANKED = -1L;
+
+    private VersionCandidates() {
+    }
+
+    /**
+     * Returns the versions that may be the latest version below the specified upper bound.
+     *
+     * @param versions the version strings
+     * @param upperBound the exclusive upper bound or {@code null}
+     * @return the candidate version strings in the order of {@code versions}
+     */
+    public static List<String> select(final List<String> versions, final MavenVersion upperBound) {
+        final int size = versions.size();
+        final long[] prefixes = new long[size];
+        final int[] digitCounts = new int[size];
+
+        final int[] digitCount = new int[1];
+        final long boundPrefix = upperBound != null ? prefix(upperBound.getOriginal(), digitCount) : UNRANKED;
+        if (upperBound != null && boundPrefix == UNRANKED) {
+            return versions;
+        }
+
+        long highest = UNRANKED;
+        for (int i = 0; i < size; i++) {
+            prefixes[i] = prefix(versions.get(i), digitCount);
+            digitCounts[i] = digitCount[0];
+            if (prefixes[i] != UNRANKED
+                    && (upperBound == null || isBelow(prefixes[i], digitCounts[i], boundPrefix))
+                    && prefixes[i] > highest) {
+                highest = prefixes[i];
+            }
+        }
+
+        final List<String> candidates = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final long prefix = prefixes[i];
+            if (prefix == UNRANKED) {
+                candidates.add(versions.get(i));
+            } else if (upperBound != null && isAbove(prefix, digitCounts[i], boundPrefix)) {
+                continue;
+            } else if (upperBound != null && !isBelow(prefix, digitCounts[i], boundPrefix)) {
+                candidates.add(versions.get(i));
+            } else if (highest == UNRANKED || !isBelow(prefix, digitCounts[i], highest)) {
+                candidates.add(versions.get(i));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns {@code true} if a version with the first prefix is lower than every version with the second prefix,
+     * no matter which digits and qualifiers follow the prefixes.
+     */
+    private static boolean isBelow(final long prefix, final int digitCount, final long otherPrefix) {
+        return prefix < otherPrefix && firstDifference(prefix, otherPrefix) < digitCount;
+    }
+
+    /** Returns {@code true} if a version with the first prefix is higher than every version with the second prefix. */
+    private static boolean isAbove(final long prefix, final int digitCount, final long otherPrefix) {
+        return prefix > otherPrefix && firstDifference(prefix, otherPrefix) < digitCount;
+    }
+
+    /** Returns the index of the first version digit that differs between the prefixes or the prefix length if none does. */
+    private static int firstDifference(final long prefix, final long otherPrefix) {
+        for (int i = 0; i < PREFIX_DIGITS; i++) {
+            final int shift = (PREFIX_DIGITS - 1 - i) * LOWER_DIGIT_BITS;
+            if (prefix >>> shift != otherPrefix >>> shift) {
+                return i;
+            }
+        }
+        return PREFIX_DIGITS;
+    }
+
+    /**
+     * Reads the first three version digits of the specified version string the way {@link MavenVersion} parses them.
+     *
+     * @param version the version string
+     * @param digitCount receives the number of version digits at index 0, at most {@code 3}
+     * @return the digits packed into a non-negative number ordered like the digits or {@link #UNRANKED}
+     */
+    static long prefix(final String version, final int[] digitCount) {
+        int index = 0;
+        final int length = version.length();
+        while (index < length && version.charAt(index) <= ' ') {
+            index++;
+        }
+        if (index == length || !Character.isDigit(version.charAt(index))) {
+            // no leading digit, parsed as version 0.0.0.0 with the whole string as qualifier
+            digitCount[0] = PREFIX_DIGITS;
+            return 0L;
+        }
+
+        long prefix = 0L;
+        int digits = 0;
+        while (digits < PREFIX_DIGITS) {
+            long value = 0L;
+            final int start = index;
+            while (index < length && Character.isDigit(version.charAt(index))) {
+                value = value * 10 + Character.digit(version.charAt(index), 10);
+                if (value > (digits == 0 ? Integer.MAX_VALUE : (1L << LOWER_DIGIT_BITS) - 1)) {
+                    return UNRANKED;
+                }
+                index++;
+            }
+            if (index == start) {
+                break;
+            }
+            prefix = prefix << LOWER_DIGIT_BITS | value;
+            digits++;
+            if (index + 1 < length && version.charAt(index) == '.' && Character.isDigit(version.charAt(index + 1))) {
+                index++;
+            } else {
+                break;
+            }
+        }
+        digitCount[0] = digits;
+        for (int i = digits; i < PREFIX_DIGITS; i++) {
+            prefix <<= LOWER_DIGIT_BITS;
+        }
+        return prefix;
+    }
+}
@@ -0,0 +1,313 @@
+package com.oneandone.go.plugin.maven.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled predicate selecting the versions a package polls for.
+ * <br>
+ * The filter combines a Maven version range like {@code [1.0,2.0)} or {@code (,1.5],[2.0,)}, lists of qualifiers to
+ * include or exclude with {@code *} as wildcard, and whether snapshots and releases are polled at all. It is compiled
+ * once from the package configuration and evaluated on the columns of a {@link VersionTable}, so versions rejected by
+ * the filter are never parsed to {@link MavenVersion}s.
+ * <br>
+ * The range is evaluated in the {@link VersionOrdering} of the package, the table is only used for the
+ * {@link VersionOrdering#PLUGIN plugin ordering}.
+ */
+public final class VersionFilter {
+
+    /** The filter accepting all versions. */
+    public static final VersionFilter ALL = new VersionFilter(Collections.emptyList(), null, null, true, true, VersionOrdering.PLUGIN);
+
+    /** The snapshot qualifier. */
+    private static final String SNAPSHOT = "SNAPSHOT";
+
+    /** The ranges a version has to be in any of, all versions if empty. */
+    private final List<Range> ranges;
+
+    /** The qualifier patterns a qualifier has to match any of or {@code null} for all qualifiers. */
+    private final List<Pattern> includedQualifiers;
+
+    /** The qualifier patterns a qualifier must not match any of or {@code null} for none. */
+    private final List<Pattern> excludedQualifiers;
+
+    /** Whether snapshot versions are accepted. */
+    private final boolean snapshots;
+
+    /** Whether release versions are accepted. */
+    private final boolean releases;
+
+    /** The ordering the ranges are evaluated in. */
+    private final VersionOrdering ordering;
+
+    private VersionFilter(final List<Range> ranges, final List<Pattern> includedQualifiers, final List<Pattern> excludedQualifiers,
+                          final boolean snapshots, final boolean releases, final VersionOrdering ordering) {
+        this.ranges = ranges;
+        this.includedQualifiers = includedQualifiers;
+        this.excludedQualifiers = excludedQualifiers;
+        this.snapshots = snapshots;
+        this.releases = releases;
+        this.ordering = ordering;
+    }
+
+    /**
+     * Compiles the filter for the specified configuration.
+     *
+     * @param range the Maven version range or {@code null} for all versions
+     * @param includedQualifiers the comma separated qualifiers to poll or {@code null} for all qualifiers
+     * @param excludedQualifiers the comma separated qualifiers to ignore or {@code null} for none
+     * @param snapshots whether snapshot versions are polled
+     * @param releases whether release versions are polled
+     * @return the compiled filter
+     * @throws IllegalArgumentException if the range or a version within it is invalid
+     */
+    public static VersionFilter of(final String range, final String includedQualifiers, final String excludedQualifiers, final boolean snapshots, final boolean releases) {
+        return of(range, includedQualifiers, excludedQualifiers, snapshots, releases, VersionOrdering.PLUGIN);
+    }
+
+    /**
+     * Compiles the filter for the specified configuration evaluating the range in the specified ordering.
+     *
+     * @param range the Maven version range or {@code null} for all versions
+     * @param includedQualifiers the comma separated qualifiers to poll or {@code null} for all qualifiers
+     * @param excludedQualifiers the comma separated qualifiers to ignore or {@code null} for none
+     * @param snapshots whether snapshot versions are polled
+     * @param releases whether release versions are polled
+     * @param ordering the ordering of the versions
+     * @return the compiled filter
+     * @throws IllegalArgumentException if the range or a version within it is invalid
+     */
+    public static VersionFilter of(final String range, final String includedQualifiers, final String excludedQualifiers,
+                                   final boolean snapshots, final boolean releases, final VersionOrdering ordering) {
+        final List<Range> ranges = isBlank(range) ? Collections.emptyList() : parseRanges(range.trim(), ordering);
+        final List<Pattern> included = isBlank(includedQualifiers) ? null : compileQualifiers(includedQualifiers);
+        final List<Pattern> excluded = isBlank(excludedQualifiers) ? null : compileQualifiers(excludedQualifiers);
+        if (ranges.isEmpty() && included == null && excluded == null && snapshots && releases && ordering == VersionOrdering.PLUGIN) {
+            return ALL;
+        }
+        return new VersionFilter(ranges, included, excluded, snapshots, releases, ordering);
+    }
+
+    private static boolean isBlank(final String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Returns {@code true} if this filter accepts all versions, otherwise {@code false}.
+     *
+     * @return {@code true} if this filter accepts all versions, otherwise {@code false}
+     */
+    public boolean acceptsAll() {
+        return this == ALL;
+    }
+
+    /**
+     * Returns the ordering the range of this filter is evaluated in.
+     *
+     * @return the ordering of the versions
+     */
+    public VersionOrdering getOrdering() {
+        return ordering;
+    }
+
+    /**
+     * Returns {@code true} if this filter accepts the specified version, otherwise {@code false}.
+     *
+     * @param version the version
+     * @return {@code true} if this filter accepts the specified version, otherwise {@code false}
+     */
+    public boolean accepts(final MavenVersion version) {
+        return acceptsQualifier(version.getQualifier()) && inRange(bound -> ordering.compare(version, bound.version));
+    }
+
+    /**
+     * Returns {@code true} if this filter accepts versions with the specified qualifier, otherwise {@code false}.
+     *
+     * @param qualifier the qualifier or {@code null} for versions without qualifier
+     * @return {@code true} if this filter accepts versions with the specified qualifier, otherwise {@code false}
+     */
+    boolean acceptsQualifier(final String qualifier) {
+        if (SNAPSHOT.equalsIgnoreCase(qualifier)) {
+            return snapshots;
+        }
+        if (!releases) {
+            return false;
+        }
+        if (qualifier == null) {
+            return true;
+        }
+        return (includedQualifiers == null || matchesAny(includedQualifiers, qualifier))
+                && (excludedQualifiers == null || !matchesAny(excludedQualifiers, qualifier));
+    }
+
+    /**
+     * Returns {@code true} if a version is within any of the ranges of this filter, otherwise {@code false}.
+     *
+     * @param comparison compares the version with a range bound
+     * @return {@code true} if the version is within any of the ranges, otherwise {@code false}
+     */
+    boolean inRange(final ToIntFunction<Bound> comparison) {
+        if (ranges.isEmpty()) {
+            return true;
+        }
+        for (final Range range : ranges) {
+            if (range.contains(comparison)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAny(final List<Pattern> patterns, final String qualifier) {
+        for (final Pattern pattern : patterns) {
+            if (pattern.matcher(qualifier).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Compiles the comma separated qualifiers with {@code *} as wildcard into case insensitive patterns. */
+    private static List<Pattern> compileQualifiers(final String qualifiers) {
+        final List<Pattern> patterns = new ArrayList<>();
+        for (final String qualifier : qualifiers.split(",")) {
+            final String trimmed = qualifier.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            final String[] parts = trimmed.split("\\*", -1);
+            final StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    regex.append(".*");
+                }
+                if (!parts[i].isEmpty()) {
+                    regex.append(Pattern.quote(parts[i]));
+                }
+            }
+            patterns.add(Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE));
+        }
+        return patterns;
+    }
+
+    /**
+     * Parses a Maven version range specification like {@code [1.0,2.0)}, {@code [1.5]} or {@code (,1.0],[1.2,)}.
+     *
+     * @param spec the trimmed range specification
+     * @param ordering the ordering of the versions
+     * @return the ranges
+     * @throws IllegalArgumentException if the specification is invalid
+     */
+    private static List<Range> parseRanges(final String spec, final VersionOrdering ordering) {
+        final List<Range> ranges = new ArrayList<>();
+        int index = 0;
+        while (index < spec.length()) {
+            final char open = spec.charAt(index);
+            if (open != '[' && open != '(') {
+                throw new IllegalArgumentException("version range " + spec + " must consist of ranges in brackets");
+            }
+            int close = index + 1;
+            while (close < spec.length() && spec.charAt(close) != ']' && spec.charAt(close) != ')') {
+                close++;
+            }
+            if (close == spec.length()) {
+                throw new IllegalArgumentException("unbounded range in version range " + spec);
+            }
+            ranges.add(parseRange(spec.substring(index, close + 1), ordering));
+
+            index = close + 1;
+            while (index < spec.length() && Character.isWhitespace(spec.charAt(index))) {
+                index++;
+            }
+            if (index < spec.length()) {
+                if (spec.charAt(index) != ',') {
+                    throw new IllegalArgumentException("ranges in version range " + spec + " must be separated by commas");
+                }
+                index++;
+                while (index < spec.length() && Character.isWhitespace(spec.charAt(index))) {
+                    index++;
+                }
+                if (index == spec.length()) {
+                    throw new IllegalArgumentException("version range " + spec + " ends with a comma");
+                }
+            }
+        }
+        return Collections.unmodifiableList(ranges);
+    }
+
+    /** Parses a single range in brackets. */
+    private static Range parseRange(final String range, final VersionOrdering ordering) {
+        final boolean lowerInclusive = range.charAt(0) == '[';
+        final boolean upperInclusive = range.charAt(range.length() - 1) == ']';
+        final String content = range.substring(1, range.length() - 1);
+        final int comma = content.indexOf(',');
+        if (comma < 0) {
+            if (!lowerInclusive || !upperInclusive || content.trim().isEmpty()) {
+                throw new IllegalArgumentException("single version range " + range + " must be of the form [version]");
+            }
+            final Bound version = new Bound(content.trim());
+            return new Range(version, true, version, true);
+        }
+        if (content.indexOf(',', comma + 1) >= 0) {
+            throw new IllegalArgumentException("range " + range + " must have at most two bounds");
+        }
+        final String lower = content.substring(0, comma).trim();
+        final String upper = content.substring(comma + 1).trim();
+        final Range parsed = new Range(lower.isEmpty() ? null : new Bound(lower), lowerInclusive, upper.isEmpty() ? null : new Bound(upper), upperInclusive);
+        if (parsed.lower != null && parsed.upper != null && ordering.compare(parsed.lower.version, parsed.upper.version) > 0) {
+            throw new IllegalArgumentException("lower bound of range " + range + " is greater than its upper bound");
+        }
+        return parsed;
+    }
+
+    /** A bound of a range, parsed for both versions and table rows. */
+    static final class Bound {
+
+        /** The bound as version. */
+        final MavenVersion version;
+
+        /** The bound as parsed version. */
+        final ParsedVersion parsed;
+
+        private Bound(final String version) {
+            this.version = new MavenVersion(version);
+            this.parsed = ParsedVersion.of(this.version.getOriginal());
+        }
+    }
+
+    /** A single range with optional bounds. */
+    private static final class Range {
+
+        private final Bound lower;
+
+        private final boolean lowerInclusive;
+
+        private final Bound upper;
+
+        private final boolean upperInclusive;
+
+        private Range(final Bound lower, final boolean lowerInclusive, final Bound upper, final boolean upperInclusive) {
+            this.lower = lower;
+            this.lowerInclusive = lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upperInclusive;
+        }
+
+        private boolean contains(final ToIntFunction<Bound> comparison) {
+            if (lower != null) {
+                final int result = comparison.applyAsInt(lower);
+                if (result < 0 || result == 0 && !lowerInclusive) {
+                    return false;
+                }
+            }
+            if (upper != null) {
+                final int result = comparison.applyAsInt(upper);
+                return result < 0 || result == 0 && upperInclusive;
+            }
+            return true;
+        }
+    }
+}
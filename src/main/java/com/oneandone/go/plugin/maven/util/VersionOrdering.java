@@ -0,0 +1,98 @@
+package com.oneandone.go.plugin.maven.util;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * The orderings the latest version of a package can be determined by.
+ */
+public enum VersionOrdering implements Comparator<MavenVersion> {
+
+    /**
+     * The ordering of {@link MavenVersion#compareTo(MavenVersion)}: versions by their digits, a version without
+     * qualifier after the same version with qualifier and qualifiers in natural order.
+     */
+    PLUGIN {
+        @Override
+        public int compare(final MavenVersion version, final MavenVersion otherVersion) {
+            return version.compareTo(otherVersion);
+        }
+    },
+
+    /**
+     * The ordering of Maven's {@code ComparableVersion}, with the known qualifiers ordered
+     * {@code alpha < beta < milestone < rc < snapshot < release < sp}. Snapshots of the same version are ordered
+     * by their timestamp and build number.
+     */
+    MAVEN {
+        @Override
+        public int compare(final MavenVersion version, final MavenVersion otherVersion) {
+            final int result = version.comparableKey().compareTo(otherVersion.comparableKey());
+            if (result == 0 && version.isSnapshot() && otherVersion.isSnapshot()) {
+                return version.compareTo(otherVersion);
+            }
+            return result;
+        }
+    };
+
+    /**
+     * Returns the ordering with the specified name ignoring case.
+     *
+     * @param name the name of the ordering
+     * @return the ordering
+     * @throws IllegalArgumentException if there is no ordering with the specified name
+     */
+    public static VersionOrdering of(final String name) {
+        for (final VersionOrdering ordering : values()) {
+            if (ordering.name().equalsIgnoreCase(name.trim())) {
+                return ordering;
+            }
+        }
+        throw new IllegalArgumentException("unknown version ordering " + name + ", expected plugin or maven");
+    }
+
+    /**
+     * Returns the highest of the specified versions, the first one of equal versions.
+     * <br>
+     * Lists of at least {@link VersionTable#PARALLEL_VERSIONS} versions are reduced in parallel.
+     *
+     * @param versions the versions, not empty
+     * @return the highest version
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public MavenVersion max(final List<MavenVersion> versions) {
+        final BinaryOperator<MavenVersion> max = (version, otherVersion) -> compare(otherVersion, version) > 0 ? otherVersion : version;
+        return stream(versions).reduce(max).orElseThrow(NoSuchElementException::new);
+    }
+
+    /**
+     * Returns the highest of the specified versions below the specified upper bound, the last one of equal versions.
+     * <br>
+     * Lists of at least {@link VersionTable#PARALLEL_VERSIONS} versions are reduced in parallel.
+     *
+     * @param versions the versions
+     * @param upperBound the exclusive upper bound
+     * @return the highest version below the upper bound or {@code null} if there is none
+     */
+    public MavenVersion maxBelow(final List<MavenVersion> versions, final MavenVersion upperBound) {
+        final BinaryOperator<MavenVersion> max = (version, otherVersion) -> compare(otherVersion, version) >= 0 ? otherVersion : version;
+        return stream(versions).filter(version -> compare(version, upperBound) < 0).reduce(max).orElse(null);
+    }
+
+    private static Stream<MavenVersion> stream(final List<MavenVersion> versions) {
+        return versions.size() >= VersionTable.PARALLEL_VERSIONS ? versions.parallelStream() : versions.stream();
+    }
+
+    /**
+     * Returns the name of this ordering as used in the package configuration.
+     *
+     * @return the name of this ordering in lower case
+     */
+    public String getName() {
+        return name().toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,353 @@
+package com.oneandone.go.plugin.maven.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+/**
+ * A compact, immutable store of a long version list.
+ * <br>
+ * Instead of a {@link MavenVersion} per version the table keeps a few columns: the version digits of all versions
+ * packed into a single array with an offset per version, the qualifiers deduplicated into a small dictionary and
+ * referenced by index, and an index of all versions sorted by the {@link MavenVersion} ordering. The version strings
+ * themselves are not copied, the table refers to the list it was built from.
+ * <br>
+ * Tables are immutable and may be shared by all materials polling the same metadata, whatever bounds they use.
+ * <br>
+ * Version strings that cannot be parsed are not stored in the columns, they are always returned as candidates so
+ * that parsing them fails the same way as without the table.
+ * <br>
+ * Tables of at least {@link #PARALLEL_VERSIONS} versions are parsed and sorted in parallel on the common fork/join
+ * pool. The columns are packed in list order and the sort is stable, so the table is the same either way.
+ */
+public final class VersionTable {
+
+    /** The minimum number of versions a table is worth building for. */
+    public static final int MIN_VERSIONS = 1000;
+
+    /** The minimum number of versions worth parsing, sorting and reducing in parallel. */
+    public static final int PARALLEL_VERSIONS = 10_000;
+
+    /** The snapshot qualifier. */
+    private static final String SNAPSHOT = "SNAPSHOT";
+
+    /** The qualifier index of versions without qualifier. */
+    private static final int NO_QUALIFIER = -1;
+
+    /** The comparator for qualifiers, the same as used by {@link MavenVersion}. */
+    private static final NaturalOrderComparator QUALIFIER_ORDER = new NaturalOrderComparator();
+
+    /** The version strings the table was built from. */
+    private final List<String> versions;
+
+    /** The version digits of all versions, the digits of version {@code i} start at {@code digitOffsets[i]}. */
+    private final int[] digits;
+
+    /** The offsets into {@link #digits} with one additional entry for the end of the last version. */
+    private final int[] digitOffsets;
+
+    /** The qualifier of each version as index into {@link #qualifiers} or {@link #NO_QUALIFIER}. */
+    private final int[] qualifierIndices;
+
+    /** The distinct qualifiers. */
+    private final String[] qualifiers;
+
+    /** The versions that could be parsed sorted by the {@link MavenVersion} ordering, ties in list order. */
+    private final int[] sorted;
+
+    /** The versions that could not be parsed in list order. */
+    private final int[] unparseable;
+
+    /**
+     * Builds the table for the specified version strings.
+     *
+     * @param versions the version strings, must not be modified afterwards
+     * @return the table
+     */
+    public static VersionTable of(final List<String> versions) {
+        return new VersionTable(versions);
+    }
+
+    private VersionTable(final List<String> versions) {
+        this.versions = versions;
+        final int size = versions.size();
+        this.digitOffsets = new int[size + 1];
+        this.qualifierIndices = new int[size];
+
+        int[] digitColumn = new int[size * 3];
+        int digitCount = 0;
+        final Map<String, Integer> qualifierDictionary = new HashMap<>();
+        final List<String> qualifierList = new ArrayList<>();
+        final int[] parsedRows = new int[size];
+        int parsedCount = 0;
+        final int[] unparseableRows = new int[size];
+        int unparseableCount = 0;
+
+        final ParsedVersion[] parsedVersions = new ParsedVersion[size];
+        if (size >= PARALLEL_VERSIONS) {
+            IntStream.range(0, size).parallel().forEach(row -> parsedVersions[row] = parse(versions.get(row)));
+        } else {
+            for (int row = 0; row < size; row++) {
+                parsedVersions[row] = parse(versions.get(row));
+            }
+        }
+
+        for (int row = 0; row < size; row++) {
+            digitOffsets[row] = digitCount;
+            final ParsedVersion parsed = parsedVersions[row];
+            if (parsed == null) {
+                qualifierIndices[row] = NO_QUALIFIER;
+                unparseableRows[unparseableCount++] = row;
+                continue;
+            }
+            if (digitCount + parsed.digitCount() > digitColumn.length) {
+                digitColumn = Arrays.copyOf(digitColumn, Math.max(digitColumn.length * 2, digitCount + parsed.digitCount()));
+            }
+            for (int i = 0; i < parsed.digitCount(); i++) {
+                digitColumn[digitCount++] = parsed.digit(i);
+            }
+            if (parsed.qualifier == null) {
+                qualifierIndices[row] = NO_QUALIFIER;
+            } else {
+                qualifierIndices[row] = qualifierDictionary.computeIfAbsent(parsed.qualifier, qualifier -> {
+                    qualifierList.add(qualifier);
+                    return qualifierList.size() - 1;
+                });
+            }
+            parsedRows[parsedCount++] = row;
+        }
+        digitOffsets[size] = digitCount;
+
+        this.digits = Arrays.copyOf(digitColumn, digitCount);
+        this.qualifiers = qualifierList.toArray(new String[0]);
+        this.unparseable = Arrays.copyOf(unparseableRows, unparseableCount);
+        this.sorted = Arrays.copyOf(parsedRows, parsedCount);
+        sort(sorted, new int[parsedCount], 0, parsedCount);
+    }
+
+    /** Parses the specified version string the way {@link MavenVersion} does or returns {@code null} if it cannot be parsed. */
+    private static ParsedVersion parse(final String version) {
+        final String trimmed = version.trim();
+        if (trimmed.isEmpty() || trimmed.contains(" (")) {
+            // empty or with snapshot information, left to MavenVersion
+            return null;
+        }
+        try {
+            return ParsedVersion.parse(trimmed);
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of versions in the table.
+     *
+     * @return the number of versions in the table
+     */
+    public int size() {
+        return versions.size();
+    }
+
+    /**
+     * Returns the number of distinct qualifiers.
+     *
+     * @return the number of distinct qualifiers
+     */
+    public int qualifierCount() {
+        return qualifiers.length;
+    }
+
+    /**
+     * Returns the versions that may be the latest version within the specified bounds: all versions equal to the
+     * highest version below the upper bound if that version is not below the lower bound, and all versions that
+     * could not be parsed.
+     * <br>
+     * The highest version below the upper bound is found by a binary search on the sorted index, so a table can be
+     * queried with different bounds cheaply.
+     *
+     * @param lowerBound the inclusive lower bound or {@code null}
+     * @param upperBound the exclusive upper bound or {@code null}
+     * @return the candidate version strings in the order of the list the table was built from
+     */
+    public List<String> candidatesWithin(final MavenVersion lowerBound, final MavenVersion upperBound) {
+        return candidatesWithin(lowerBound, upperBound, VersionFilter.ALL);
+    }
+
+    /**
+     * Returns the versions that may be the latest version within the specified bounds accepted by the specified
+     * filter, and all versions that could not be parsed.
+     * <br>
+     * Starting at the highest version below the upper bound, the sorted index is walked down to the first version
+     * accepted by the filter. The filter is evaluated on the columns of the table, the qualifiers are only matched
+     * once per query.
+     *
+     * @param lowerBound the inclusive lower bound or {@code null}
+     * @param upperBound the exclusive upper bound or {@code null}
+     * @param filter the filter for the versions
+     * @return the candidate version strings in the order of the list the table was built from
+     */
+    public List<String> candidatesWithin(final MavenVersion lowerBound, final MavenVersion upperBound, final VersionFilter filter) {
+        final int end = upperBound != null ? firstNotBelow(ParsedVersion.of(upperBound.getOriginal())) : sorted.length;
+        final boolean[] acceptedQualifiers = new boolean[qualifiers.length + 1];
+        for (int i = 0; i < qualifiers.length; i++) {
+            acceptedQualifiers[i] = filter.acceptsQualifier(qualifiers[i]);
+        }
+        acceptedQualifiers[qualifiers.length] = filter.acceptsQualifier(null);
+
+        int top = end - 1;
+        while (top >= 0 && !accepts(sorted[top], filter, acceptedQualifiers)) {
+            top--;
+        }
+
+        final List<Integer> rows = new ArrayList<>();
+        if (top >= 0 && (lowerBound == null || compareTo(sorted[top], ParsedVersion.of(lowerBound.getOriginal())) >= 0)) {
+            for (int i = top; i >= 0 && compare(sorted[i], sorted[top]) == 0; i--) {
+                if (accepts(sorted[i], filter, acceptedQualifiers)) {
+                    rows.add(sorted[i]);
+                }
+            }
+        }
+        for (final int row : unparseable) {
+            rows.add(row);
+        }
+        Collections.sort(rows);
+
+        final List<String> candidates = new ArrayList<>(rows.size());
+        for (final int row : rows) {
+            candidates.add(versions.get(row));
+        }
+        return candidates;
+    }
+
+    /** Returns {@code true} if the filter accepts the specified row with the qualifiers accepted by the filter. */
+    private boolean accepts(final int row, final VersionFilter filter, final boolean[] acceptedQualifiers) {
+        final int qualifierIndex = qualifierIndices[row];
+        return acceptedQualifiers[qualifierIndex == NO_QUALIFIER ? qualifiers.length : qualifierIndex]
+                && filter.inRange(bound -> compareTo(row, bound.parsed));
+    }
+
+    /** Returns the position of the first version in the sorted index that is not below the specified version. */
+    private int firstNotBelow(final ParsedVersion version) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (compareTo(sorted[middle], version) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the estimated number of bytes the columns of the table occupy on a 64 bit JVM with compressed
+     * references. The version strings the table refers to are not included.
+     *
+     * @return the estimated size of the table in bytes
+     */
+    public long estimatedBytes() {
+        long bytes = arrayBytes(digits.length) + arrayBytes(digitOffsets.length) + arrayBytes(qualifierIndices.length)
+                + arrayBytes(sorted.length) + arrayBytes(unparseable.length) + arrayBytes(qualifiers.length);
+        for (final String qualifier : qualifiers) {
+            bytes += 24 + arrayBytes(qualifier.length() / 4 + 1);
+        }
+        return bytes;
+    }
+
+    /** Returns the size of an array of 32 bit elements with the specified length. */
+    private static long arrayBytes(final int length) {
+        return 16 + 4L * length;
+    }
+
+    /**
+     * Sorts the specified range of rows stably by the {@link MavenVersion} ordering, the halves of ranges of at
+     * least {@link #PARALLEL_VERSIONS} rows in parallel.
+     */
+    private void sort(final int[] rows, final int[] buffer, final int from, final int to) {
+        if (to - from < 2) {
+            return;
+        }
+        final int middle = (from + to) >>> 1;
+        if (to - from >= PARALLEL_VERSIONS) {
+            ForkJoinTask.invokeAll(
+                    ForkJoinTask.adapt(() -> sort(rows, buffer, from, middle)),
+                    ForkJoinTask.adapt(() -> sort(rows, buffer, middle, to)));
+        } else {
+            sort(rows, buffer, from, middle);
+            sort(rows, buffer, middle, to);
+        }
+        if (compare(rows[middle - 1], rows[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < middle && compare(buffer[left], buffer[right]) <= 0) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+
+    /** Compares two rows like {@link MavenVersion#compareTo(MavenVersion)} compares versions without snapshot information. */
+    private int compare(final int row, final int otherRow) {
+        final int result = compareDigits(row, otherRow);
+        if (result != 0) {
+            return result;
+        }
+        return compareQualifiers(qualifierOf(row), qualifierOf(otherRow));
+    }
+
+    /** Compares a row with the specified parsed version. */
+    private int compareTo(final int row, final ParsedVersion version) {
+        final int offset = digitOffsets[row];
+        final int count = digitOffsets[row + 1] - offset;
+        final int digitCount = Math.max(count, version.digitCount());
+        for (int i = 0; i < digitCount; i++) {
+            final int result = Integer.compare(i < count ? digits[offset + i] : 0, version.digit(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return compareQualifiers(qualifierOf(row), version.qualifier);
+    }
+
+    private int compareDigits(final int row, final int otherRow) {
+        final int offset = digitOffsets[row];
+        final int count = digitOffsets[row + 1] - offset;
+        final int otherOffset = digitOffsets[otherRow];
+        final int otherCount = digitOffsets[otherRow + 1] - otherOffset;
+        final int digitCount = Math.max(count, otherCount);
+        for (int i = 0; i < digitCount; i++) {
+            final int result = Integer.compare(i < count ? digits[offset + i] : 0, i < otherCount ? digits[otherOffset + i] : 0);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private String qualifierOf(final int row) {
+        final int index = qualifierIndices[row];
+        return index == NO_QUALIFIER ? null : qualifiers[index];
+    }
+
+    private static int compareQualifiers(final String qualifier, final String otherQualifier) {
+        if (qualifier == null || otherQualifier == null) {
+            return qualifier == null ? (otherQualifier == null ? 0 : 1) : -1;
+        }
+        if (SNAPSHOT.equalsIgnoreCase(qualifier) && SNAPSHOT.equalsIgnoreCase(otherQualifier)) {
+            return 0;
+        }
+        return QUALIFIER_ORDER.compare(qualifier, otherQualifier);
+    }
+}
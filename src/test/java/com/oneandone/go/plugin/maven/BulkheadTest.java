@@ -0,0 +1,94 @@
+package com.oneandone.go.plugin.maven;
+
+import com.oneandone.go.plugin.maven.client.IoExecutor;
+import com.thoughtworks.go.plugin.api.response.DefaultGoPluginApiResponse;
+import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.*;
+
+public class BulkheadTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final Bulkhead bulkhead = new Bulkhead(1, 1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    private GoPluginApiResponse blocked() {
+        try {
+            release.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return DefaultGoPluginApiResponse.success("blocked");
+    }
+
+    private static void await(final BooleanSupplier condition) throws InterruptedException {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < end) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private void saturate() throws InterruptedException {
+        callers.execute(() -> bulkhead.call("running", this::blocked, TIMEOUT));
+        await(() -> bulkhead.getActivePolls() == 1);
+        callers.execute(() -> bulkhead.call("queued", this::blocked, TIMEOUT));
+        await(() -> bulkhead.getQueueDepth() == 1);
+    }
+
+    @Test
+    public void testCall() {
+        final GoPluginApiResponse response = bulkhead.call("key", () -> DefaultGoPluginApiResponse.success("body"), TIMEOUT);
+        assertEquals("body", response.responseBody());
+        assertEquals(0, bulkhead.getRejections());
+    }
+
+    @Test
+    public void testPollRunsOnIoThread() {
+        final GoPluginApiResponse response = bulkhead.call("key", () -> DefaultGoPluginApiResponse.success(String.valueOf(IoExecutor.isIoThread())), TIMEOUT);
+        assertEquals("true", response.responseBody());
+    }
+
+    @Test
+    public void testRejectionWithoutLastResponse() throws Exception {
+        saturate();
+        final GoPluginApiResponse response = bulkhead.call("key", () -> DefaultGoPluginApiResponse.success("body"), TIMEOUT);
+        assertEquals(DefaultGoPluginApiResponse.INTERNAL_ERROR, response.responseCode());
+        assertEquals(1, bulkhead.getRejections());
+    }
+
+    @Test
+    public void testRejectionWithLastResponse() throws Exception {
+        bulkhead.call("key", () -> DefaultGoPluginApiResponse.success("body"), TIMEOUT);
+        saturate();
+        final GoPluginApiResponse response = bulkhead.call("key", () -> DefaultGoPluginApiResponse.success("other"), TIMEOUT);
+        assertEquals("body", response.responseBody());
+        assertEquals(1, bulkhead.getRejections());
+    }
+
+    @Test
+    public void testTimeout() {
+        final GoPluginApiResponse response = bulkhead.call("key", this::blocked, Duration.ofMillis(50));
+        assertEquals(DefaultGoPluginApiResponse.INTERNAL_ERROR, response.responseCode());
+        assertEquals(1, bulkhead.getTimeouts());
+    }
+}
@@ -28,7 +28,20 @@ public class ConfigurationProviderTest {
                 ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_PASSWORD,
                 ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_PROXY,
                 ConfigurationProperties.REPOSITORY_CONFIGURATION_TIME_ZONE,
-                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_LATEST_VERSION_TAG
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_LATEST_VERSION_TAG,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_INCREMENTAL_METADATA,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CHECKSUM_PROBE,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CONNECT_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_RESPONSE_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CONNECTION_REQUEST_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_POLL_TIMEOUT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_FAILURE_RATIO,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_CIRCUIT_BREAKER_COOL_DOWN,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MAX_CONCURRENT_REQUESTS,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_RATE_LIMIT,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_HEDGE_REQUESTS,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_MIRROR_URLS,
+                ConfigurationProperties.REPOSITORY_CONFIGURATION_KEY_PLUGIN_THREADS
         );
         assertTrue(result.success());
     }
@@ -19,8 +19,10 @@ import org.eclipse.jetty.util.security.Credential;
 import java.io.File;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** An embedded server that serves resources from a filesystem path. */
 public class EmbeddedHttpServer {
@@ -40,6 +42,9 @@ public class EmbeddedHttpServer {
 
     private SecurityHandler securityHandler;
 
+    /** The number of responses sent by status code. */
+    private final Map<Integer, AtomicInteger> responseCounts = new ConcurrentHashMap<>();
+
     /** Creates a new instance.
      * */
     public EmbeddedHttpServer() {
@@ -49,6 +54,7 @@ public class EmbeddedHttpServer {
         final ServerConnector serverConnector = new ServerConnector(server);
         serverConnector.setPort(0);
         server.addConnector(serverConnector);
+        server.setRequestLog((request, response) -> responseCounts.computeIfAbsent(response.getStatus(), status -> new AtomicInteger()).incrementAndGet());
 
         serverRunnable = () -> {
             try {
@@ -137,6 +143,21 @@ public class EmbeddedHttpServer {
         return runningPort;
     }
 
+    /**
+     * Returns the number of responses with the specified status code sent since the last reset.
+     * @param status the HTTP status code.
+     * @return the number of responses.
+     */
+    public int getResponseCount(final int status) {
+        final AtomicInteger count = responseCounts.get(status);
+        return count != null ? count.get() : 0;
+    }
+
+    /** Resets the response counts. */
+    public void resetResponseCounts() {
+        responseCounts.clear();
+    }
+
     public void start() {
         executorService = Executors.newSingleThreadExecutor();
         executorService.submit(serverRunnable);
@@ -5,6 +5,7 @@ import com.oneandone.go.plugin.maven.message.ConfigurationMessage;
 import com.oneandone.go.plugin.maven.message.PackageMaterialProperties;
 import com.oneandone.go.plugin.maven.message.PackageRevisionMessage;
 import com.oneandone.go.plugin.maven.util.JsonUtil;
+import org.apache.hc.core5.http.HttpStatus;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -17,6 +18,7 @@ import java.time.ZonedDateTime;
 import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class MavenRepositoryPollerBasicAuthTest {
@@ -89,6 +91,18 @@ public class MavenRepositoryPollerBasicAuthTest {
         assertEquals("5.1.14", latestRevision.getRevision());
     }
 
+    @Test
+    public void testGetLatestRevisionResolvesPomWithCredentialsInUsername() {
+        embeddedHttpServer.resetResponseCounts();
+        final MavenRepositoryPoller mavenPoller = new MavenRepositoryPoller();
+        final PackageRevisionMessage latestRevision = mavenPoller.getLatestRevision(packageConfiguration, repositoryConfiguration);
+        assertNull(latestRevision.getDataFor("ERRORMSG"));
+        assertTrue(latestRevision.getDataFor("LOCATION").startsWith("http://" + USER + ":" + PASSWORD + "@localhost:"));
+        // the credentials are sent preemptively, the server never challenges a request
+        assertTrue(embeddedHttpServer.getResponseCount(HttpStatus.SC_OK) > 0);
+        assertEquals(0, embeddedHttpServer.getResponseCount(HttpStatus.SC_UNAUTHORIZED));
+    }
+
     @Test
     public void testLatestModificationSince() {
         final MavenRepositoryPoller mavenPoller = new MavenRepositoryPoller();
@@ -0,0 +1,119 @@
+package com.oneandone.go.plugin.maven.client;
+
+import org.apache.hc.client5.http.DnsResolver;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class CachingDnsResolverTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    private final DnsResolver delegate = new DnsResolver() {
+        @Override
+        public InetAddress[] resolve(final String host) throws UnknownHostException {
+            return new InetAddress[] { InetAddress.getByAddress(host, new byte[] { 10, 0, 0, (byte) lookups.incrementAndGet() }) };
+        }
+
+        @Override
+        public String resolveCanonicalHostname(final String host) {
+            return host;
+        }
+    };
+
+    private final CachingDnsResolver resolver = new CachingDnsResolver(delegate, refreshes::add, now::get);
+
+    @Test
+    public void testCachesAddresses() throws UnknownHostException {
+        final InetAddress first = resolver.resolve("repo.example.org")[0];
+        assertEquals(first, resolver.resolve("repo.example.org")[0]);
+
+        assertEquals(1, lookups.get());
+        assertEquals(1, resolver.getHits());
+        assertEquals(1, resolver.getMisses());
+    }
+
+    @Test
+    public void testRefreshesInBackground() throws UnknownHostException {
+        final InetAddress first = resolver.resolve("repo.example.org")[0];
+        now.addAndGet(CachingDnsResolver.REFRESH_AFTER.toNanos());
+
+        assertEquals(first, resolver.resolve("repo.example.org")[0]);
+        assertEquals(first, resolver.resolve("repo.example.org")[0]);
+        assertEquals(1, refreshes.size());
+
+        refreshes.get(0).run();
+        assertNotEquals(first, resolver.resolve("repo.example.org")[0]);
+        assertEquals(1, resolver.getRefreshes());
+        assertEquals(1, resolver.getMisses());
+    }
+
+    @Test
+    public void testFailedRefreshIsRetried() throws UnknownHostException {
+        final AtomicInteger calls = new AtomicInteger();
+        final DnsResolver failing = new DnsResolver() {
+            @Override
+            public InetAddress[] resolve(final String host) throws UnknownHostException {
+                if (calls.incrementAndGet() == 2) {
+                    throw new IllegalStateException("resolver broken");
+                }
+                return delegate.resolve(host);
+            }
+
+            @Override
+            public String resolveCanonicalHostname(final String host) {
+                return host;
+            }
+        };
+        final CachingDnsResolver failingResolver = new CachingDnsResolver(failing, refreshes::add, now::get);
+        final InetAddress first = failingResolver.resolve("repo.example.org")[0];
+        now.addAndGet(CachingDnsResolver.REFRESH_AFTER.toNanos());
+
+        assertEquals(first, failingResolver.resolve("repo.example.org")[0]);
+        refreshes.get(0).run();
+        assertEquals(first, failingResolver.resolve("repo.example.org")[0]);
+        assertEquals(2, refreshes.size());
+        refreshes.get(1).run();
+        assertNotEquals(first, failingResolver.resolve("repo.example.org")[0]);
+    }
+
+    @Test
+    public void testRejectedRefreshIsRetried() throws UnknownHostException {
+        final AtomicInteger rejections = new AtomicInteger();
+        final CachingDnsResolver rejectingResolver = new CachingDnsResolver(delegate, refresh -> {
+            if (rejections.incrementAndGet() == 1) {
+                throw new RejectedExecutionException("executor saturated");
+            }
+            refreshes.add(refresh);
+        }, now::get);
+        rejectingResolver.resolve("repo.example.org");
+        now.addAndGet(CachingDnsResolver.REFRESH_AFTER.toNanos());
+
+        rejectingResolver.resolve("repo.example.org");
+        rejectingResolver.resolve("repo.example.org");
+        assertEquals(2, rejections.get());
+        assertEquals(1, refreshes.size());
+    }
+
+    @Test
+    public void testResolvesExpiredAddresses() throws UnknownHostException {
+        final InetAddress first = resolver.resolve("repo.example.org")[0];
+        now.addAndGet(CachingDnsResolver.TTL.toNanos());
+
+        assertNotEquals(first, resolver.resolve("repo.example.org")[0]);
+        assertEquals(2, resolver.getMisses());
+        assertTrue(refreshes.isEmpty());
+    }
+}
@@ -0,0 +1,90 @@
+package com.oneandone.go.plugin.maven.client;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class CircuitBreakerTest {
+
+    private static final Duration COOL_DOWN = Duration.ofSeconds(30);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(now::get);
+
+    private void fail(final int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(circuitBreaker.tryAcquire(COOL_DOWN));
+            circuitBreaker.onFailure(50);
+        }
+    }
+
+    private void succeed(final int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(circuitBreaker.tryAcquire(COOL_DOWN));
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    @Test
+    public void testStaysClosedBelowMinimumRequests() {
+        fail(CircuitBreaker.MINIMUM_REQUESTS - 1);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testStaysClosedBelowFailureRatio() {
+        succeed(CircuitBreaker.WINDOW_SIZE);
+        fail(CircuitBreaker.WINDOW_SIZE / 2 - 1);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testOpensAtFailureRatio() {
+        succeed(5);
+        fail(5);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire(COOL_DOWN));
+        assertFalse(circuitBreaker.isCallPermitted(COOL_DOWN));
+    }
+
+    @Test
+    public void testSingleProbeClosesAfterCoolDown() {
+        fail(CircuitBreaker.MINIMUM_REQUESTS);
+        now.addAndGet(COOL_DOWN.toNanos());
+
+        assertTrue(circuitBreaker.tryAcquire(COOL_DOWN));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire(COOL_DOWN));
+
+        circuitBreaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        fail(CircuitBreaker.MINIMUM_REQUESTS - 1);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testFailedProbeReopens() {
+        fail(CircuitBreaker.MINIMUM_REQUESTS);
+        now.addAndGet(COOL_DOWN.toNanos());
+
+        assertTrue(circuitBreaker.tryAcquire(COOL_DOWN));
+        circuitBreaker.onFailure(50);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire(COOL_DOWN));
+    }
+
+    @Test
+    public void testAbandonedProbeLetsNextProbeThrough() {
+        fail(CircuitBreaker.MINIMUM_REQUESTS);
+        now.addAndGet(COOL_DOWN.toNanos());
+
+        assertTrue(circuitBreaker.tryAcquire(COOL_DOWN));
+        circuitBreaker.onAbandoned();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire(COOL_DOWN));
+    }
+}
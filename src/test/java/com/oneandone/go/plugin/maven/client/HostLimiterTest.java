@@ -0,0 +1,75 @@
+package com.oneandone.go.plugin.maven.client;
+
+import com.oneandone.go.plugin.maven.GoMavenPollerException;
+import org.junit.Test;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+
+public class HostLimiterTest {
+
+    private static final PollDeadline DEADLINE = new PollDeadline(Duration.ofMinutes(1));
+
+    @Test
+    public void testSameHost() {
+        assertSame(HostLimiter.of(URI.create("https://repo.example.org/maven2")), HostLimiter.of(URI.create("https://repo.example.org:443/releases")));
+        assertNotSame(HostLimiter.of(URI.create("https://repo.example.org/maven2")), HostLimiter.of(URI.create("http://repo.example.org/maven2")));
+    }
+
+    @Test
+    public void testConcurrencyLimitRespectsDeadline() {
+        final HostLimiter hostLimiter = HostLimiter.of(URI.create("http://concurrency.example.org"));
+        hostLimiter.acquire(1, 0, DEADLINE);
+        try {
+            hostLimiter.acquire(1, 0, new PollDeadline(Duration.ofMillis(50)));
+            fail("request limit acquired twice");
+        } catch (final GoMavenPollerException e) {
+            assertTrue(e.getMessage().contains("concurrency.example.org:80"));
+        }
+        hostLimiter.release();
+
+        hostLimiter.acquire(1, 0, DEADLINE);
+        hostLimiter.release();
+    }
+
+    @Test
+    public void testWaitsForRelease() throws InterruptedException {
+        final HostLimiter hostLimiter = HostLimiter.of(URI.create("http://release.example.org"));
+        hostLimiter.acquire(1, 0, DEADLINE);
+        final Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            hostLimiter.release();
+        });
+        releaser.start();
+
+        hostLimiter.acquire(1, 0, DEADLINE);
+        hostLimiter.release();
+        releaser.join();
+    }
+
+    @Test
+    public void testRateLimit() {
+        final HostLimiter hostLimiter = HostLimiter.of(URI.create("http://rate.example.org"));
+        for (int i = 0; i < 2; i++) {
+            hostLimiter.acquire(10, 2, DEADLINE);
+            hostLimiter.release();
+        }
+        try {
+            hostLimiter.acquire(10, 2, new PollDeadline(Duration.ofMillis(50)));
+            fail("rate limit exceeded");
+        } catch (final GoMavenPollerException e) {
+            assertTrue(e.getMessage().contains("rate.example.org:80"));
+        }
+
+        final long start = System.nanoTime();
+        hostLimiter.acquire(10, 2, DEADLINE);
+        hostLimiter.release();
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+    }
+}
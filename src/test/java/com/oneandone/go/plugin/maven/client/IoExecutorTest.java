@@ -0,0 +1,72 @@
+package com.oneandone.go.plugin.maven.client;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+public class IoExecutorTest {
+
+    @Test
+    public void testCallRunsOnIoThread() throws Exception {
+        assertFalse(IoExecutor.isIoThread());
+        assertTrue(IoExecutor.call(IoExecutor::isIoThread, Duration.ofSeconds(10)));
+        assertFalse(IoExecutor.isIoThread());
+    }
+
+    @Test(expected = IOException.class)
+    public void testCallRethrowsTaskException() throws Exception {
+        IoExecutor.call(() -> {
+            throw new IOException("failed");
+        }, Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void testCallCancelsTaskOnTimeout() throws Exception {
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            IoExecutor.call(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (final InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            }, Duration.ofMillis(50));
+            fail("expected timeout");
+        } catch (final TimeoutException e) {
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testPlatformPoolIsBounded() throws Exception {
+        final ExecutorService executor = IoExecutor.createPlatformPool(2);
+        try {
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch started = new CountDownLatch(3);
+            for (int i = 0; i < 3; i++) {
+                executor.execute(() -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            assertFalse(started.await(200, TimeUnit.MILLISECONDS));
+            assertEquals(1, started.getCount());
+            release.countDown();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.oneandone.go.plugin.maven.client;
+
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+
+public class JitteredRetryStrategyTest {
+
+    @Test
+    public void testDecorrelatedJitter() {
+        final JitteredRetryStrategy strategy = new JitteredRetryStrategy(new RetryBudget());
+        final HttpClientContext context = HttpClientContext.create();
+        final BasicHttpResponse response = new BasicHttpResponse(HttpStatus.SC_SERVICE_UNAVAILABLE);
+
+        long previous = JitteredRetryStrategy.BASE_INTERVAL;
+        for (int execCount = 1; execCount <= 3; execCount++) {
+            assertTrue(strategy.retryRequest(response, execCount, context));
+            final long interval = strategy.getRetryInterval(response, execCount, context).toMilliseconds();
+            assertTrue(interval >= JitteredRetryStrategy.BASE_INTERVAL);
+            assertTrue(interval <= Math.min(JitteredRetryStrategy.MAX_INTERVAL, previous * 3));
+            previous = interval;
+        }
+        assertFalse(strategy.retryRequest(response, 4, context));
+    }
+
+    @Test
+    public void testRetryAfter() {
+        final JitteredRetryStrategy strategy = new JitteredRetryStrategy(new RetryBudget());
+        final HttpClientContext context = HttpClientContext.create();
+        final BasicHttpResponse response = new BasicHttpResponse(HttpStatus.SC_TOO_MANY_REQUESTS);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "7");
+
+        assertTrue(strategy.retryRequest(response, 1, context));
+        assertEquals(7000, strategy.getRetryInterval(response, 1, context).toMilliseconds());
+    }
+
+    @Test
+    public void testRetryAfterBeyondDeadline() {
+        final JitteredRetryStrategy strategy = new JitteredRetryStrategy(new RetryBudget());
+        final HttpClientContext context = HttpClientContext.create();
+        context.setAttribute(JitteredRetryStrategy.DEADLINE_ATTRIBUTE, new PollDeadline(Duration.ofSeconds(5)));
+        final BasicHttpResponse response = new BasicHttpResponse(HttpStatus.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "60");
+
+        assertFalse(strategy.retryRequest(response, 1, context));
+    }
+
+    @Test
+    public void testRetryBudget() {
+        final RetryBudget budget = new RetryBudget();
+        final JitteredRetryStrategy strategy = new JitteredRetryStrategy(budget);
+        final BasicHttpResponse response = new BasicHttpResponse(HttpStatus.SC_SERVICE_UNAVAILABLE);
+
+        for (int i = 0; i < RetryBudget.MAX_RETRIES; i++) {
+            assertTrue(strategy.retryRequest(response, 1, HttpClientContext.create()));
+        }
+        assertFalse(strategy.retryRequest(response, 1, HttpClientContext.create()));
+
+        // ten requests earn one retry
+        for (int i = 0; i < RetryBudget.CREDITS_PER_RETRY; i++) {
+            budget.onRequest();
+        }
+        assertTrue(strategy.retryRequest(response, 1, HttpClientContext.create()));
+        assertFalse(strategy.retryRequest(response, 1, HttpClientContext.create()));
+    }
+}
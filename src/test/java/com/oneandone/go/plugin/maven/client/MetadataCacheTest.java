@@ -0,0 +1,95 @@
+package com.oneandone.go.plugin.maven.client;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class MetadataCacheTest {
+
+    private static final String METADATA =
+            "<metadata>\n" +
+            "  <groupId>mysql</groupId>\n" +
+            "  <artifactId>mysql-connector-java</artifactId>\n" +
+            "  <versioning>\n" +
+            "    <versions>\n" +
+            "      <version>5.1.13</version>\n" +
+            "      <version>5.1.14</version>\n" +
+            "    </versions>\n" +
+            "    <lastUpdated>20120402200000</lastUpdated>\n" +
+            "  </versioning>\n" +
+            "</metadata>\n";
+
+    private static String tailOf(final String document, final int offset) {
+        return document.substring(offset);
+    }
+
+    private static String contentRange(final String document, final int offset) {
+        return "bytes " + offset + "-" + (document.length() - 1) + "/" + document.length();
+    }
+
+    @Test
+    public void testNewEntry() {
+        final MetadataCache.Entry entry = MetadataCache.newEntry(METADATA.getBytes(StandardCharsets.UTF_8), "\"1\"", null);
+
+        assertTrue(entry.isSpliceable());
+        assertEquals(Arrays.asList("5.1.13", "5.1.14"), entry.getVersions());
+        assertEquals(METADATA.indexOf("<version>5.1.14"), entry.getOverlapStart());
+    }
+
+    @Test
+    public void testNewEntryWithMutablePrefix() {
+        final String document = METADATA
+                .replace("  <versioning>\n", "  <version>5.1.14</version>\n  <versioning>\n    <latest>5.1.14</latest>\n    <release>5.1.14</release>\n");
+        final MetadataCache.Entry entry = MetadataCache.newEntry(document.getBytes(StandardCharsets.UTF_8), "\"1\"", null);
+
+        assertTrue(entry.isSpliceable());
+        assertTrue(entry.isMutablePrefix());
+        assertEquals(Arrays.asList("5.1.13", "5.1.14"), entry.getVersions());
+        assertFalse(MetadataCache.newEntry(METADATA.getBytes(StandardCharsets.UTF_8), "\"1\"", null).isMutablePrefix());
+    }
+
+    @Test
+    public void testNewEntryWithoutVersions() {
+        final MetadataCache.Entry entry = MetadataCache.newEntry("foobar".getBytes(StandardCharsets.UTF_8), null, null);
+
+        assertFalse(entry.isSpliceable());
+        assertNull(entry.getVersions());
+    }
+
+    @Test
+    public void testSplice() {
+        final MetadataCache.Entry entry = MetadataCache.newEntry(METADATA.getBytes(StandardCharsets.UTF_8), "\"1\"", null);
+        final String grown = METADATA
+                .replace("    </versions>", "      <version>5.1.15</version>\n      <version>5.1.16</version>\n    </versions>")
+                .replace("20120402200000", "20120502200000");
+
+        final int offset = entry.getOverlapStart();
+        final MetadataCache.Entry spliced = entry.splice(contentRange(grown, offset), tailOf(grown, offset).getBytes(StandardCharsets.UTF_8), "\"2\"", null);
+
+        assertNotNull(spliced);
+        assertEquals(grown, new String(spliced.getBody(), StandardCharsets.UTF_8));
+        assertEquals(Arrays.asList("5.1.13", "5.1.14", "5.1.15", "5.1.16"), spliced.getVersions());
+        assertEquals("\"2\"", spliced.getEtag());
+        assertEquals(grown.indexOf("<version>5.1.16"), spliced.getOverlapStart());
+    }
+
+    @Test
+    public void testSpliceWithChangedPrefix() {
+        final MetadataCache.Entry entry = MetadataCache.newEntry(METADATA.getBytes(StandardCharsets.UTF_8), "\"1\"", null);
+        final String changed = METADATA.replace("      <version>5.1.13</version>\n", "");
+
+        final int offset = entry.getOverlapStart();
+        assertNull(entry.splice(contentRange(changed, offset), tailOf(changed, offset).getBytes(StandardCharsets.UTF_8), "\"2\"", null));
+    }
+
+    @Test
+    public void testSpliceWithOtherRange() {
+        final MetadataCache.Entry entry = MetadataCache.newEntry(METADATA.getBytes(StandardCharsets.UTF_8), "\"1\"", null);
+
+        assertNull(entry.splice(contentRange(METADATA, 0), METADATA.getBytes(StandardCharsets.UTF_8), "\"2\"", null));
+        assertNull(entry.splice(null, METADATA.getBytes(StandardCharsets.UTF_8), "\"2\"", null));
+    }
+}
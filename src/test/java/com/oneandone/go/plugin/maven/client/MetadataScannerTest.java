@@ -0,0 +1,85 @@
+package com.oneandone.go.plugin.maven.client;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MetadataScannerTest {
+
+    private static final String[] DOCUMENTS = {
+            "src/test/resources/web/mysql/mysql-connector-java/maven-metadata.xml",
+            "src/test/resources/web/mysql/mysql-connector-java/maven-metadata-with-release-tag.xml",
+            "src/test/resources/web/com/oneandone/network/rrd-client-ra/maven-metadata.xml",
+            "src/test/resources/web/com/oneandone/network/rrd-client-ra/2.1.0-SNAPSHOT/maven-metadata.xml"
+    };
+
+    private static MetadataScanner.Result scan(final String document) {
+        return MetadataScanner.scan(document.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testScanMatchesXPath() throws Exception {
+        final XPath xPath = XPathFactory.newInstance().newXPath();
+        for (final String file : DOCUMENTS) {
+            final byte[] body = Files.readAllBytes(new File(file).toPath());
+            final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new ByteArrayInputStream(body));
+
+            final MetadataScanner.Result result = MetadataScanner.scan(body);
+            assertNotNull(file, result);
+
+            final NodeList nodes = (NodeList) xPath.evaluate(MetadataScanner.VERSION_PATH, document, XPathConstants.NODESET);
+            final List<String> versions = new ArrayList<>();
+            for (int i = 0; i < nodes.getLength(); i++) {
+                versions.add(nodes.item(i).getTextContent());
+            }
+            assertEquals(file, versions, result.getVersions());
+            for (final String path : MetadataScanner.VALUE_PATHS) {
+                assertEquals(file + " " + path, xPath.evaluate(path + "/text()", document), result.getValues().get(path));
+            }
+        }
+    }
+
+    @Test
+    public void testScanWithAttributesAndComments() {
+        final MetadataScanner.Result result = scan("\uFEFF<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<!-- generated -->\n"
+                + "<metadata modelVersion=\"1.1.0\" xmlns=\"http://maven.apache.org/METADATA/1.1.0\">\n"
+                + "  <versioning><versions><version>1.0</version><!-- removed --><version>2.0-ä</version></versions>"
+                + "<release/><lastUpdated>20200101120000</lastUpdated></versioning>\n"
+                + "</metadata>\n");
+
+        assertNotNull(result);
+        assertEquals(Arrays.asList("1.0", "2.0-ä"), result.getVersions());
+        assertEquals("20200101120000", result.getValues().get("/metadata/versioning/lastUpdated"));
+        assertEquals("", result.getValues().get("/metadata/versioning/release"));
+        assertEquals("", result.getValues().get("/metadata/versioning/latest"));
+    }
+
+    @Test
+    public void testFallbackOnUnusualDocuments() {
+        assertNull(scan("<!DOCTYPE metadata><metadata/>"));
+        assertNull(scan("<metadata><versioning><versions><version>1.0&amp;</version></versions></versioning></metadata>"));
+        assertNull(scan("<metadata><versioning><versions><version><![CDATA[1.0]]></version></versions></versioning></metadata>"));
+        assertNull(scan("<m:metadata xmlns:m=\"urn:m\"/>"));
+        assertNull(scan("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?><metadata/>"));
+        assertNull(scan("<metadata><versioning></metadata>"));
+        assertNull(scan("<metadata>"));
+        assertNull(scan("<project/>"));
+        assertNull(scan("foobar"));
+        assertNull(MetadataScanner.scan("<metadata/>".getBytes(StandardCharsets.UTF_16)));
+    }
+}
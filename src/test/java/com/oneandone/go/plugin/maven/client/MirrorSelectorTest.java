@@ -0,0 +1,50 @@
+package com.oneandone.go.plugin.maven.client;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class MirrorSelectorTest {
+
+    private static final Duration COOL_DOWN = Duration.ofSeconds(30);
+
+    private static final List<String> LOCATIONS = Arrays.asList("http://primary/", "http://mirror1/", "http://mirror2/");
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final MirrorSelector mirrorSelector = new MirrorSelector(now::get);
+
+    @Test
+    public void testConfiguredOrderWithoutRequests() {
+        assertEquals(LOCATIONS, mirrorSelector.rank(LOCATIONS, COOL_DOWN));
+    }
+
+    @Test
+    public void testFastestFirst() {
+        mirrorSelector.onSuccess("http://primary/", Duration.ofMillis(300));
+        mirrorSelector.onSuccess("http://mirror1/", Duration.ofMillis(100));
+        mirrorSelector.onSuccess("http://mirror2/", Duration.ofMillis(200));
+        assertEquals(Arrays.asList("http://mirror1/", "http://mirror2/", "http://primary/"), mirrorSelector.rank(LOCATIONS, COOL_DOWN));
+
+        // a single slow request does not outweigh the history
+        mirrorSelector.onSuccess("http://mirror1/", Duration.ofMillis(300));
+        assertEquals("http://mirror1/", mirrorSelector.rank(LOCATIONS, COOL_DOWN).get(0));
+    }
+
+    @Test
+    public void testUnhealthyLastUntilCoolDown() {
+        mirrorSelector.onSuccess("http://primary/", Duration.ofMillis(100));
+        mirrorSelector.onSuccess("http://mirror1/", Duration.ofMillis(200));
+        mirrorSelector.onSuccess("http://mirror2/", Duration.ofMillis(300));
+        mirrorSelector.onFailure("http://primary/");
+        assertEquals(Arrays.asList("http://mirror1/", "http://mirror2/", "http://primary/"), mirrorSelector.rank(LOCATIONS, COOL_DOWN));
+
+        now.addAndGet(COOL_DOWN.toNanos());
+        assertEquals(LOCATIONS, mirrorSelector.rank(LOCATIONS, COOL_DOWN));
+    }
+}
@@ -0,0 +1,44 @@
+package com.oneandone.go.plugin.maven.client;
+
+import com.oneandone.go.plugin.maven.GoMavenPollerException;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class PollDeadlineTest {
+
+    @Test
+    public void testLimitToRemainingTime() {
+        final PollDeadline deadline = new PollDeadline(Duration.ofSeconds(5));
+        assertFalse(deadline.isExpired());
+        assertTrue(deadline.limit(Duration.ofSeconds(30)).toMilliseconds() <= 5000);
+        assertEquals(1000, deadline.limit(Duration.ofSeconds(1)).toMilliseconds());
+    }
+
+    @Test
+    public void testOnExpiry() throws InterruptedException {
+        final PollDeadline deadline = new PollDeadline(Duration.ofMillis(50));
+        final CountDownLatch expired = new CountDownLatch(1);
+        final AtomicBoolean cancelledActionRun = new AtomicBoolean();
+        final ScheduledFuture<?> cancelled = deadline.onExpiry(() -> cancelledActionRun.set(true));
+        deadline.onExpiry(expired::countDown);
+        cancelled.cancel(false);
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertFalse(cancelledActionRun.get());
+    }
+
+    @Test(expected = GoMavenPollerException.class)
+    public void testLimitWhenExpired() {
+        final PollDeadline deadline = new PollDeadline(Duration.ZERO);
+        assertTrue(deadline.isExpired());
+        assertEquals(Duration.ZERO, deadline.remaining());
+        deadline.limit(Duration.ofSeconds(1));
+    }
+}
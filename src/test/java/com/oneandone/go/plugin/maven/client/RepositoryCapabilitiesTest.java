@@ -0,0 +1,39 @@
+package com.oneandone.go.plugin.maven.client;
+
+import com.oneandone.go.plugin.maven.client.RepositoryCapabilities.Capability;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class RepositoryCapabilitiesTest {
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000L);
+
+    private final RepositoryCapabilities capabilities = new RepositoryCapabilities(now::get);
+
+    @Test
+    public void testUnknown() {
+        assertNull(capabilities.get(Capability.RANGE));
+        assertFalse(capabilities.isUnsupported(Capability.RANGE));
+    }
+
+    @Test
+    public void testSetAndGet() {
+        capabilities.set(Capability.HEAD_ROOT, true);
+        capabilities.set(Capability.RANGE, false);
+        assertEquals(Boolean.TRUE, capabilities.get(Capability.HEAD_ROOT));
+        assertTrue(capabilities.isUnsupported(Capability.RANGE));
+        assertNull(capabilities.get(Capability.CHECKSUM));
+    }
+
+    @Test
+    public void testExpiry() {
+        capabilities.set(Capability.CHECKSUM, false);
+        now.addAndGet(RepositoryCapabilities.MAX_AGE.getSeconds() - 1);
+        assertTrue(capabilities.isUnsupported(Capability.CHECKSUM));
+        now.incrementAndGet();
+        assertNull(capabilities.get(Capability.CHECKSUM));
+    }
+}
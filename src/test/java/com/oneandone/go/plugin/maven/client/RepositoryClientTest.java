@@ -76,9 +76,9 @@ public class RepositoryClientTest {
         final RepositoryClient client = getRepositoryClient(configuration, metadata);
         final MavenRevision revision = client.getLatest();
 
-        assertEquals(5, revision.getMajor());
-        assertEquals(1, revision.getMinor());
-        assertEquals(14, revision.getBugfix());
+        assertEquals(5, revision.getVersion().getMajor());
+        assertEquals(1, revision.getVersion().getMinor());
+        assertEquals(14, revision.getVersion().getBugfix());
     }
 
     @Test
@@ -109,9 +109,9 @@ public class RepositoryClientTest {
         final RepositoryClient client = getRepositoryClient(configuration, metadataWithReleaseTag);
         final MavenRevision revision = client.getLatest();
 
-        assertEquals(5, revision.getMajor());
-        assertEquals(1, revision.getMinor());
-        assertEquals(18, revision.getBugfix());
+        assertEquals(5, revision.getVersion().getMajor());
+        assertEquals(1, revision.getVersion().getMinor());
+        assertEquals(18, revision.getVersion().getBugfix());
     }
 
     @Test
@@ -142,9 +142,9 @@ public class RepositoryClientTest {
         final RepositoryClient client = getRepositoryClient(configuration, metadata);
         final MavenRevision revision = client.getLatest();
 
-        assertEquals(2, revision.getMajor());
-        assertEquals(0, revision.getMinor());
-        assertEquals(14, revision.getBugfix());
+        assertEquals(2, revision.getVersion().getMajor());
+        assertEquals(0, revision.getVersion().getMinor());
+        assertEquals(14, revision.getVersion().getBugfix());
     }
 
     @Test
@@ -175,9 +175,9 @@ public class RepositoryClientTest {
         final RepositoryClient client = getRepositoryClient(configuration, metadata);
         final MavenRevision revision = client.getLatest();
 
-        assertEquals(5, revision.getMajor());
-        assertEquals(1, revision.getMinor());
-        assertEquals(21, revision.getBugfix());
+        assertEquals(5, revision.getVersion().getMajor());
+        assertEquals(1, revision.getVersion().getMinor());
+        assertEquals(21, revision.getVersion().getBugfix());
     }
 
     private RepositoryClient getRepositoryClient(final String configuration, final String meta)  throws Exception {
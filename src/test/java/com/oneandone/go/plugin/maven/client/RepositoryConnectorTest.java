@@ -1,14 +1,49 @@
 package com.oneandone.go.plugin.maven.client;
 
+import com.oneandone.go.plugin.maven.EmbeddedHttpServer;
+import com.oneandone.go.plugin.maven.GoMavenPollerException;
+import com.oneandone.go.plugin.maven.config.MavenRepoConfig;
+import com.oneandone.go.plugin.maven.message.PackageMaterialProperties;
+import com.oneandone.go.plugin.maven.message.PackageMaterialProperty;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Test case for {@link RepositoryConnector}.
  */
 public class RepositoryConnectorTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testConcatUrl() {
         String url = RepositoryConnector.concatUrl("http://www.test.org/", "foo", "bar", "1.0");
@@ -69,4 +104,445 @@ public class RepositoryConnectorTest {
         assertEquals("http://www.test.org/foo/com/bar/maven-metadata.xml", url);
     }
 
+    @Test
+    public void testIncrementalHttpRequest() throws Exception {
+        final File root = temporaryFolder.newFolder("web");
+        final Path metadata = Files.createDirectories(root.toPath().resolve("foo/bar")).resolve("maven-metadata.xml");
+        final String document = "<metadata>\n  <versioning>\n    <versions>\n      <version>1.0</version>\n    </versions>\n" +
+                "    <lastUpdated>20120402200000</lastUpdated>\n  </versioning>\n</metadata>\n";
+        Files.write(metadata, document.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(metadata, FileTime.fromMillis(1_000_000_000_000L));
+
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(root);
+        server.start();
+        try {
+            final RepositoryConnector connector = new RepositoryConnector(repoConfig(server, "INCREMENTAL_METADATA"));
+            final String url = RepositoryConnector.concatUrl("http://localhost:" + server.getRunningPort() + "/", "foo", "bar", null);
+
+            assertEquals(Collections.singletonList("1.0"), connector.doMetadataHttpRequest(url).getVersions());
+            assertEquals(Collections.singletonList("1.0"), connector.doMetadataHttpRequest(url).getVersions());
+
+            final String grown = document.replace("    </versions>", "      <version>1.1</version>\n    </versions>");
+            Files.write(metadata, grown.getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(metadata, FileTime.fromMillis(1_000_000_100_000L));
+
+            final RepositoryResponse response = connector.doMetadataHttpRequest(url);
+            assertEquals(Arrays.asList("1.0", "1.1"), response.getVersions());
+            assertEquals(grown, response.getResponseBody());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testIncrementalHttpRequestWithChangedLatestAndRelease() throws Exception {
+        final File root = temporaryFolder.newFolder("web");
+        final Path directory = Files.createDirectories(root.toPath().resolve("foo/bar"));
+        final Path metadata = directory.resolve("maven-metadata.xml");
+        final String document = new String(Files.readAllBytes(new File("src/test/resources/web/mysql/mysql-connector-java/maven-metadata-with-release-tag.xml").toPath()), StandardCharsets.UTF_8);
+        writeMetadata(directory, document, 1_000_000_000_000L);
+
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(root);
+        server.start();
+        try {
+            final RepositoryConnector connector = new RepositoryConnector(repoConfig(server, "INCREMENTAL_METADATA"));
+            final String url = RepositoryConnector.concatUrl("http://localhost:" + server.getRunningPort() + "/", "foo", "bar", null);
+            assertEquals(document, connector.doMetadataHttpRequest(url).getResponseBody());
+
+            // the tags before the versions change without changing the length of the document
+            final String released = document
+                    .replace("<latest>2.0.14</latest>", "<latest>5.1.22</latest>")
+                    .replace("<release>5.1.18</release>", "<release>5.1.22</release>")
+                    .replaceFirst("</versions>", "    <version>5.1.22</version>\n        </versions>");
+            writeMetadata(directory, released, 1_000_000_100_000L);
+            assertEquals(released, connector.doMetadataHttpRequest(url).getResponseBody());
+
+            // without a checksum the spliced document cannot be verified
+            final String rereleased = released
+                    .replace("<latest>5.1.22</latest>", "<latest>5.1.23</latest>")
+                    .replace("<release>5.1.22</release>", "<release>5.1.23</release>")
+                    .replaceFirst("</versions>", "    <version>5.1.23</version>\n        </versions>");
+            writeMetadata(directory, rereleased, 1_000_000_200_000L);
+            Files.delete(directory.resolve("maven-metadata.xml.sha1"));
+            assertEquals(rereleased, connector.doMetadataHttpRequest(url).getResponseBody());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testIncrementalHttpRequestOfShrunkDocument() throws Exception {
+        final File root = temporaryFolder.newFolder("web");
+        final Path metadata = Files.createDirectories(root.toPath().resolve("foo/bar")).resolve("maven-metadata.xml");
+        final StringBuilder versions = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            versions.append("      <version>1.").append(i).append("</version>\n");
+        }
+        final String document = "<metadata>\n  <versioning>\n    <versions>\n" + versions + "    </versions>\n" +
+                "    <lastUpdated>20120402200000</lastUpdated>\n  </versioning>\n</metadata>\n";
+        Files.write(metadata, document.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(metadata, FileTime.fromMillis(1_000_000_000_000L));
+
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(root);
+        server.start();
+        try {
+            final RepositoryConnector connector = new RepositoryConnector(repoConfig(server, "INCREMENTAL_METADATA"));
+            final String url = RepositoryConnector.concatUrl("http://localhost:" + server.getRunningPort() + "/", "foo", "bar", null);
+            assertEquals(50, connector.doMetadataHttpRequest(url).getVersions().size());
+
+            // the cached tail starts beyond the end of the shrunk document, the server answers 416
+            final String shrunk = "<metadata><versioning><versions><version>2.0</version></versions></versioning></metadata>\n";
+            Files.write(metadata, shrunk.getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(metadata, FileTime.fromMillis(1_000_000_100_000L));
+
+            final RepositoryResponse response = connector.doMetadataHttpRequest(url);
+            assertEquals(Collections.singletonList("2.0"), response.getVersions());
+            assertEquals(shrunk, response.getResponseBody());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testChecksumProbe() throws Exception {
+        final File root = temporaryFolder.newFolder("web");
+        final Path directory = Files.createDirectories(root.toPath().resolve("foo/bar"));
+        Files.copy(new File("src/test/resources/web/mysql/mysql-connector-java/maven-metadata.xml").toPath(), directory.resolve("maven-metadata.xml"));
+        final String checksum = MetadataCache.newEntry(Files.readAllBytes(directory.resolve("maven-metadata.xml")), null, null).getSha1();
+        Files.write(directory.resolve("maven-metadata.xml.sha1"), (checksum + "  maven-metadata.xml\n").getBytes(StandardCharsets.US_ASCII));
+
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(root);
+        server.start();
+        try {
+            final RepositoryConnector connector = new RepositoryConnector(repoConfig(server, "CHECKSUM_PROBE"));
+            final String url = RepositoryConnector.concatUrl("http://localhost:" + server.getRunningPort() + "/", "foo", "bar", null);
+
+            final RepositoryResponse first = connector.doMetadataHttpRequest(url);
+            Files.write(directory.resolve("maven-metadata.xml"), "<metadata/>".getBytes(StandardCharsets.UTF_8));
+            assertSame(first, connector.doMetadataHttpRequest(url));
+
+            Files.delete(directory.resolve("maven-metadata.xml.sha1"));
+            assertEquals("<metadata/>", connector.doMetadataHttpRequest(url).getResponseBody());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testHedgedRequest() throws Exception {
+        final MavenRepoConfig repoConfig = repoConfig("http://hedge.example.org/", "HEDGE_REQUESTS");
+        for (int i = 0; i < LatencyTracker.MINIMUM_SAMPLES; i++) {
+            RepositoryState.of(repoConfig).getLatencyTracker().record(Duration.ofMillis(10));
+        }
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicReference<HttpGet> slowRequest = new AtomicReference<>();
+        final RepositoryConnector connector = new RepositoryConnector(repoConfig);
+
+        final String result = connector.hedged("maven-metadata.xml", attempt -> {
+            if (calls.incrementAndGet() == 1) {
+                slowRequest.set(attempt.track(new HttpGet("http://hedge.example.org/maven-metadata.xml")));
+                Thread.sleep(Duration.ofMinutes(1).toMillis());
+                return "slow";
+            }
+            return "fast";
+        });
+
+        assertEquals("fast", result);
+        assertEquals(2, calls.get());
+        assertTrue(slowRequest.get().isCancelled());
+    }
+
+    @Test
+    public void testHedgedRequestWithoutLatencies() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final RepositoryConnector connector = new RepositoryConnector(repoConfig("http://unhedged.example.org/", "HEDGE_REQUESTS"));
+
+        final String result = connector.hedged("maven-metadata.xml", attempt -> {
+            Thread.sleep(50);
+            return calls.incrementAndGet() == 1 ? "first" : "second";
+        });
+
+        assertEquals("first", result);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testMirrorFailover() throws Exception {
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(new File("src/test/resources/web"));
+        server.start();
+        try {
+            final PackageMaterialProperties properties = new PackageMaterialProperties();
+            properties.addPackageMaterialProperty("REPO_URL", new PackageMaterialProperty().withValue("http://localhost:1/maven2"));
+            properties.addPackageMaterialProperty("MIRROR_URLS", new PackageMaterialProperty().withValue("http://localhost:" + server.getRunningPort()));
+            final MavenRepoConfig repoConfig = new MavenRepoConfig(properties);
+            final RepositoryConnector connector = new RepositoryConnector(repoConfig);
+            final String url = RepositoryConnector.concatUrl(repoConfig.getRepoUrlAsString(), "mysql", "mysql-connector-java", null);
+
+            assertTrue(connector.doHttpRequest(url).getResponseBody().contains("<artifactId>mysql-connector-java</artifactId>"));
+            assertEquals(Arrays.asList("http://localhost:" + server.getRunningPort() + "/", "http://localhost:1/maven2/"),
+                    RepositoryState.of(repoConfig).getMirrorSelector().rank(repoConfig.getRepoUrlsAsStrings(), repoConfig.getCircuitBreakerCoolDown()));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testNoMirrorFailoverOnNotFound() throws Exception {
+        final EmbeddedHttpServer repository = new EmbeddedHttpServer().withPath(temporaryFolder.newFolder());
+        final EmbeddedHttpServer mirror = new EmbeddedHttpServer().withPath(new File("src/test/resources/web"));
+        repository.start();
+        mirror.start();
+        try {
+            final PackageMaterialProperties properties = new PackageMaterialProperties();
+            properties.addPackageMaterialProperty("REPO_URL", new PackageMaterialProperty().withValue("http://localhost:" + repository.getRunningPort()));
+            properties.addPackageMaterialProperty("MIRROR_URLS", new PackageMaterialProperty().withValue("http://localhost:" + mirror.getRunningPort()));
+            final MavenRepoConfig repoConfig = new MavenRepoConfig(properties);
+            final RepositoryConnector connector = new RepositoryConnector(repoConfig);
+            final String url = RepositoryConnector.concatUrl(repoConfig.getRepoUrlAsString(), "mysql", "mysql-connector-java", null);
+
+            try {
+                connector.doHttpRequest(url);
+                fail("expected HTTP 404");
+            } catch (final GoMavenPollerException e) {
+                assertTrue(e.getMessage().contains("HTTP 404"));
+            }
+            assertEquals(0, mirror.getResponseCount(200));
+            assertEquals(repoConfig.getRepoUrlsAsStrings(),
+                    RepositoryState.of(repoConfig).getMirrorSelector().rank(repoConfig.getRepoUrlsAsStrings(), repoConfig.getCircuitBreakerCoolDown()));
+        } finally {
+            repository.stop();
+            mirror.stop();
+        }
+    }
+
+    @Test
+    public void testStatePerConfiguration() throws Exception {
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(new File("src/test/resources/web"));
+        server.start();
+        try {
+            final MavenRepoConfig repoConfig = repoConfig(server, "CHECKSUM_PROBE");
+            final PackageMaterialProperties properties = new PackageMaterialProperties();
+            properties.addPackageMaterialProperty("REPO_URL", new PackageMaterialProperty().withValue("http://localhost:" + server.getRunningPort() + "/"));
+            properties.addPackageMaterialProperty("USERNAME", new PackageMaterialProperty().withValue("user"));
+            properties.addPackageMaterialProperty("PASSWORD", new PackageMaterialProperty().withValue("secret"));
+            final MavenRepoConfig otherRepoConfig = new MavenRepoConfig(properties);
+            final String url = "http://localhost:" + server.getRunningPort() + "/mysql/mysql-connector-java/maven-metadata.xml";
+
+            assertSame(RepositoryState.of(repoConfig), RepositoryState.of(repoConfig(server, "CHECKSUM_PROBE")));
+            assertNotSame(RepositoryState.of(repoConfig), RepositoryState.of(otherRepoConfig));
+            for (int i = 0; i < 3; i++) {
+                assertTrue(new RepositoryConnector(repoConfig).doHttpRequest(url).getResponseBody().contains("mysql-connector-java"));
+                assertTrue(new RepositoryConnector(otherRepoConfig).doHttpRequest(url).getResponseBody().contains("mysql-connector-java"));
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testChangedConfigurationReplacesClient() throws Exception {
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(new File("src/test/resources/web"));
+        server.start();
+        try {
+            final String url = "http://localhost:" + server.getRunningPort() + "/mysql/mysql-connector-java/maven-metadata.xml";
+            final MavenRepoConfig repoConfig = credentialsRepoConfig(server, "old");
+            assertFalse(new RepositoryConnector(repoConfig).doMetadataHttpRequest(url).getVersions().isEmpty());
+            assertTrue(new RepositoryConnector(repoConfig).testConnection());
+            final RepositoryState state = RepositoryState.of(repoConfig);
+            final CloseableHttpClient client = state.getHttpClient(repoConfig, () -> {
+                throw new AssertionError("client expected");
+            });
+
+            final MavenRepoConfig changedRepoConfig = credentialsRepoConfig(server, "new");
+            assertSame(state, RepositoryState.of(changedRepoConfig));
+            assertNull(state.getMetadataCache().get(url));
+            assertFalse(state.isConnectionChecked(Duration.ofMinutes(1)));
+            assertTrue(new RepositoryConnector(changedRepoConfig).doHttpRequest(url).getResponseBody().contains("mysql-connector-java"));
+            assertNotSame(client, state.getHttpClient(changedRepoConfig, () -> {
+                throw new AssertionError("client expected");
+            }));
+
+            // the superseded client is closed after the poll timeout
+            Thread.sleep(1500);
+            try {
+                client.execute(new HttpGet(url), response -> response.getCode());
+                fail("expected closed client");
+            } catch (final IllegalStateException e) {
+                // expected
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testMetadataCachePerCredentials() throws Exception {
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(new File("src/test/resources/web"));
+        server.start();
+        try {
+            final MavenRepoConfig repoConfig = repoConfig(server, "INCREMENTAL_METADATA");
+            final PackageMaterialProperties properties = new PackageMaterialProperties();
+            properties.addPackageMaterialProperty("REPO_URL", new PackageMaterialProperty().withValue("http://localhost:" + server.getRunningPort() + "/"));
+            properties.addPackageMaterialProperty("INCREMENTAL_METADATA", new PackageMaterialProperty().withValue("true"));
+            properties.addPackageMaterialProperty("USERNAME", new PackageMaterialProperty().withValue("other"));
+            properties.addPackageMaterialProperty("PASSWORD", new PackageMaterialProperty().withValue("secret"));
+            final MavenRepoConfig otherRepoConfig = new MavenRepoConfig(properties);
+            final String url = "http://localhost:" + server.getRunningPort() + "/mysql/mysql-connector-java/maven-metadata.xml";
+
+            assertFalse(new RepositoryConnector(repoConfig).doMetadataHttpRequest(url).getVersions().isEmpty());
+            final CircuitBreaker circuitBreaker = RepositoryState.of(otherRepoConfig).getCircuitBreaker(otherRepoConfig.getRepoUrlAsString());
+            for (int i = 0; i < CircuitBreaker.MINIMUM_REQUESTS; i++) {
+                circuitBreaker.onFailure(otherRepoConfig.getCircuitBreakerFailureRatio());
+            }
+
+            // the document fetched with other credentials must not be served while the breaker is open
+            try {
+                new RepositoryConnector(otherRepoConfig).doMetadataHttpRequest(url);
+                fail("expected open circuit breaker");
+            } catch (final GoMavenPollerException e) {
+                assertTrue(e.getMessage().contains("circuit breaker"));
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testConnectionCheckIsRemembered() throws Exception {
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(new File("src/test/resources/web"));
+        server.start();
+        final MavenRepoConfig repoConfig = repoConfig(server, "CHECKSUM_PROBE");
+        try {
+            assertTrue(new RepositoryConnector(repoConfig).testConnection());
+        } finally {
+            server.stop();
+        }
+        assertTrue(new RepositoryConnector(repoConfig).testConnection());
+    }
+
+    @Test
+    public void testRequestAbortedAtDeadline() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            final Thread server = new Thread(() -> {
+                // answers with a body trickling in too slowly for the poll, but fast enough for the response timeout
+                try (Socket socket = serverSocket.accept()) {
+                    final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                    String line;
+                    while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                        // skip the request headers
+                    }
+                    final OutputStream out = socket.getOutputStream();
+                    out.write("HTTP/1.1 200 OK\r\nContent-Length: 100000\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+                    while (true) {
+                        out.write('x');
+                        out.flush();
+                        Thread.sleep(100);
+                    }
+                } catch (final IOException | InterruptedException e) {
+                    // the client aborted the request
+                }
+            });
+            server.setDaemon(true);
+            server.start();
+
+            final RepositoryConnector connector = new RepositoryConnector(
+                    repoConfig("http://localhost:" + serverSocket.getLocalPort() + "/", "CHECKSUM_PROBE"), new PollDeadline(Duration.ofMillis(500)));
+            final long start = System.nanoTime();
+            try {
+                connector.doHttpRequest("http://localhost:" + serverSocket.getLocalPort() + "/maven-metadata.xml");
+                fail("expected the request to be aborted");
+            } catch (final GoMavenPollerException e) {
+                assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+            }
+            server.join(Duration.ofSeconds(5).toMillis());
+            assertFalse(server.isAlive());
+        }
+    }
+
+    @Test
+    public void testRequestOnPluginThreads() throws Exception {
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(new File("src/test/resources/web"));
+        server.start();
+        try {
+            final RepositoryConnector connector = new RepositoryConnector(repoConfig(server, "PLUGIN_THREADS"));
+            final RepositoryResponse response = connector.doMetadataHttpRequest(
+                    "http://localhost:" + server.getRunningPort() + "/mysql/mysql-connector-java/maven-metadata.xml");
+            assertTrue(response.getResponseBody().contains("mysql-connector-java"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testPluginThreadsOnlyMoveRequestsOffForeignThreads() throws Exception {
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(new File("src/test/resources/web"));
+        server.start();
+        try {
+            final String url = "http://localhost:" + server.getRunningPort() + "/mysql/mysql-connector-java/maven-metadata.xml";
+            final Thread caller = Thread.currentThread();
+            final RepositoryConnector moving = new RepositoryConnector(repoConfig(server, "PLUGIN_THREADS"));
+            final RepositoryConnector staying = new RepositoryConnector(repoConfig(server, "CHECKSUM_PROBE"));
+
+            assertNotSame(caller, moving.execute(new HttpGet(url), response -> Thread.currentThread()));
+            assertSame(caller, staying.execute(new HttpGet(url), response -> Thread.currentThread()));
+            // polls run by the bulkhead are on plugin threads already, their requests are not moved
+            assertSame(caller, IoExecutor.onIoThread(() -> moving.execute(new HttpGet(url), response -> Thread.currentThread())).call());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        final EmbeddedHttpServer server = new EmbeddedHttpServer().withPath(new File("src/test/resources/web"));
+        server.start();
+        final MavenRepoConfig repoConfig = repoConfig(server, "PLUGIN_THREADS");
+        try {
+            new RepositoryConnector(repoConfig).warmUp();
+        } finally {
+            server.stop();
+        }
+        // the warm-up is no connection check, the stopped server is noticed
+        try {
+            new RepositoryConnector(repoConfig).testConnection();
+            fail("expected the connection check to fail");
+        } catch (final GoMavenPollerException e) {
+            assertTrue(e.getMessage().contains("Exception while connecting"));
+        }
+    }
+
+    @Test
+    public void testExerciseCodePaths() {
+        assertTrue(RepositoryWarmUp.exerciseCodePaths());
+    }
+
+    /** Writes the specified metadata document and its checksum file. */
+    private static void writeMetadata(final Path directory, final String document, final long lastModified) throws IOException {
+        final byte[] body = document.getBytes(StandardCharsets.UTF_8);
+        Files.write(directory.resolve("maven-metadata.xml"), body);
+        Files.setLastModifiedTime(directory.resolve("maven-metadata.xml"), FileTime.fromMillis(lastModified));
+        Files.write(directory.resolve("maven-metadata.xml.sha1"), (MetadataCache.newEntry(body, null, null).getSha1() + "\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static MavenRepoConfig credentialsRepoConfig(final EmbeddedHttpServer server, final String password) {
+        final PackageMaterialProperties properties = new PackageMaterialProperties();
+        properties.addPackageMaterialProperty("REPO_URL", new PackageMaterialProperty().withValue("http://localhost:" + server.getRunningPort() + "/"));
+        properties.addPackageMaterialProperty("INCREMENTAL_METADATA", new PackageMaterialProperty().withValue("true"));
+        properties.addPackageMaterialProperty("POLL_TIMEOUT", new PackageMaterialProperty().withValue("1"));
+        properties.addPackageMaterialProperty("USERNAME", new PackageMaterialProperty().withValue("rotating"));
+        properties.addPackageMaterialProperty("PASSWORD", new PackageMaterialProperty().withValue(password));
+        return new MavenRepoConfig(properties);
+    }
+
+    private static MavenRepoConfig repoConfig(final EmbeddedHttpServer server, final String flag) {
+        return repoConfig("http://localhost:" + server.getRunningPort() + "/", flag);
+    }
+
+    private static MavenRepoConfig repoConfig(final String url, final String flag) {
+        final PackageMaterialProperties properties = new PackageMaterialProperties();
+        properties.addPackageMaterialProperty("REPO_URL", new PackageMaterialProperty().withValue(url));
+        properties.addPackageMaterialProperty(flag, new PackageMaterialProperty().withValue("true"));
+        return new MavenRepoConfig(properties);
+    }
+
 }
@@ -0,0 +1,75 @@
+package com.oneandone.go.plugin.maven.client;
+
+import org.junit.Test;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import java.io.File;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Compares the per-poll cost of setting up the XML infrastructure and reading the versions, run with
+ * {@code mvn test -Dtest=RepositoryResponseHandlerBenchmarkTest -Dbenchmark=true}.
+ */
+public class RepositoryResponseHandlerBenchmarkTest {
+
+    private static final int WARM_UP_ITERATIONS = 2_000;
+
+    private static final int ITERATIONS = 10_000;
+
+    private static final String METADATA = "src/test/resources/web/mysql/mysql-connector-java/maven-metadata.xml";
+
+    /** The setup done for every poll before the JAXP and XPath objects were reused. */
+    private static int perPollSetup(final String metadata) throws Exception {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        factory.setAttribute(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        final DocumentBuilder documentBuilder = factory.newDocumentBuilder();
+        final XPath xPath = XPathFactory.newInstance().newXPath();
+        xPath.compile("/metadata/versioning/snapshot/timestamp/text()");
+        xPath.compile("/metadata/versioning/snapshot/buildNumber/text()");
+        xPath.compile("/metadata/versioning/lastUpdated/text()");
+        return ((NodeList) xPath.compile("/metadata/versioning/versions/version")
+                .evaluate(documentBuilder.parse(new InputSource(new StringReader(metadata))), XPathConstants.NODESET)).getLength();
+    }
+
+    /** The setup done for every poll with the shared JAXP factories and pooled document builders. */
+    private static int reusedSetup(final String metadata) {
+        return new RepositoryResponseHandler(new RepositoryResponse(metadata)).getAllVersions().size();
+    }
+
+    private static long nanosPerPoll(final Callable<Integer> poll, final int expectedVersions) throws Exception {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            assertEquals(expectedVersions, (int) poll.call());
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            poll.call();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    @Test
+    public void benchmarkPerPollSetup() throws Exception {
+        assumeTrue(Boolean.getBoolean("benchmark"));
+        final String metadata = new String(Files.readAllBytes(new File(METADATA).toPath()), StandardCharsets.UTF_8);
+        final int versions = reusedSetup(metadata);
+
+        final long before = nanosPerPoll(() -> perPollSetup(metadata), versions);
+        final long after = nanosPerPoll(() -> reusedSetup(metadata), versions);
+        System.out.printf("per-poll XML setup and version lookup: %,d ns before, %,d ns after%n", before, after);
+    }
+}
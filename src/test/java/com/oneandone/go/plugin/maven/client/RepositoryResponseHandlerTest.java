@@ -1,6 +1,6 @@
 package com.oneandone.go.plugin.maven.client;
 
-import com.oneandone.go.plugin.maven.util.MavenRevision;
+import com.oneandone.go.plugin.maven.util.MavenVersion;
 import org.apache.commons.io.IOUtils;
 import org.junit.Test;
 
@@ -44,7 +44,21 @@ public class RepositoryResponseHandlerTest {
         final RepositoryResponse mockedResponse = new RepositoryResponse(metadata);
         final RepositoryResponseHandler repositoryResponseHandler = new RepositoryResponseHandler(mockedResponse);
 
-        final List<MavenRevision> allVersions = repositoryResponseHandler.getAllVersions();
+        final List<MavenVersion> allVersions = repositoryResponseHandler.getAllVersions();
         assertEquals (33, allVersions.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetAllVersionsSharedByHandlers() throws Exception {
+        final InputStream stream = RepositoryResponseHandlerTest.class.getClassLoader().getResourceAsStream("web/mysql/mysql-connector-java/maven-metadata.xml");
+        final RepositoryResponse response = new RepositoryResponse(IOUtils.toString(stream, StandardCharsets.UTF_8));
+
+        final RepositoryResponseHandler first = new RepositoryResponseHandler(response);
+        assertTrue(first.canHandle());
+        final List<MavenVersion> versions = first.getAllVersions();
+
+        final RepositoryResponseHandler second = new RepositoryResponseHandler(response);
+        assertTrue(second.canHandle());
+        assertSame(versions, second.getAllVersions());
+    }
+}
@@ -0,0 +1,51 @@
+package com.oneandone.go.plugin.maven.client;
+
+import com.oneandone.go.plugin.maven.util.MavenVersion;
+import com.oneandone.go.plugin.maven.util.VersionFilter;
+import com.oneandone.go.plugin.maven.util.VersionTable;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class VersionTablesTest {
+
+    private static byte[] metadata(final int versions) {
+        final StringBuilder builder = new StringBuilder("<metadata><groupId>g</groupId><artifactId>a</artifactId><versioning><versions>");
+        for (int i = 0; i < versions; i++) {
+            builder.append("<version>1.").append(i).append("</version>");
+        }
+        return builder.append("</versions></versioning></metadata>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testSharedBySameDocument() {
+        final byte[] body = metadata(VersionTable.MIN_VERSIONS);
+        final RepositoryResponse first = MetadataCache.newEntry(body, null, null).getResponse();
+        final RepositoryResponse second = MetadataCache.newEntry(body.clone(), null, null).getResponse();
+
+        final RepositoryResponseHandler firstHandler = new RepositoryResponseHandler(first);
+        assertTrue(firstHandler.canHandle());
+        final List<MavenVersion> latest = firstHandler.getCandidateVersions(null, null, VersionFilter.ALL);
+        assertEquals(1, latest.size());
+        assertEquals("1." + (VersionTable.MIN_VERSIONS - 1), latest.get(0).getOriginal());
+
+        final RepositoryResponseHandler secondHandler = new RepositoryResponseHandler(second);
+        assertTrue(secondHandler.canHandle());
+        final List<MavenVersion> bounded = secondHandler.getCandidateVersions(new MavenVersion("1.10"), new MavenVersion("1.20"), VersionFilter.ALL);
+        assertEquals("1.19", bounded.get(0).getOriginal());
+        assertSame(first.getVersionTable(), second.getVersionTable());
+    }
+
+    @Test
+    public void testNotSharedByOtherDocument() {
+        final RepositoryResponse first = MetadataCache.newEntry(metadata(VersionTable.MIN_VERSIONS), null, null).getResponse();
+        final RepositoryResponse second = MetadataCache.newEntry(metadata(VersionTable.MIN_VERSIONS + 1), null, null).getResponse();
+        assertTrue(new RepositoryResponseHandler(first).canHandle());
+        assertTrue(new RepositoryResponseHandler(second).canHandle());
+
+        assertNotSame(VersionTables.of(first, first.getVersions()), VersionTables.of(second, second.getVersions()));
+    }
+}
@@ -1,7 +1,11 @@
 package com.oneandone.go.plugin.maven.config;
 
 import com.oneandone.go.plugin.maven.message.ConfigurationMessage;
+import com.oneandone.go.plugin.maven.message.ValidationError;
+import com.oneandone.go.plugin.maven.message.ValidationResultMessage;
+import com.oneandone.go.plugin.maven.util.MavenVersion;
 import com.oneandone.go.plugin.maven.util.JsonUtil;
+import com.oneandone.go.plugin.maven.util.VersionOrdering;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -68,6 +72,68 @@ public class MavenPackageConfigTest {
         assertTrue(packageConfig.validate().success());
     }
 
+    @Test
+    public void testVersionFilter() {
+        assertTrue(packageConfig.getVersionFilter().acceptsAll());
+
+        final MavenPackageConfig filtered = packageConfigWith("\"VERSION_RANGE\": { \"value\": \"(,1.5],[2.0,)\" }, \"POLL_SNAPSHOTS\": { \"value\": \"false\" }");
+        assertTrue(filtered.validate().success());
+        assertTrue(filtered.getVersionFilter().accepts(new MavenVersion("1.5")));
+        assertFalse(filtered.getVersionFilter().accepts(new MavenVersion("1.6")));
+        assertFalse(filtered.getVersionFilter().accepts(new MavenVersion("2.1-SNAPSHOT")));
+    }
+
+    @Test
+    public void testValidationWithIllegalVersionRange() {
+        final MavenPackageConfig invalid = packageConfigWith("\"VERSION_RANGE\": { \"value\": \"[2.0,1.0]\" }");
+        final ValidationResultMessage result = invalid.validate();
+        assertFalse(result.success());
+        assertEquals(new ValidationError(ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_VERSION_RANGE, "lower bound of range [2.0,1.0] is greater than its upper bound"),
+                result.getValidationErrors().get(0));
+    }
+
+    @Test
+    public void testVersionOrdering() {
+        assertEquals(VersionOrdering.PLUGIN, packageConfigWith("\"VERSION_RANGE\": { \"value\": \"[1.0,2.0)\" }").getVersionOrdering());
+
+        final MavenPackageConfig maven = packageConfigWith("\"VERSION_RANGE\": { \"value\": \"[1.0,2.0)\" }, \"VERSION_ORDERING\": { \"value\": \"Maven\" }");
+        assertTrue(maven.validate().success());
+        assertEquals(VersionOrdering.MAVEN, maven.getVersionOrdering());
+        assertEquals(VersionOrdering.MAVEN, maven.getVersionFilter().getOrdering());
+        assertTrue(maven.getVersionFilter().accepts(new MavenVersion("1.0-sp1")));
+        assertFalse(maven.getVersionFilter().accepts(new MavenVersion("1.0-rc1")));
+    }
+
+    @Test
+    public void testValidationWithUnknownVersionOrdering() {
+        final ValidationResultMessage result = packageConfigWith("\"VERSION_ORDERING\": { \"value\": \"semver\" }").validate();
+        assertFalse(result.success());
+        assertEquals(new ValidationError(ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_VERSION_ORDERING, "unknown version ordering semver, expected plugin or maven"),
+                result.getValidationErrors().get(0));
+    }
+
+    @Test
+    public void testValidationWithInvalidPollFlags() {
+        final ValidationResultMessage snapshots = packageConfigWith("\"POLL_SNAPSHOTS\": { \"value\": \"ture\" }").validate();
+        assertFalse(snapshots.success());
+        assertEquals(new ValidationError(ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_POLL_SNAPSHOTS, "invalid value ture for Poll snapshots, expected true or false"),
+                snapshots.getValidationErrors().get(0));
+
+        final ValidationResultMessage releases = packageConfigWith("\"POLL_RELEASES\": { \"value\": \"no\" }").validate();
+        assertFalse(releases.success());
+        assertEquals(new ValidationError(ConfigurationProperties.PACKAGE_CONFIGURATION_KEY_POLL_RELEASES, "invalid value no for Poll releases, expected true or false"),
+                releases.getValidationErrors().get(0));
+
+        assertTrue(packageConfigWith("\"POLL_SNAPSHOTS\": { \"value\": \"FALSE\" }, \"POLL_RELEASES\": { \"value\": \" true \" }").validate().success());
+    }
+
+    private static MavenPackageConfig packageConfigWith(final String properties) {
+        final String configuration = "{ \"package-configuration\": { \"GROUP_ID\": { \"value\": \"com.oneandone\" }, "
+                + "\"ARTIFACT_ID\": { \"value\": \"go-maven-poller\" }, " + properties + " } }";
+        final ConfigurationMessage configurationMessage = JsonUtil.fromJsonString(configuration, ConfigurationMessage.class);
+        return new MavenPackageConfig(configurationMessage.getPackageConfiguration(), null);
+    }
+
     @Test
     public void testValidationWithMissingGroupId() {
         final String configuration =
@@ -5,6 +5,7 @@ import com.oneandone.go.plugin.maven.util.JsonUtil;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Duration;
 import java.time.ZoneId;
 
 import static org.junit.Assert.*;
@@ -121,4 +122,36 @@ public class MavenRepoConfigTest {
 
         assertEquals(ZoneId.of("GMT"), repoConfig.getTimeZone());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDefaultTimeouts() {
+        assertEquals(Duration.ofSeconds(10), repoConfig.getConnectTimeout());
+        assertEquals(Duration.ofSeconds(30), repoConfig.getResponseTimeout());
+        assertEquals(Duration.ofSeconds(10), repoConfig.getConnectionRequestTimeout());
+        assertEquals(Duration.ofSeconds(60), repoConfig.getPollTimeout());
+    }
+
+    @Test
+    public void testTimeouts() {
+        final String configuration =
+                "{" +
+                        "  \"repository-configuration\": {" +
+                        "    \"REPO_URL\": {" +
+                        "      \"value\": \"http://repo1.maven.org/maven2\"" +
+                        "    }," +
+                        "    \"RESPONSE_TIMEOUT\": {\n" +
+                        "      \"value\": \"5\"" +
+                        "    }," +
+                        "    \"POLL_TIMEOUT\": {\n" +
+                        "      \"value\": \"-1\"" +
+                        "    }" +
+                        "  }" +
+                        "}";
+        final ConfigurationMessage configurationMessage = JsonUtil.fromJsonString(configuration, ConfigurationMessage.class);
+        repoConfig = new MavenRepoConfig(configurationMessage.getRepositoryConfiguration());
+
+        assertEquals(Duration.ofSeconds(5), repoConfig.getResponseTimeout());
+        assertEquals(Duration.ofSeconds(60), repoConfig.getPollTimeout());
+        assertFalse(repoConfig.validate().success());
+    }
+}
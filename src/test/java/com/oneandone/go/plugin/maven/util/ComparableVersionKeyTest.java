@@ -0,0 +1,63 @@
+package com.oneandone.go.plugin.maven.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ComparableVersionKeyTest {
+
+    /** Versions with qualifiers in increasing order, taken from the tests of Maven's {@code ComparableVersion}. */
+    private static final String[] VERSIONS_QUALIFIER = {
+            "1-alpha2snapshot", "1-alpha2", "1-alpha-123", "1-beta-2", "1-beta123", "1-m2", "1-m11", "1-rc", "1-cr2",
+            "1-rc123", "1-SNAPSHOT", "1", "1-sp", "1-sp2", "1-sp123", "1-abc", "1-def", "1-pom-1", "1-1-snapshot",
+            "1-1", "1-2", "1-123"
+    };
+
+    /** Versions with numbers in increasing order, taken from the tests of Maven's {@code ComparableVersion}. */
+    private static final String[] VERSIONS_NUMBER = {
+            "2.0", "2-1", "2.0.a", "2.0.0.a", "2.0.2", "2.0.123", "2.1.0", "2.1-a", "2.1b", "2.1-c", "2.1-1", "2.1.0.1",
+            "2.2", "2.123", "11.a2", "11.a11", "11.b2", "11.b11", "11.m2", "11.m11", "11", "11.a", "11b", "11c", "11m"
+    };
+
+    @Test
+    public void testQualifierOrder() {
+        assertIncreasing(VERSIONS_QUALIFIER);
+    }
+
+    @Test
+    public void testNumberOrder() {
+        assertIncreasing(VERSIONS_NUMBER);
+    }
+
+    @Test
+    public void testEqualVersions() {
+        assertEqual("1", "1.0.0", "1-0", "1.0-0", "1ga", "1-ga", "1final", "1.0-final", "1release", "1-RELEASE");
+        assertEqual("1cr", "1rc", "1-RC");
+        assertEqual("1a1", "1-alpha-1", "1alpha1");
+        assertEqual("1b2", "1-beta-2");
+        assertEqual("1m3", "1-milestone-3");
+        assertEqual("1X", "1x");
+        assertEqual("1.0.0001", "1.0.1");
+    }
+
+    @Test
+    public void testBigNumbers() {
+        assertIncreasing("1.999999999999999999", "1.1000000000000000000", "1.99999999999999999999", "2");
+    }
+
+    private static void assertIncreasing(final String... versions) {
+        for (int i = 0; i < versions.length; i++) {
+            for (int j = 0; j < versions.length; j++) {
+                final int result = ComparableVersionKey.of(versions[i]).compareTo(ComparableVersionKey.of(versions[j]));
+                assertEquals(versions[i] + " <=> " + versions[j], Integer.signum(Integer.compare(i, j)), Integer.signum(result));
+            }
+        }
+    }
+
+    private static void assertEqual(final String... versions) {
+        for (final String version : versions) {
+            assertEquals(versions[0] + " == " + version, 0, ComparableVersionKey.of(versions[0]).compareTo(ComparableVersionKey.of(version)));
+            assertEquals(version + " == " + versions[0], 0, ComparableVersionKey.of(version).compareTo(ComparableVersionKey.of(versions[0])));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.oneandone.go.plugin.maven.util;
+
+import org.junit.Test;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class DocumentBuildersTest {
+
+    private static InputStream xml(final String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testDocumentBuilderIsReused() throws Exception {
+        assertEquals("a", DocumentBuilders.parse(xml("<a/>")).getDocumentElement().getTagName());
+        final int pooled = DocumentBuilders.pooled();
+        assertTrue(pooled > 0);
+        assertEquals("b", DocumentBuilders.parse(xml("<b/>")).getDocumentElement().getTagName());
+        assertEquals(pooled, DocumentBuilders.pooled());
+    }
+
+    @Test
+    public void testDocumentBuilderIsReturnedOnFailure() throws Exception {
+        DocumentBuilders.parse(xml("<a/>"));
+        final int pooled = DocumentBuilders.pooled();
+        try {
+            DocumentBuilders.parse(xml("<a>"));
+            fail("expected a parse error");
+        } catch (final SAXException e) {
+            assertEquals(pooled, DocumentBuilders.pooled());
+        }
+        assertEquals("b", DocumentBuilders.parse(xml("<b/>")).getDocumentElement().getTagName());
+    }
+
+    @Test
+    public void testPoolIsBounded() throws Exception {
+        final Thread[] threads = new Thread[DocumentBuilders.MAX_POOLED * 2];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    DocumentBuilders.parse(xml("<a/>"));
+                } catch (final Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(DocumentBuilders.pooled() <= DocumentBuilders.MAX_POOLED);
+    }
+
+    @Test(expected = SAXException.class)
+    public void testExternalEntitiesAreDenied() throws Exception {
+        DocumentBuilders.parse(xml("<?xml version=\"1.0\"?><!DOCTYPE a [<!ENTITY e SYSTEM \"file:///etc/passwd\">]><a>&e;</a>"));
+    }
+}
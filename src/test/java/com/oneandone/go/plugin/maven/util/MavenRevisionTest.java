@@ -12,13 +12,13 @@ public class MavenRevisionTest {
 
     @Test
     public void testGetRevisionLabel() {
-        final MavenRevision mavenRevision = new MavenRevision("1.2.3-beta-2");
-        assertEquals("1.2.3-beta-2", mavenRevision.getVersion());
+        final MavenRevision mavenRevision = new MavenRevision(new MavenVersion("1.2.3-beta-2"));
+        assertEquals("1.2.3-beta-2", mavenRevision.getVersion().getVersion());
     }
 
     @Test
     public void testToPackageRevision() {
-        final MavenRevision mavenRevision = new MavenRevision("1.2.3-beta-2");
+        final MavenRevision mavenRevision = new MavenRevision(new MavenVersion("1.2.3-beta-2"));
         mavenRevision.setErrorMessage("error msg");
         mavenRevision.setLocation("somelocation");
         mavenRevision.setTrackBackUrl("trackback");
@@ -66,6 +66,20 @@ public class MavenVersionTest {
         assertEquals(b, versions[3]);
     }
 
+    @Test
+    public void testCompareDifferentDigitCounts() {
+        final MavenVersion shorter = new MavenVersion("1.0");
+        final MavenVersion longer = new MavenVersion("1.0.1");
+        assertTrue(shorter.compareTo(longer) < 0);
+        assertTrue(longer.compareTo(shorter) > 0);
+
+        assertTrue(new MavenVersion("1.0.0.0").compareTo(new MavenVersion("1.0.0.0.1")) < 0);
+        assertTrue(new MavenVersion("1.0.0.0.1").compareTo(new MavenVersion("1.0.0.0")) > 0);
+
+        assertEquals(0, new MavenVersion("1.0").compareTo(new MavenVersion("1.0.0")));
+        assertEquals(0, new MavenVersion("1.0.0").compareTo(new MavenVersion("1.0")));
+    }
+
     @Test
     public void testSnapshotVersion() {
         final MavenVersion version = new MavenVersion("1.2-SNAPSHOT");
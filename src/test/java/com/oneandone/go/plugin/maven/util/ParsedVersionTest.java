@@ -0,0 +1,56 @@
+package com.oneandone.go.plugin.maven.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ParsedVersionTest {
+
+    @Test
+    public void testInterned() {
+        final ParsedVersion parsed = ParsedVersion.of("1.2.3-beta-1");
+        assertSame(parsed, ParsedVersion.of("1.2.3-beta-1"));
+        assertEquals("1.2.3", parsed.version);
+        assertEquals("beta-1", parsed.qualifier);
+        assertEquals('-', parsed.lastDelimiter);
+        assertEquals(3, parsed.digitCount());
+        assertEquals(0, parsed.digit(3));
+    }
+
+    @Test
+    public void testSharedBySnapshots() {
+        final MavenVersion first = new MavenVersion("1.0-SNAPSHOT (20200101.120000-1)");
+        final MavenVersion second = new MavenVersion("1.0-SNAPSHOT (20200102.120000-2)");
+        assertEquals("1.0-20200101.120000-1", first.getVersion());
+        assertEquals("1.0-20200102.120000-2", second.getVersion());
+        assertTrue(first.lessThan(second));
+    }
+
+    @Test
+    public void testBounded() {
+        for (int i = 0; i <= ParsedVersion.MAX_INTERNED; i++) {
+            ParsedVersion.of("99." + i);
+        }
+        assertTrue(ParsedVersion.internedCount() <= ParsedVersion.MAX_INTERNED);
+    }
+
+    @Test
+    public void testBulkParseNotInterned() {
+        ParsedVersion.of("1.2.3-beta-1");
+        final List<String> versions = new ArrayList<>();
+        for (int i = 0; i <= ParsedVersion.MAX_INTERNED; i++) {
+            versions.add("98." + i);
+        }
+        assertEquals(versions.size(), MavenVersion.parseAll(versions).size());
+        assertFalse(ParsedVersion.isInterned("98.0"));
+        assertTrue(ParsedVersion.isInterned("1.2.3-beta-1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidVersion() {
+        ParsedVersion.of("1.99999999999");
+    }
+}
@@ -0,0 +1,85 @@
+package com.oneandone.go.plugin.maven.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class VersionCandidatesTest {
+
+    private static final List<String> VERSIONS = Arrays.asList(
+            "1.0", "1.2.3", "2.0.0-beta-1", "2.0.0", "2.0.1-SNAPSHOT", "2.0", "10.1", "9.99.99", "3.4.5.6", "foo", "10.0.1");
+
+    @Test
+    public void testPrefix() {
+        final int[] digitCount = new int[1];
+        assertTrue(VersionCandidates.prefix("1.2.3", digitCount) > VersionCandidates.prefix("1.2.2-beta", digitCount));
+        assertEquals(3, digitCount[0]);
+        assertEquals(VersionCandidates.prefix("1.2", digitCount), VersionCandidates.prefix("1.2.0", new int[1]));
+        assertEquals(2, digitCount[0]);
+        assertEquals(VersionCandidates.prefix("1-a.2", digitCount), VersionCandidates.prefix(" 1", new int[1]));
+        assertEquals(1, digitCount[0]);
+        assertEquals(0L, VersionCandidates.prefix("foo", digitCount));
+        assertEquals(-1L, VersionCandidates.prefix("1.99999999999", digitCount));
+    }
+
+    @Test
+    public void testSelectLatest() {
+        assertEquals(Arrays.asList("10.1"), VersionCandidates.select(VERSIONS, null));
+        assertEquals(Arrays.asList("2.0.0-beta-1", "2.0.0", "2.0"),
+                VersionCandidates.select(Arrays.asList("1.0", "2.0.0-beta-1", "2.0.0", "2.0", "1.9.9"), null));
+    }
+
+    @Test
+    public void testSelectBelowUpperBound() {
+        assertEquals(Arrays.asList("9.99.99"), VersionCandidates.select(VERSIONS, new MavenVersion("10")));
+        assertEquals(Arrays.asList("1.2.3", "2.0.0-beta-1", "2.0.0", "2.0"), VersionCandidates.select(VERSIONS, new MavenVersion("2.0.0")));
+    }
+
+    @Test
+    public void testUnrankedVersionsAreCandidates() {
+        assertEquals(Arrays.asList("1.70000", "2.0"), VersionCandidates.select(Arrays.asList("1.70000", "1.0", "2.0"), null));
+    }
+
+    @Test
+    public void testSameLatestAsAllVersions() {
+        final List<String> versions = new ArrayList<>(VERSIONS);
+        for (int major = 0; major < 4; major++) {
+            for (int minor = 0; minor < 12; minor++) {
+                versions.add(major + "." + minor);
+                versions.add(major + "." + minor + ".1");
+                versions.add(major + "." + minor + ".1-RC1");
+            }
+        }
+        Collections.shuffle(versions, new Random(42));
+
+        assertEquals(Collections.max(parse(versions)), Collections.max(parse(VersionCandidates.select(versions, null))));
+        for (final String bound : Arrays.asList("0.5", "1.0", "1.0.1", "2", "2.11.1-RC1", "3.4.5.6", "4", "99")) {
+            final MavenVersion upperBound = new MavenVersion(bound);
+            assertEquals(bound, maxBelow(parse(versions), upperBound), maxBelow(parse(VersionCandidates.select(versions, upperBound)), upperBound));
+        }
+    }
+
+    private static List<MavenVersion> parse(final List<String> versions) {
+        final List<MavenVersion> parsed = new ArrayList<>();
+        for (final String version : versions) {
+            parsed.add(new MavenVersion(version));
+        }
+        return parsed;
+    }
+
+    private static MavenVersion maxBelow(final List<MavenVersion> versions, final MavenVersion upperBound) {
+        MavenVersion max = null;
+        for (final MavenVersion version : versions) {
+            if (version.lessThan(upperBound) && (max == null || version.compareTo(max) > 0)) {
+                max = version;
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,70 @@
+package com.oneandone.go.plugin.maven.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class VersionFilterTest {
+
+    @Test
+    public void testAcceptsAll() {
+        assertSame(VersionFilter.ALL, VersionFilter.of(null, " ", "", true, true));
+        assertTrue(VersionFilter.ALL.accepts(new MavenVersion("1.0-SNAPSHOT")));
+    }
+
+    @Test
+    public void testRanges() {
+        final VersionFilter filter = VersionFilter.of("(,1.0], [1.2,1.5), [2.0]", null, null, true, true);
+        assertTrue(filter.accepts(new MavenVersion("0.9")));
+        assertTrue(filter.accepts(new MavenVersion("1.0")));
+        assertFalse(filter.accepts(new MavenVersion("1.1")));
+        assertTrue(filter.accepts(new MavenVersion("1.2")));
+        assertTrue(filter.accepts(new MavenVersion("1.4.9")));
+        assertFalse(filter.accepts(new MavenVersion("1.5")));
+        assertTrue(filter.accepts(new MavenVersion("2.0")));
+        assertFalse(filter.accepts(new MavenVersion("2.0.1")));
+
+        final VersionFilter open = VersionFilter.of("(1.0,)", null, null, true, true);
+        assertFalse(open.accepts(new MavenVersion("1.0")));
+        assertTrue(open.accepts(new MavenVersion("1.0.1")));
+    }
+
+    @Test
+    public void testQualifiers() {
+        final VersionFilter filter = VersionFilter.of(null, "rc*, *beta*", "*beta-2", true, true);
+        assertTrue(filter.accepts(new MavenVersion("1.0")));
+        assertTrue(filter.accepts(new MavenVersion("1.0-RC1")));
+        assertTrue(filter.accepts(new MavenVersion("1.0-pre-beta-1")));
+        assertFalse(filter.accepts(new MavenVersion("1.0-beta-2")));
+        assertFalse(filter.accepts(new MavenVersion("1.0-alpha")));
+        assertTrue(filter.accepts(new MavenVersion("1.0-SNAPSHOT")));
+    }
+
+    @Test
+    public void testSnapshotsAndReleases() {
+        final VersionFilter releases = VersionFilter.of(null, null, null, false, true);
+        assertFalse(releases.accepts(new MavenVersion("1.0-SNAPSHOT")));
+        assertTrue(releases.accepts(new MavenVersion("1.0")));
+
+        final VersionFilter snapshots = VersionFilter.of(null, null, null, true, false);
+        assertTrue(snapshots.accepts(new MavenVersion("1.0-SNAPSHOT")));
+        assertFalse(snapshots.accepts(new MavenVersion("1.0")));
+        assertFalse(snapshots.accepts(new MavenVersion("1.0-RC1")));
+    }
+
+    @Test
+    public void testInvalidRanges() {
+        final List<String> invalid = Arrays.asList("1.0", "[1.0", "[1.0,2.0)x", "[1.0,2.0),", "(1.0)", "[2.0,1.0]", "[1.0,2.0,3.0]", "[1.99999999999,2]");
+        for (final String range : invalid) {
+            try {
+                VersionFilter.of(range, null, null, true, true);
+                fail(range);
+            } catch (final IllegalArgumentException e) {
+                assertNotNull(e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.oneandone.go.plugin.maven.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class VersionOrderingTest {
+
+    @Test
+    public void testOf() {
+        assertEquals(VersionOrdering.PLUGIN, VersionOrdering.of("plugin"));
+        assertEquals(VersionOrdering.MAVEN, VersionOrdering.of(" Maven "));
+        assertEquals("maven", VersionOrdering.MAVEN.getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfUnknown() {
+        VersionOrdering.of("semver");
+    }
+
+    @Test
+    public void testQualifierOrder() {
+        final List<MavenVersion> versions = parse("1.0-sp1", "1.0", "1.0-rc1", "1.0-beta", "1.0-SNAPSHOT", "1.0-alpha-2", "1.0-milestone-1");
+
+        versions.sort(VersionOrdering.MAVEN);
+        assertEquals(parse("1.0-alpha-2", "1.0-beta", "1.0-milestone-1", "1.0-rc1", "1.0-SNAPSHOT", "1.0", "1.0-sp1"), versions);
+
+        versions.sort(VersionOrdering.PLUGIN);
+        assertEquals(parse("1.0-SNAPSHOT", "1.0-alpha-2", "1.0-beta", "1.0-milestone-1", "1.0-rc1", "1.0-sp1", "1.0"), versions);
+    }
+
+    @Test
+    public void testSnapshotsOrderedByTimestamp() {
+        final MavenVersion older = new MavenVersion("1.0-SNAPSHOT (20240101.120000-1)");
+        final MavenVersion newer = new MavenVersion("1.0-SNAPSHOT (20240102.120000-2)");
+        assertTrue(VersionOrdering.MAVEN.compare(older, newer) < 0);
+        assertTrue(VersionOrdering.MAVEN.compare(newer, older) > 0);
+        assertEquals(0, VersionOrdering.MAVEN.compare(new MavenVersion("1.0-SNAPSHOT"), new MavenVersion("1-SNAPSHOT")));
+    }
+
+    @Test
+    public void testSameOrderForPlainVersions() {
+        final List<MavenVersion> plugin = parse(VersionTableTest.nightlyVersions(2_000).stream()
+                .filter(version -> !version.contains("-")).toArray(String[]::new));
+        final List<MavenVersion> maven = new ArrayList<>(plugin);
+        plugin.sort(VersionOrdering.PLUGIN);
+        maven.sort(VersionOrdering.MAVEN);
+        assertEquals(plugin, maven);
+    }
+
+    @Test
+    public void testMax() {
+        final List<MavenVersion> versions = parse("1.0", "2.0", "1.5", "2.0.0", "2.0-RC1");
+        assertSame(versions.get(1), VersionOrdering.PLUGIN.max(versions));
+        assertSame(versions.get(2), VersionOrdering.PLUGIN.maxBelow(versions, new MavenVersion("2.0-RC1")));
+        assertSame(versions.get(3), VersionOrdering.PLUGIN.maxBelow(versions, new MavenVersion("3")));
+        assertNull(VersionOrdering.PLUGIN.maxBelow(versions, new MavenVersion("1.0")));
+    }
+
+    @Test
+    public void testParallelMaxSameAsSequential() {
+        final List<String> versionStrings = VersionTableTest.nightlyVersions(VersionTable.PARALLEL_VERSIONS * 2);
+        final List<MavenVersion> versions = MavenVersion.parseAll(versionStrings);
+        assertEquals(parse(versionStrings.toArray(new String[0])), versions);
+        for (final VersionOrdering ordering : VersionOrdering.values()) {
+            assertSame(Collections.max(versions, ordering), ordering.max(versions));
+
+            final MavenVersion upperBound = new MavenVersion("12.3.45");
+            final List<MavenVersion> sorted = new ArrayList<>(versions);
+            sorted.sort(ordering);
+            MavenVersion expected = null;
+            for (final MavenVersion version : sorted) {
+                if (ordering.compare(version, upperBound) < 0) {
+                    expected = version;
+                }
+            }
+            assertSame(expected, ordering.maxBelow(versions, upperBound));
+        }
+    }
+
+    /**
+     * Compares the time to sort a long version list in both orderings, run with
+     * {@code mvn test -Dtest=VersionOrderingTest -Dbenchmark=true}.
+     */
+    @Test
+    public void benchmarkOrderings() {
+        assumeTrue(Boolean.getBoolean("benchmark"));
+        final List<MavenVersion> versions = parse(VersionTableTest.nightlyVersions(50_000).toArray(new String[0]));
+        for (int run = 0; run < 3; run++) {
+            for (final VersionOrdering ordering : VersionOrdering.values()) {
+                final long nanos = timeSorts(versions, ordering, 20);
+                if (run > 0) {
+                    System.out.printf("%s ordering: %,d us per sort of %,d versions%n", ordering.getName(), nanos / 1_000, versions.size());
+                }
+            }
+        }
+    }
+
+    /** Returns the average time to sort a shuffled copy of the specified versions. */
+    private static long timeSorts(final List<MavenVersion> versions, final VersionOrdering ordering, final int rounds) {
+        long nanos = 0;
+        for (int i = 0; i < rounds; i++) {
+            final List<MavenVersion> copy = new ArrayList<>(versions);
+            Collections.shuffle(copy, new Random(i));
+            final long start = System.nanoTime();
+            copy.sort(ordering);
+            nanos += System.nanoTime() - start;
+            assertNotNull(copy.get(0));
+        }
+        return nanos / rounds;
+    }
+
+    private static List<MavenVersion> parse(final String... versions) {
+        final List<MavenVersion> parsed = new ArrayList<>();
+        for (final String version : versions) {
+            parsed.add(new MavenVersion(version));
+        }
+        return parsed;
+    }
+}
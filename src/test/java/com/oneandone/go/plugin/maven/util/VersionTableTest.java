@@ -0,0 +1,216 @@
+package com.oneandone.go.plugin.maven.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class VersionTableTest {
+
+    /** Builds a version list like the one of a nightly built artifact. */
+    static List<String> nightlyVersions(final int count) {
+        final String[] qualifiers = { null, "SNAPSHOT", "RC1", "RC2", "beta-1", "20240101" };
+        final List<String> versions = new ArrayList<>(count);
+        final Random random = new Random(42);
+        for (int i = 0; i < count; i++) {
+            final String qualifier = qualifiers[random.nextInt(qualifiers.length)];
+            final String version = (i / 1000) + "." + (i / 100 % 10) + "." + (i % 100);
+            versions.add(qualifier == null ? version : version + "-" + qualifier);
+        }
+        Collections.shuffle(versions, random);
+        return versions;
+    }
+
+    @Test
+    public void testColumns() {
+        final VersionTable table = VersionTable.of(Arrays.asList("1.0-RC1", "1.1-RC1", "1.1", "2.0-SNAPSHOT", "1.2-RC1"));
+        assertEquals(5, table.size());
+        assertEquals(2, table.qualifierCount());
+    }
+
+    @Test
+    public void testCandidatesBelow() {
+        final VersionTable table = VersionTable.of(Arrays.asList("1.0", "2.0-RC1", "1.5", "2.0", "2.0.0", "1.5.1-SNAPSHOT", "3.0.0-beta"));
+        assertEquals(Arrays.asList("3.0.0-beta"), table.candidatesWithin(null, null));
+        assertEquals(Arrays.asList("2.0", "2.0.0"), table.candidatesWithin(null, new MavenVersion("3.0.0-alpha")));
+        assertEquals(Arrays.asList("2.0-RC1"), table.candidatesWithin(null, new MavenVersion("2.0")));
+        assertEquals(Arrays.asList("1.5.1-SNAPSHOT"), table.candidatesWithin(null, new MavenVersion("1.5.1")));
+        assertEquals(Collections.emptyList(), table.candidatesWithin(null, new MavenVersion("0.1")));
+    }
+
+    @Test
+    public void testCandidatesWithin() {
+        final VersionTable table = VersionTable.of(Arrays.asList("1.0", "2.0-RC1", "1.5", "2.0", "1.5.1-SNAPSHOT"));
+        assertEquals(Arrays.asList("2.0"), table.candidatesWithin(new MavenVersion("2.0"), null));
+        assertEquals(Arrays.asList("1.5.1-SNAPSHOT"), table.candidatesWithin(new MavenVersion("1.5"), new MavenVersion("2.0-RC1")));
+        assertEquals(Collections.emptyList(), table.candidatesWithin(new MavenVersion("1.6"), new MavenVersion("2.0-RC1")));
+    }
+
+    @Test
+    public void testCandidatesWithinFilter() {
+        final VersionTable table = VersionTable.of(Arrays.asList("1.0", "1.1-RC1", "1.1", "1.2-SNAPSHOT", "2.0-RC1", "2.0", "2.1-beta"));
+        assertEquals(Arrays.asList("1.1"), table.candidatesWithin(null, null, VersionFilter.of("[1.0,1.2)", null, null, false, true)));
+        assertEquals(Arrays.asList("2.0-RC1"), table.candidatesWithin(null, new MavenVersion("2.0"), VersionFilter.of(null, "RC*", null, false, true)));
+        assertEquals(Arrays.asList("1.2-SNAPSHOT"), table.candidatesWithin(null, null, VersionFilter.of(null, null, null, true, false)));
+        assertEquals(Collections.emptyList(), table.candidatesWithin(new MavenVersion("2.0"), null, VersionFilter.of("(,1.5]", null, null, true, true)));
+    }
+
+    @Test
+    public void testSameLatestAsFilteredVersions() {
+        final List<String> versions = nightlyVersions(5_000);
+        final VersionTable table = VersionTable.of(versions);
+        final List<MavenVersion> all = parse(versions);
+        for (final VersionFilter filter : Arrays.asList(
+                VersionFilter.of("(,1.5],[2.0,3.0)", null, null, true, true),
+                VersionFilter.of(null, "RC*", "RC2", false, true),
+                VersionFilter.of("[" + versions.get(0) + "]", null, null, true, true),
+                VersionFilter.of(null, null, null, true, false))) {
+            final List<MavenVersion> accepted = new ArrayList<>();
+            for (final MavenVersion version : all) {
+                if (filter.accepts(version)) {
+                    accepted.add(version);
+                }
+            }
+            assertEquals(Collections.max(accepted), Collections.max(parse(table.candidatesWithin(null, null, filter))));
+        }
+    }
+
+    @Test
+    public void testUnparseableVersionsAreCandidates() {
+        final VersionTable table = VersionTable.of(Arrays.asList("1.0", "1.99999999999", "2.0", " "));
+        assertEquals(Arrays.asList("1.99999999999", "2.0", " "), table.candidatesWithin(null, null));
+    }
+
+    @Test
+    public void testSameLatestAsAllVersions() {
+        final List<String> versions = nightlyVersions(5_000);
+        final VersionTable table = VersionTable.of(versions);
+        final List<MavenVersion> all = parse(versions);
+
+        assertEquals(Collections.max(all), Collections.max(parse(table.candidatesWithin(null, null))));
+        for (final String bound : Arrays.asList("0.0.1", "1", "1.5.50-RC2", "2.9.99", "4.0.1-SNAPSHOT", "10")) {
+            final MavenVersion upperBound = new MavenVersion(bound);
+            assertEquals(bound, maxBelow(all, upperBound), maxBelow(parse(table.candidatesWithin(null, upperBound)), upperBound));
+        }
+    }
+
+    @Test
+    public void testParallelTableSameLatestAsAllVersions() {
+        final List<String> versions = nightlyVersions(VersionTable.PARALLEL_VERSIONS * 2);
+        final VersionTable table = VersionTable.of(versions);
+        final List<MavenVersion> all = parse(versions);
+
+        assertEquals(Collections.max(all), Collections.max(parse(table.candidatesWithin(null, null))));
+        for (final String bound : Arrays.asList("0.0.1", "3.5.50-RC2", "9.9.99", "19.99.99-SNAPSHOT", "20.0")) {
+            final MavenVersion upperBound = new MavenVersion(bound);
+            assertEquals(bound, maxBelow(all, upperBound), maxBelow(parse(table.candidatesWithin(null, upperBound)), upperBound));
+        }
+    }
+
+    @Test
+    public void testCompact() {
+        final VersionTable table = VersionTable.of(nightlyVersions(10_000));
+        assertEquals(5, table.qualifierCount());
+        assertTrue(table.estimatedBytes() / table.size() < 32);
+    }
+
+    /**
+     * Measures the heap occupied by parsed versions and by the table, run with
+     * {@code mvn test -Dtest=VersionTableTest -Dbenchmark=true}.
+     */
+    @Test
+    public void benchmarkFootprint() {
+        assumeTrue(Boolean.getBoolean("benchmark"));
+        final int count = 50_000;
+        final List<String> versions = new ArrayList<>(nightlyVersions(count));
+
+        final long baseline = usedMemory();
+        final List<MavenVersion> parsed = new ArrayList<>(count);
+        for (final String version : versions) {
+            parsed.add(new MavenVersion(new String(version.toCharArray())));
+        }
+        final long parsedBytes = usedMemory() - baseline;
+
+        final long tableBaseline = usedMemory();
+        final VersionTable table = VersionTable.of(versions);
+        final long tableBytes = usedMemory() - tableBaseline;
+
+        System.out.printf("%,d versions: %,d bytes as MavenVersion list, %,d bytes as table (estimated %,d)%n",
+                count, parsedBytes, tableBytes, table.estimatedBytes());
+        assertEquals(count, parsed.size());
+    }
+
+    /**
+     * Measures how building a table and reducing parsed versions to the latest one scale with the number of cores,
+     * run with {@code mvn test -Dtest=VersionTableTest -Dbenchmark=true}.
+     */
+    @Test
+    public void benchmarkParallelScaling() throws Exception {
+        assumeTrue(Boolean.getBoolean("benchmark"));
+        final List<String> versions = nightlyVersions(50_000);
+        final MavenVersion upperBound = new MavenVersion("40.0");
+        final List<String> expectedCandidates = VersionTable.of(versions).candidatesWithin(null, upperBound);
+        final MavenVersion expectedLatest = maxBelow(parse(versions), upperBound);
+
+        final int cores = Runtime.getRuntime().availableProcessors();
+        for (final int parallelism : IntStream.of(1, 2, 4, cores).filter(parallelism -> parallelism <= cores).distinct().toArray()) {
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                final int rounds = 10;
+                long tableNanos = 0;
+                long reduceNanos = 0;
+                for (int i = 0; i <= rounds; i++) {
+                    final long start = System.nanoTime();
+                    final VersionTable table = pool.submit(() -> VersionTable.of(versions)).get();
+                    final long built = System.nanoTime();
+                    final MavenVersion latest = pool.submit(() -> VersionOrdering.MAVEN.maxBelow(MavenVersion.parseAll(versions), upperBound)).get();
+                    final long reduced = System.nanoTime();
+                    assertEquals(expectedCandidates, table.candidatesWithin(null, upperBound));
+                    assertEquals(0, VersionOrdering.MAVEN.compare(expectedLatest, latest));
+                    if (i > 0) {
+                        tableNanos += built - start;
+                        reduceNanos += reduced - built;
+                    }
+                }
+                System.out.printf("%d of %d cores: %,d us to build a table of %,d versions, %,d us to parse and reduce them%n",
+                        parallelism, cores, tableNanos / rounds / 1_000, versions.size(), reduceNanos / rounds / 1_000);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static List<MavenVersion> parse(final List<String> versions) {
+        final List<MavenVersion> parsed = new ArrayList<>();
+        for (final String version : versions) {
+            parsed.add(new MavenVersion(version));
+        }
+        return parsed;
+    }
+
+    private static MavenVersion maxBelow(final List<MavenVersion> versions, final MavenVersion upperBound) {
+        MavenVersion max = null;
+        for (final MavenVersion version : versions) {
+            if ((upperBound == null || version.lessThan(upperBound)) && (max == null || version.compareTo(max) > 0)) {
+                max = version;
+            }
+        }
+        return max;
+    }
+}